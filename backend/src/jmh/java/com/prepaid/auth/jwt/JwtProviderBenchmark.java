@@ -0,0 +1,48 @@
+package com.prepaid.auth.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 검증/Authentication 생성 벤치마크 (요청마다 실행되는 인증 경로)
+ * - getAuthentication: 검증 캐시 적중 경로
+ * - getAuthenticationUncached: 매번 캐시에서 제거하여 서명 검증/파싱 비용 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        // HS512용 64바이트 키
+        String secret = Base64.getEncoder().encodeToString(
+                "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-sec".getBytes());
+        jwtProvider = new JwtProvider(secret, 1_800_000L, 604_800_000L, 10_000L, Duration.ofMinutes(5));
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "bench@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        accessToken = jwtProvider.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtProvider.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationUncached() {
+        jwtProvider.evict(accessToken);
+        return jwtProvider.getAuthentication(accessToken);
+    }
+}
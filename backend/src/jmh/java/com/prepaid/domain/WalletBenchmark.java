@@ -0,0 +1,37 @@
+package com.prepaid.domain;
+
+import com.prepaid.ledger.domain.BucketType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet 잔액 갱신 벤치마크
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WalletBenchmark {
+
+    private Wallet wallet;
+
+    @Setup
+    public void setUp() {
+        wallet = Wallet.builder().build();
+    }
+
+    @Benchmark
+    public Long addBalancePaid() {
+        wallet.addBalance(100L, BucketType.PAID);
+        return wallet.getBalance();
+    }
+
+    @Benchmark
+    public Long addAndSubtractAcrossBuckets() {
+        wallet.addBalance(100L, BucketType.FREE);
+        wallet.addBalance(-100L, BucketType.FREE);
+        wallet.addBalance(100L, BucketType.PAID);
+        wallet.addBalance(-100L, BucketType.PAID);
+        return wallet.getBalance();
+    }
+}
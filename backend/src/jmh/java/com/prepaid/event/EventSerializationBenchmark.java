@@ -0,0 +1,61 @@
+package com.prepaid.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.prepaid.audit.event.AuditEvent;
+import com.prepaid.event.domain.ChargeCompletedEvent;
+import com.prepaid.event.domain.SpendCompletedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 JSON 직렬화 벤치마크 (아웃박스 기록, 감사 이벤트 발행/소비 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ChargeCompletedEvent chargeEvent;
+    private SpendCompletedEvent spendEvent;
+    private AuditEvent auditEvent;
+    private String auditJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Spring Boot 기본 ObjectMapper와 같은 날짜 설정
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        chargeEvent = new ChargeCompletedEvent(1L, 10_000L, 25_000L, "tgen_20240101000000abcd", "ORDER_1");
+        spendEvent = new SpendCompletedEvent(1L, -3_000L, 22_000L, "merchant_1", "잔액 사용");
+        auditEvent = AuditEvent.success(1L, "USE", 3_000L, "merchant_1", "127.0.0.1",
+                "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36");
+        auditJson = objectMapper.writeValueAsString(auditEvent);
+    }
+
+    @Benchmark
+    public String serializeChargeCompletedEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(chargeEvent);
+    }
+
+    @Benchmark
+    public String serializeSpendCompletedEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(spendEvent);
+    }
+
+    @Benchmark
+    public byte[] serializeAuditEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(auditEvent);
+    }
+
+    @Benchmark
+    public AuditEvent deserializeAuditEvent() throws JsonProcessingException {
+        return objectMapper.readValue(auditJson, AuditEvent.class);
+    }
+}
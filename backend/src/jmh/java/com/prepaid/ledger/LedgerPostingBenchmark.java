@@ -0,0 +1,118 @@
+package com.prepaid.ledger;
+
+import com.prepaid.PrepaidPlatformApplication;
+import com.prepaid.domain.User;
+import com.prepaid.domain.Wallet;
+import com.prepaid.ledger.service.LedgerService;
+import com.prepaid.repository.UserRepository;
+import com.prepaid.repository.WalletRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 원장 포스팅 End-to-End 벤치마크 (LedgerService -> JPA -> PostgreSQL)
+ * - 파티션 테이블/네이티브 쿼리를 그대로 쓰기 위해 H2 대신 임베디드 PostgreSQL에 Flyway 마이그레이션 적용
+ * - 분산 락/잔액 캐시를 위해 로컬 Redis(localhost:6380, docker-compose)가 떠 있어야 함
+ * - Kafka는 사용하지 않음 (아웃박스 릴레이/리스너 비활성화)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class LedgerPostingBenchmark {
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private LedgerService ledgerService;
+    private UserRepository userRepository;
+    private WalletRepository walletRepository;
+
+    private final AtomicLong userSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+
+        String jwtSecret = Base64.getEncoder().encodeToString(
+                "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-sec".getBytes());
+
+        SpringApplication application = new SpringApplication(PrepaidPlatformApplication.class);
+        application.setAdditionalProfiles("local");
+        context = application.run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.main.web-application-type=none",
+                "--spring.kafka.listener.auto-startup=false",
+                "--outbox.relay.interval-ms=3600000",
+                "--JWT_SECRET=" + jwtSecret,
+                "--TOSS_CLIENT_KEY=bench_toss_client_key",
+                "--TOSS_SECRET_KEY=bench_toss_secret_key",
+                "--NAVER_CLIENT_ID=bench_naver_client_id",
+                "--NAVER_CLIENT_SECRET=bench_naver_client_secret",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        ledgerService = context.getBean(LedgerService.class);
+        userRepository = context.getBean(UserRepository.class);
+        walletRepository = context.getBean(WalletRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * 벤치마크 스레드마다 별도 사용자/지갑 (스레드 간 지갑 경합 없이 포스팅 경로만 측정)
+     */
+    @State(Scope.Thread)
+    public static class UserState {
+
+        private User user;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void createUser(LedgerPostingBenchmark benchmark) {
+            long no = benchmark.userSequence.incrementAndGet();
+            user = benchmark.userRepository.save(User.builder()
+                    .email("bench-" + no + "-" + UUID.randomUUID() + "@example.com")
+                    .provider("local")
+                    .role("ROLE_USER")
+                    .build());
+            benchmark.walletRepository.save(Wallet.builder().user(user).build());
+        }
+
+        private String nextId(String prefix) {
+            return prefix + "_" + user.getId() + "_" + (++sequence);
+        }
+    }
+
+    @Benchmark
+    public void recordCharge(UserState state) {
+        ledgerService.recordCharge(state.user, 10_000L, state.nextId("bench_pay"), state.nextId("bench_order"));
+    }
+
+    /**
+     * 충전 1건 + 사용 1건 (FIFO 할당 포함)
+     */
+    @Benchmark
+    public void chargeThenUse(UserState state) {
+        ledgerService.recordCharge(state.user, 10_000L, state.nextId("bench_pay"), state.nextId("bench_order"));
+        ledgerService.useBalance(state.user, 3_000L, state.nextId("bench_merchant"));
+    }
+}
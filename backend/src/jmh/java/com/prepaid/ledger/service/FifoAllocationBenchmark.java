@@ -0,0 +1,66 @@
+package com.prepaid.ledger.service;
+
+import com.prepaid.ledger.domain.BucketType;
+import com.prepaid.ledger.domain.ChargeLot;
+import com.prepaid.ledger.domain.SpendAllocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FIFO Lot 차감 로직 벤치마크 (DB 없이 ChargeLotFifoIndex.consumePage만 측정)
+ * - lotCount: 한 페이지의 Lot 수
+ * - spendPercent: 페이지 전체 잔액 중 차감할 비율 (100이면 모든 Lot 소진)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FifoAllocationBenchmark {
+
+    private static final long LOT_AMOUNT = 1_000L;
+
+    @Param({"1", "10", "100", "1000"})
+    private int lotCount;
+
+    @Param({"10", "50", "100"})
+    private int spendPercent;
+
+    private List<ChargeLot> lots;
+    private long spendAmount;
+
+    /**
+     * consumePage가 Lot 잔액을 변경하므로 호출마다 새 Lot 준비
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.now().minusDays(lotCount);
+        lots = new ArrayList<>(lotCount);
+        for (int i = 0; i < lotCount; i++) {
+            lots.add(ChargeLot.builder()
+                    .id((long) i + 1)
+                    .bucketType(BucketType.PAID)
+                    .originalEntryId((long) i + 1)
+                    .amountTotal(LOT_AMOUNT)
+                    .amountRemaining(LOT_AMOUNT)
+                    .createdAt(base.plusDays(i))
+                    .build());
+        }
+        spendAmount = Math.max(1L, lotCount * LOT_AMOUNT * spendPercent / 100);
+    }
+
+    @Benchmark
+    public long consumeWithAllocations(Blackhole blackhole) {
+        List<SpendAllocation> allocations = new ArrayList<>();
+        long remaining = ChargeLotFifoIndex.consumePage(lots, spendAmount,
+                (lot, consumed) -> allocations.add(SpendAllocation.builder()
+                        .chargeLot(lot)
+                        .amountConsumed(consumed)
+                        .build()));
+        blackhole.consume(allocations);
+        return remaining;
+    }
+}
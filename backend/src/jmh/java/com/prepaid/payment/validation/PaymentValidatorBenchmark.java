@@ -0,0 +1,50 @@
+package com.prepaid.payment.validation;
+
+import com.prepaid.common.exception.specific.InvalidAmountException;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 금액 검증 벤치마크 (Redis를 쓰지 않는 검증 경로)
+ * - 정상 금액과 예외를 던지는 금액(최소 금액 미만)을 각각 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentValidatorBenchmark {
+
+    private PaymentValidator paymentValidator;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        paymentValidator = new PaymentValidator(null, null);
+        setField("minChargeAmount", 1000L);
+        setField("maxChargeAmount", 1000000L);
+        setField("dailyChargeLimit", 5000000L);
+        setField("minUseAmount", 100L);
+        setField("maxUseAmount", 1000000L);
+    }
+
+    @Benchmark
+    public void validateUseAmount() {
+        paymentValidator.validateUseAmount(5000L);
+    }
+
+    @Benchmark
+    public Object validateUseAmountRejected() {
+        try {
+            paymentValidator.validateUseAmount(50L);
+            return null;
+        } catch (InvalidAmountException e) {
+            return e;
+        }
+    }
+
+    private void setField(String name, Object value) throws ReflectiveOperationException {
+        Field field = PaymentValidator.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(paymentValidator, value);
+    }
+}
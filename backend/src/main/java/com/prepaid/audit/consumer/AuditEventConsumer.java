@@ -1,73 +1,97 @@
 package com.prepaid.audit.consumer;
 
-import com.prepaid.audit.domain.AuditLog;
 import com.prepaid.audit.event.AuditEvent;
-import com.prepaid.audit.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import com.prepaid.audit.repository.AuditLogJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * 감사 이벤트 Consumer
- * - PostgreSQL에 저장
+ * 감사 이벤트 Consumer (배치 리스너)
+ * - poll 단위로 받은 레코드를 한 번의 배치 INSERT로 PostgreSQL에 저장
+ * - 오프셋은 배치가 커밋된 후에만 커밋 (실패 시 ErrorHandler가 배치 재시도 후 DLQ 전송)
+ * - 역직렬화 실패 레코드: 앞선 레코드까지 저장한 뒤 해당 인덱스로 BatchListenerFailedException
+ *   (ErrorHandler가 앞선 오프셋 커밋 -> 실패 레코드 DLQ 전송 -> 나머지 재전달)
  * - Elasticsearch 전송 (향후 구현)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuditEventConsumer {
 
-    private final AuditLogRepository auditLogRepository;
+    private static final LogAccessor DESERIALIZER_LOG = new LogAccessor(AuditEventConsumer.class);
+
+    private final AuditLogJdbcRepository auditLogJdbcRepository;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer writeTimer;
+    private final Timer recordAgeTimer;
     // private final ElasticsearchClient elasticsearchClient; // 향후 추가
 
-    @KafkaListener(topics = "audit-events", groupId = "audit-service")
-    public void consume(
-        @Payload AuditEvent event,
-        @Header(value = "traceId", required = false) String traceId,
-        @Header(value = "spanId", required = false) String spanId
-    ) {
-        // Kafka 헤더에서 Trace ID 복원
-        if (traceId != null && !traceId.isEmpty()) {
-            MDC.put("traceId", traceId);
+    public AuditEventConsumer(AuditLogJdbcRepository auditLogJdbcRepository, MeterRegistry meterRegistry) {
+        this.auditLogJdbcRepository = auditLogJdbcRepository;
+        this.batchSizeSummary = DistributionSummary.builder("audit.consumer.batch.size")
+                .description("감사 이벤트 배치 크기")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("audit.consumer.write")
+                .description("감사 로그 배치 저장 시간")
+                .register(meterRegistry);
+        this.recordAgeTimer = Timer.builder("audit.consumer.record.age")
+                .description("감사 이벤트 발행부터 저장까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    @Transactional(noRollbackFor = BatchListenerFailedException.class)
+    @KafkaListener(topics = "audit-events", groupId = "audit-service",
+            containerFactory = "auditBatchListenerContainerFactory")
+    public void consume(List<ConsumerRecord<String, AuditEvent>> records) {
+        List<AuditEvent> events = new ArrayList<>(records.size());
+        int failedIndex = -1;
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, AuditEvent> record = records.get(i);
+            if (record.value() == null) {
+                // 역직렬화 실패 레코드 (ErrorHandlingDeserializer) - 여기까지만 저장하고 DLQ로 넘김
+                failedIndex = i;
+                break;
+            }
+            events.add(record.value());
         }
-        if (spanId != null && !spanId.isEmpty()) {
-            MDC.put("spanId", spanId);
+
+        // 1. PostgreSQL 일괄 저장 (예외는 그대로 전파하여 오프셋 커밋 방지)
+        writeTimer.record(() -> auditLogJdbcRepository.insertAll(events));
+
+        long now = System.currentTimeMillis();
+        batchSizeSummary.record(events.size());
+        for (ConsumerRecord<String, AuditEvent> record : records.subList(0, events.size())) {
+            recordAgeTimer.record(Duration.ofMillis(Math.max(0, now - record.timestamp())));
         }
-        
-        try {
-            log.info("감사 이벤트 수신");
 
-            // 1. PostgreSQL 저장
-            AuditLog auditLog = AuditLog.builder()
-                    .userId(event.getUserId())
-                    .action(event.getAction())
-                    .amount(event.getAmount())
-                    .ipAddress(event.getIpAddress())
-                    .userAgent(event.getUserAgent())
-                    .result(event.getResult())
-                    .errorMessage(event.getErrorMessage())
-                    .referenceId(event.getReferenceId())
-                    .timestamp(event.getTimestamp())
-                    .build();
-            
-            auditLogRepository.save(auditLog);
-            log.info("감사 로그 저장 완료: id={}", auditLog.getId());
+        log.info("감사 로그 배치 저장 완료: received={}, saved={}", records.size(), events.size());
 
-            // 2. Elasticsearch 전송 (향후 구현)
-            // if (elasticsearchEnabled) {
-            //     elasticsearchClient.index(toElasticsearchDoc(event));
-            // }
-            
-        } catch (Exception e) {
-            log.error("감사 로그 저장 실패: userId={}, action={}",
-                    event.getUserId(), event.getAction(), e);
-        } finally {
-            // MDC 정리
-            MDC.clear();
+        if (failedIndex >= 0) {
+            ConsumerRecord<String, AuditEvent> failed = records.get(failedIndex);
+            log.warn("감사 이벤트 역직렬화 실패, DLQ 전송: partition={}, offset={}",
+                    failed.partition(), failed.offset());
+            // 원인을 DeserializationException으로 넘겨 재시도 없이 바로 DLQ로 보내지도록 함
+            DeserializationException cause = SerializationUtils.getExceptionFromHeader(
+                    failed, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, DESERIALIZER_LOG);
+            throw new BatchListenerFailedException("감사 이벤트 역직렬화 실패", cause, failedIndex);
         }
+
+        // 2. Elasticsearch 전송 (향후 구현)
+        // if (elasticsearchEnabled) {
+        //     elasticsearchClient.bulk(toElasticsearchDocs(events));
+        // }
     }
 }
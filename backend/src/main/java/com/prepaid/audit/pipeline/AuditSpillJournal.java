@@ -0,0 +1,137 @@
+package com.prepaid.audit.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 감사 이벤트 로컬 파일 저널 (버퍼 초과분/Kafka 전송 실패분 임시 보관)
+ * - 한 줄에 이벤트 하나 (JSON)
+ * - 재발행 시 현재 파일을 replay 파일로 옮긴 뒤 읽고, 끝까지 넘기면 삭제
+ * - 재발행 도중 중단되면 replay 파일이 남아 다음에 다시 읽음 (at-least-once)
+ */
+@Slf4j
+public class AuditSpillJournal {
+
+    private final ObjectMapper objectMapper;
+    private final Path journalFile;
+    private final Path replayFile;
+    private BufferedWriter writer;
+    private long pending;
+
+    public AuditSpillJournal(Path directory, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.journalFile = directory.resolve("audit-spill.jsonl");
+        this.replayFile = directory.resolve("audit-spill.replay.jsonl");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("감사 저널 디렉터리 생성 실패: " + directory, e);
+        }
+        // 이전 실행에서 남은 저널이 있으면 재발행 대상
+        this.pending = Files.exists(journalFile) || Files.exists(replayFile) ? 1 : 0;
+    }
+
+    /**
+     * 저널에 추가
+     *
+     * @return 기록 실패 시 false
+     */
+    public synchronized boolean append(QueuedAuditEvent event) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(objectMapper.writeValueAsString(event));
+            writer.newLine();
+            writer.flush();
+            pending++;
+            return true;
+        } catch (IOException e) {
+            log.error("감사 저널 기록 실패: {}", journalFile, e);
+            return false;
+        }
+    }
+
+    public synchronized boolean hasPending() {
+        return pending > 0;
+    }
+
+    /**
+     * 저널에 쌓인 이벤트를 순서대로 sink에 전달하고 비움
+     *
+     * @return 전달한 이벤트 수
+     */
+    public int replay(Consumer<QueuedAuditEvent> sink) {
+        synchronized (this) {
+            if (pending == 0) {
+                return 0;
+            }
+            try {
+                closeWriter();
+                if (!Files.exists(replayFile) && Files.exists(journalFile)) {
+                    Files.move(journalFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                pending = 0;
+            } catch (IOException e) {
+                log.error("감사 저널 교체 실패: {}", journalFile, e);
+                return 0;
+            }
+        }
+
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    sink.accept(objectMapper.readValue(line, QueuedAuditEvent.class));
+                    replayed++;
+                } catch (IOException e) {
+                    log.warn("손상된 감사 저널 항목 건너뜀: {}", line, e);
+                }
+            }
+            Files.delete(replayFile);
+            synchronized (this) {
+                // replay 파일을 먼저 비우느라 옮기지 못한 저널이 남아 있으면 다음 차례에 처리
+                if (pending == 0 && Files.exists(journalFile)) {
+                    pending = 1;
+                }
+            }
+        } catch (IOException e) {
+            log.error("감사 저널 재발행 실패 (다음에 다시 시도): {}", replayFile, e);
+            synchronized (this) {
+                pending++;
+            }
+        }
+        return replayed;
+    }
+
+    public synchronized void close() {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            log.warn("감사 저널 닫기 실패: {}", journalFile, e);
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.prepaid.audit.pipeline;
+
+import java.util.Locale;
+
+/**
+ * 감사 버퍼가 가득 찼을 때의 처리 정책
+ * - BLOCK: 짧은 시간(block-timeout) 동안 자리가 나기를 기다리고, 그래도 가득 차면 유실
+ * - SPILL: 로컬 파일 저널에 기록해 두고 버퍼가 비면 다시 발행
+ * - DROP: 즉시 유실 (메트릭으로만 집계)
+ */
+public enum OverflowPolicy {
+    BLOCK,
+    SPILL,
+    DROP;
+
+    public static OverflowPolicy from(String value) {
+        return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,9 @@
+package com.prepaid.audit.pipeline;
+
+import com.prepaid.audit.event.AuditEvent;
+
+/**
+ * 발행 대기 중인 감사 이벤트 (요청 스레드의 Trace 정보를 함께 보관)
+ */
+public record QueuedAuditEvent(AuditEvent event, String traceId, String spanId) {
+}
@@ -0,0 +1,51 @@
+package com.prepaid.audit.repository;
+
+import com.prepaid.audit.event.AuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 감사 로그 대량 저장 Repository
+ * - JDBC 배치 INSERT (reWriteBatchedInserts로 multi-row INSERT로 재작성됨)
+ * - 엔티티/영속성 컨텍스트를 거치지 않음
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs
+                (user_id, action, amount, ip_address, user_agent, result, error_message, reference_id, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 감사 이벤트 일괄 저장
+     */
+    public void insertAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getUserId());
+            ps.setString(2, event.getAction());
+            ps.setLong(3, event.getAmount() != null ? event.getAmount() : 0L);
+            ps.setString(4, event.getIpAddress());
+            ps.setString(5, event.getUserAgent());
+            ps.setString(6, event.getResult());
+            ps.setString(7, event.getErrorMessage());
+            ps.setString(8, event.getReferenceId());
+            LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+            ps.setObject(9, Timestamp.valueOf(timestamp), Types.TIMESTAMP);
+        });
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,9 +21,17 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByUserIdOrderByTimestampDesc(Long userId);
 
     /**
-     * 30일 이상 된 데이터 삭제 (아카이빙용)
+     * 보관 기간이 지난 월 파티션 DETACH + DROP (행 단위 DELETE 없음)
+     *
+     * @return 삭제된 파티션 수
+     */
+    @Query(value = "SELECT drop_partitions_before('audit_logs', CAST(:cutoffDate AS date))", nativeQuery = true)
+    int dropPartitionsBefore(@Param("cutoffDate") LocalDate cutoffDate);
+
+    /**
+     * 기본 파티션에 들어간 오래된 로그 삭제 (월 파티션이 없던 기간의 데이터, 정상 운영 시 비어 있음)
      */
     @Modifying
-    @Query("DELETE FROM AuditLog a WHERE a.timestamp < :cutoffDate")
-    int deleteOldLogs(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query(value = "DELETE FROM audit_logs_default WHERE \"timestamp\" < :cutoffDate", nativeQuery = true)
+    int deleteOldLogsInDefaultPartition(@Param("cutoffDate") LocalDateTime cutoffDate);
 }
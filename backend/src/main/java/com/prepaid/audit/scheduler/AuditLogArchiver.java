@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 /**
  * 감사 로그 아카이빙 스케줄러
- * 매일 자정에 30일 이상 된 로그 삭제
+ * 매일 자정에 30일 보관 기간이 지난 월 파티션 삭제
+ * - 파티션 전체가 보관 기간을 지난 경우에만 DETACH + DROP (최대 한 달치가 더 보관될 수 있음)
  */
 @Slf4j
 @Service
@@ -22,7 +23,7 @@ public class AuditLogArchiver {
 
     /**
      * 매일 자정 실행
-     * 30일 이상 된 감사 로그 삭제
+     * 30일 이상 된 감사 로그 파티션 삭제
      */
     @Scheduled(cron = "0 0 0 * * *")
     @Transactional
@@ -32,8 +33,10 @@ public class AuditLogArchiver {
         log.info("감사 로그 아카이빙 시작: cutoffDate={}", cutoffDate);
         
         try {
-            int deletedCount = auditLogRepository.deleteOldLogs(cutoffDate);
-            log.info("감사 로그 아카이빙 완료: 삭제된 로그 수={}", deletedCount);
+            int droppedPartitions = auditLogRepository.dropPartitionsBefore(cutoffDate.toLocalDate());
+            int deletedCount = auditLogRepository.deleteOldLogsInDefaultPartition(cutoffDate);
+            log.info("감사 로그 아카이빙 완료: 삭제된 파티션 수={}, 기본 파티션에서 삭제된 로그 수={}",
+                    droppedPartitions, deletedCount);
         } catch (Exception e) {
             log.error("감사 로그 아카이빙 실패", e);
         }
@@ -1,59 +1,218 @@
 package com.prepaid.audit.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prepaid.audit.event.AuditEvent;
-import lombok.RequiredArgsConstructor;
+import com.prepaid.audit.pipeline.AuditSpillJournal;
+import com.prepaid.audit.pipeline.OverflowPolicy;
+import com.prepaid.audit.pipeline.QueuedAuditEvent;
+import com.prepaid.common.concurrent.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * 감사 이벤트 발행 서비스
+ * - 요청 스레드는 링 버퍼에 넣기만 하고 바로 반환 (Kafka 전송은 전용 가상 스레드가 배치로 처리)
+ * - 버퍼가 가득 차면 overflow-policy에 따라 잠깐 대기/파일 저널/유실 (결제 요청 지연에 영향 없도록)
+ * - Kafka 전송 실패는 정책과 관계없이 파일 저널에 기록하고 retry-backoff 후 재발행 (at-least-once)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuditEventPublisher {
 
-    private final KafkaTemplate<String, AuditEvent> kafkaTemplate;
-    
     private static final String AUDIT_EVENTS_TOPIC = "audit-events";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final KafkaTemplate<String, AuditEvent> kafkaTemplate;
+    private final MpscRingBuffer<QueuedAuditEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AuditSpillJournal spillJournal;
+    private final long blockTimeoutNanos;
+    private final long retryBackoffNanos;
+    private final int batchSize;
+
+    private final Counter enqueuedCounter;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+    private volatile boolean drainerWaiting;
+    private volatile long replayNotBefore = System.nanoTime();
+    private Thread drainer;
+
+    public AuditEventPublisher(KafkaTemplate<String, AuditEvent> kafkaTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${audit.publisher.buffer-size:16384}") int bufferSize,
+                               @Value("${audit.publisher.batch-size:500}") int batchSize,
+                               @Value("${audit.publisher.overflow-policy:spill}") String overflowPolicy,
+                               @Value("${audit.publisher.block-timeout:20ms}") Duration blockTimeout,
+                               @Value("${audit.publisher.retry-backoff:5s}") Duration retryBackoff,
+                               @Value("${audit.publisher.spill-dir:${java.io.tmpdir}/prepaid/audit-spill}") String spillDir) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.overflowPolicy = OverflowPolicy.from(overflowPolicy);
+        this.spillJournal = new AuditSpillJournal(Path.of(spillDir), objectMapper);
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.batchSize = batchSize;
+
+        this.enqueuedCounter = counter(meterRegistry, "enqueued");
+        this.spilledCounter = counter(meterRegistry, "spilled");
+        this.droppedCounter = counter(meterRegistry, "dropped");
+        this.sentCounter = counter(meterRegistry, "sent");
+        this.failedCounter = counter(meterRegistry, "failed");
+        Gauge.builder("audit.buffer.size", buffer, MpscRingBuffer::size)
+                .description("발행 대기 중인 감사 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.events")
+                .description("감사 이벤트 처리 결과")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        drainer = Thread.ofVirtual().name("audit-publisher").start(this::drainLoop);
+        log.info("감사 이벤트 발행기 시작: bufferSize={}, overflowPolicy={}", buffer.capacity(), overflowPolicy);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        if (!drainer.join(SHUTDOWN_TIMEOUT)) {
+            log.warn("감사 이벤트 발행기 종료 시간 초과: 미전송 {}건", buffer.size());
+        }
+        kafkaTemplate.flush();
+        spillJournal.close();
+    }
 
     /**
-     * 감사 이벤트 발행 (Trace ID 포함)
+     * 감사 이벤트 발행 (Trace ID 포함, 비동기)
      */
     public void publish(AuditEvent event) {
+        QueuedAuditEvent queued = new QueuedAuditEvent(event, MDC.get("traceId"), MDC.get("spanId"));
+
+        if (buffer.offer(queued) || (overflowPolicy == OverflowPolicy.BLOCK && offerWithinTimeout(queued))) {
+            enqueuedCounter.increment();
+            if (drainerWaiting) {
+                LockSupport.unpark(drainer);
+            }
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.SPILL && spillJournal.append(queued)) {
+            spilledCounter.increment();
+            return;
+        }
+
+        droppedCounter.increment();
+        log.debug("감사 이벤트 유실 (버퍼 초과): userId={}, action={}", event.getUserId(), event.getAction());
+    }
+
+    private boolean offerWithinTimeout(QueuedAuditEvent queued) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(BLOCK_BACKOFF_NANOS);
+            if (buffer.offer(queued)) {
+                return true;
+            }
+        } while (System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    /**
+     * 전용 가상 스레드: 버퍼를 배치로 비우고, 버퍼가 비어 있을 때 파일 저널을 재발행
+     * - 전송 실패로 저널에 기록한 직후에는 retry-backoff 동안 재발행을 미룸 (Kafka 장애 중 재발행 반복 방지)
+     */
+    private void drainLoop() {
+        List<QueuedAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            batch.clear();
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                batch.forEach(this::send);
+                continue;
+            }
+
+            if (spillJournal.hasPending() && System.nanoTime() - replayNotBefore >= 0) {
+                int replayed = spillJournal.replay(this::send);
+                log.info("감사 저널 재발행: {}건", replayed);
+                continue;
+            }
+
+            drainerWaiting = true;
+            if (running && buffer.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            drainerWaiting = false;
+        }
+    }
+
+    private void send(QueuedAuditEvent queued) {
+        AuditEvent event = queued.event();
         try {
-            String partitionKey = event.getUserId().toString();
-            
-            // MDC에서 Trace ID 가져오기
-            String traceId = MDC.get("traceId");
-            String spanId = MDC.get("spanId");
-            
-            // Kafka 메시지에 Trace ID 포함
             Message<AuditEvent> message = MessageBuilder
                 .withPayload(event)
                 .setHeader(KafkaHeaders.TOPIC, AUDIT_EVENTS_TOPIC)
-                .setHeader(KafkaHeaders.KEY, partitionKey)
-                .setHeader("traceId", traceId != null ? traceId : "")
-                .setHeader("spanId", spanId != null ? spanId : "")
+                .setHeader(KafkaHeaders.KEY, event.getUserId() != null ? event.getUserId().toString() : null)
+                .setHeader("traceId", queued.traceId() != null ? queued.traceId() : "")
+                .setHeader("spanId", queued.spanId() != null ? queued.spanId() : "")
                 .build();
-            
+
             kafkaTemplate.send(message)
                     .whenComplete((result, ex) -> {
                         if (ex == null) {
-                            log.info("감사 이벤트 발행 성공: traceId={}", traceId);
+                            sentCounter.increment();
                         } else {
-                            log.error("감사 이벤트 발행 실패: userId={}, action={}",
-                                    event.getUserId(), event.getAction(), ex);
+                            onSendFailure(queued, ex);
                         }
                     });
         } catch (Exception e) {
-            log.error("감사 이벤트 발행 중 예외: userId={}, action={}",
-                    event.getUserId(), event.getAction(), e);
+            onSendFailure(queued, e);
+        }
+    }
+
+    /**
+     * 전송 실패한 이벤트를 저널에 기록 (저널 기록까지 실패하면 유실)
+     */
+    private void onSendFailure(QueuedAuditEvent queued, Throwable ex) {
+        AuditEvent event = queued.event();
+        failedCounter.increment();
+        if (spillJournal.append(queued)) {
+            spilledCounter.increment();
+            replayNotBefore = System.nanoTime() + retryBackoffNanos;
+            log.warn("감사 이벤트 발행 실패, 저널에 보관 후 재발행: userId={}, action={}",
+                    event.getUserId(), event.getAction(), ex);
+            return;
         }
+        droppedCounter.increment();
+        log.error("감사 이벤트 발행 실패 (유실): userId={}, action={}",
+                event.getUserId(), event.getAction(), ex);
     }
 }
@@ -0,0 +1,13 @@
+package com.prepaid.auth.dto;
+
+import com.prepaid.domain.User;
+
+/**
+ * 요청 처리에 필요한 사용자 식별 정보 스냅샷 (불변)
+ */
+public record UserIdentity(Long id, boolean accountLocked) {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), Boolean.TRUE.equals(user.getAccountLocked()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.prepaid.auth.handler;
 
 import com.prepaid.auth.jwt.JwtProvider;
+import com.prepaid.auth.service.CustomOAuth2UserService;
 import com.prepaid.auth.util.CookieUtils;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 
@@ -30,9 +32,14 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
             Authentication authentication) throws IOException, ServletException {
-        // 1. Create Tokens
-        String accessToken = jwtProvider.createAccessToken(authentication);
-        String refreshToken = jwtProvider.createRefreshToken(authentication);
+        // 1. Create Tokens (uid 클레임 포함)
+        Long userId = null;
+        if (authentication.getPrincipal() instanceof OAuth2User oAuth2User
+                && oAuth2User.getAttribute(CustomOAuth2UserService.USER_ID_ATTRIBUTE) instanceof Long id) {
+            userId = id;
+        }
+        String accessToken = jwtProvider.createAccessToken(authentication, userId);
+        String refreshToken = jwtProvider.createRefreshToken(authentication, userId);
 
         log.info("OAuth2 Login Success. AccessToken: {}, RefreshToken: {}", accessToken, refreshToken);
 
@@ -29,9 +29,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (accessTokenCookie.isPresent()) {
             String token = accessTokenCookie.get().getValue();
-            if (jwtProvider.validateToken(token)) {
-                Authentication authentication = jwtProvider.getAuthentication(token);
+            Authentication authentication = jwtProvider.resolveAuthentication(token);
+            if (authentication != null) {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                // 리졸버/컨트롤러에서 토큰을 다시 파싱하지 않도록 요청 속성으로 전달
+                request.setAttribute(JwtProvider.AUTHENTICATION_ATTRIBUTE, authentication);
             }
         }
 
@@ -1,8 +1,14 @@
 package com.prepaid.auth.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.prepaid.auth.util.CookieUtils;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,30 +19,67 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * JWT 발급/검증
+ * - 파서는 한 번만 만들어 재사용
+ * - 서명 검증이 끝난 클레임은 토큰 해시(SHA-256)를 키로 캐시 (토큰 만료 시각과 max-ttl 중 빠른 시점에 만료)
+ * - 필터가 만든 Authentication은 요청 속성에 담아 같은 요청 안에서 다시 파싱하지 않음
+ * - uid 클레임(사용자 ID)은 Authentication details로 전달
+ */
 @Slf4j
 @Component
 public class JwtProvider {
 
+    /**
+     * JwtAuthenticationFilter가 검증한 Authentication을 담는 요청 속성 이름
+     */
+    public static final String AUTHENTICATION_ATTRIBUTE = JwtProvider.class.getName() + ".AUTHENTICATION";
+
+    private static final String ACCESS_TOKEN_COOKIE = "accessToken";
+    private static final String USER_ID_CLAIM = "uid";
+
     private final Key key;
+    private final JwtParser jwtParser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtProvider(@Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration,
+            @Value("${jwt.claims-cache.max-size:100000}") long claimsCacheSize,
+            @Value("${jwt.claims-cache.max-ttl:5m}") Duration claimsCacheMaxTtl) {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new TokenExpiry(claimsCacheMaxTtl.toNanos()))
+                .build();
     }
 
     public String createAccessToken(Authentication authentication) {
+        return createAccessToken(authentication, getUserId(authentication));
+    }
+
+    /**
+     * 사용자 ID(uid 클레임)를 포함한 Access Token 발급 (요청마다 사용자 조회를 하지 않도록)
+     */
+    public String createAccessToken(Authentication authentication, Long userId) {
         String authorities = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
@@ -44,55 +87,201 @@ public class JwtProvider {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.accessTokenExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName())
                 .claim("auth", authorities)
                 .setIssuedAt(new Date())
-                .setExpiration(validity)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(validity);
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS512).compact();
     }
 
     public String createRefreshToken(Authentication authentication) {
+        return createRefreshToken(authentication, getUserId(authentication));
+    }
+
+    public String createRefreshToken(Authentication authentication, Long userId) {
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.refreshTokenExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName())
                 .setIssuedAt(new Date())
-                .setExpiration(validity)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(validity);
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS512).compact();
+    }
+
+    /**
+     * 토큰의 uid 클레임 (Authentication details로 전달, 이전에 발급된 토큰이면 null)
+     */
+    public static Long getUserId(Authentication authentication) {
+        return authentication != null && authentication.getDetails() instanceof Long userId ? userId : null;
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return toAuthentication(verify(token), token);
+    }
+
+    /**
+     * 요청의 Authentication 조회
+     * - 필터가 검증해 둔 요청 속성이 있으면 그대로 사용, 없으면 accessToken 쿠키를 검증
+     */
+    public Authentication getAuthentication(HttpServletRequest request) {
+        Object attribute = request.getAttribute(AUTHENTICATION_ATTRIBUTE);
+        if (attribute instanceof Authentication authentication) {
+            return authentication;
+        }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays.stream(claims.get("auth").toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        String accessToken = CookieUtils.getCookie(request, ACCESS_TOKEN_COOKIE)
+                .map(Cookie::getValue)
+                .orElseThrow(() -> new RuntimeException("토큰이 없습니다."));
 
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Authentication authentication = getAuthentication(accessToken);
+        request.setAttribute(AUTHENTICATION_ATTRIBUTE, authentication);
+        return authentication;
+    }
+
+    /**
+     * 토큰 검증 후 Authentication 생성 (유효하지 않으면 null)
+     * - validateToken + getAuthentication을 한 번의 검증으로 처리
+     */
+    public Authentication resolveAuthentication(String token) {
+        try {
+            return getAuthentication(token);
+        } catch (RuntimeException e) {
+            logInvalidToken(e);
+            return null;
+        }
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            verify(token);
             return true;
-        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
+        } catch (RuntimeException e) {
+            logInvalidToken(e);
+            return false;
+        }
+    }
+
+    /**
+     * 검증 캐시에서 토큰 제거 (로그아웃 등으로 토큰을 더 이상 신뢰하지 않을 때)
+     * - 이 노드의 캐시에서만 제거됨: 다른 노드는 캐시 만료(max-ttl)까지 이 토큰을 계속 통과시킴
+     */
+    public void evict(String token) {
+        if (token != null) {
+            verifiedTokens.invalidate(hash(token));
+        }
+    }
+
+    /**
+     * 검증 캐시에 토큰이 남아 있는지 (테스트용)
+     */
+    boolean isCached(String token) {
+        return verifiedTokens.getIfPresent(hash(token)) != null;
+    }
+
+    /**
+     * 서명/만료 검증 (캐시 미스일 때만 파싱)
+     * - 검증 실패는 캐시하지 않음
+     */
+    private VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+
+        String tokenHash = hash(token);
+        VerifiedToken verified = verifiedTokens.get(tokenHash, ignored -> parse(token));
+        if (verified.isExpired(System.currentTimeMillis())) {
+            verifiedTokens.invalidate(tokenHash);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + new Date(verified.expiresAtMillis()));
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+
+        Object auth = claims.get("auth");
+        List<GrantedAuthority> authorities = auth == null ? List.of() : Arrays.stream(auth.toString().split(","))
+                .filter(authority -> !authority.isBlank())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), claims.get(USER_ID_CLAIM, Long.class), authorities,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+    }
+
+    private Authentication toAuthentication(VerifiedToken verified, String token) {
+        UserDetails principal = new User(verified.subject(), "", verified.authorities());
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, token, verified.authorities());
+        authentication.setDetails(verified.userId());
+        return authentication;
+    }
+
+    private void logInvalidToken(RuntimeException e) {
+        if (e instanceof io.jsonwebtoken.security.SecurityException || e instanceof MalformedJwtException) {
             log.info("Invalid JWT Token", e);
-        } catch (ExpiredJwtException e) {
+        } else if (e instanceof ExpiredJwtException) {
             log.info("Expired JWT Token", e);
-        } catch (UnsupportedJwtException e) {
+        } else if (e instanceof UnsupportedJwtException) {
             log.info("Unsupported JWT Token", e);
-        } catch (IllegalArgumentException e) {
+        } else if (e instanceof IllegalArgumentException) {
             log.info("JWT claims string is empty.", e);
+        } else {
+            throw e;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 검증이 끝난 토큰 정보 (권한 목록은 불변)
+     */
+    record VerifiedToken(String subject, Long userId, List<GrantedAuthority> authorities,
+                                 long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    /**
+     * 캐시 만료 = min(토큰 남은 유효 시간, max-ttl)
+     */
+    record TokenExpiry(long maxTtlNanos) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            if (remainingMillis <= 0) {
+                return 0L;
+            }
+            return Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -2,11 +2,8 @@ package com.prepaid.auth.resolver;
 
 import com.prepaid.auth.annotation.CurrentUser;
 import com.prepaid.auth.jwt.JwtProvider;
-import com.prepaid.auth.util.CookieUtils;
-import com.prepaid.common.exception.specific.UserNotFoundException;
+import com.prepaid.auth.service.UserIdentityService;
 import com.prepaid.domain.User;
-import com.prepaid.repository.UserRepository;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
@@ -25,7 +22,7 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
 
     private final JwtProvider jwtProvider;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
@@ -39,16 +36,10 @@ public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolve
         
         HttpServletRequest request = (HttpServletRequest) webRequest.getNativeRequest();
         
-        // 1. 쿠키에서 accessToken 추출
-        String accessToken = CookieUtils.getCookie(request, "accessToken")
-                .map(Cookie::getValue)
-                .orElseThrow(() -> new RuntimeException("토큰이 없습니다."));
+        // 1. JWT 인증 정보 추출 (필터가 검증한 요청 속성 재사용)
+        Authentication auth = jwtProvider.getAuthentication(request);
         
-        // 2. JWT 인증 정보 추출
-        Authentication auth = jwtProvider.getAuthentication(accessToken);
-        
-        // 3. 사용자 조회 (이메일 기반)
-        return userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new UserNotFoundException());
+        // 2. 사용자 조회 (uid 클레임 또는 식별 캐시)
+        return userIdentityService.getUser(auth);
     }
 }
@@ -15,12 +15,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
 
+    public static final String USER_ID_ATTRIBUTE = "prepaidUserId";
+
     private final UserRepository userRepository;
 
     @Override
@@ -43,9 +46,13 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
 
         User user = saveOrUpdateUser(email, provider);
 
+        // 토큰 발급 시 uid 클레임으로 쓰기 위해 사용자 ID를 속성에 추가
+        Map<String, Object> userAttributes = new HashMap<>(attributes);
+        userAttributes.put(USER_ID_ATTRIBUTE, user.getId());
+
         return new DefaultOAuth2User(
                 Collections.singleton(new SimpleGrantedAuthority(user.getRole())),
-                attributes,
+                userAttributes,
                 userNameAttributeName);
     }
 
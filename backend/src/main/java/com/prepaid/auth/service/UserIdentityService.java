@@ -0,0 +1,103 @@
+package com.prepaid.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prepaid.auth.dto.UserIdentity;
+import com.prepaid.auth.jwt.JwtProvider;
+import com.prepaid.common.exception.specific.UnauthorizedException;
+import com.prepaid.common.exception.specific.UserNotFoundException;
+import com.prepaid.domain.User;
+import com.prepaid.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 인증 주체(JWT subject) -> 사용자 해석
+ * - uid 클레임이 있는 토큰은 ID 기준, uid가 없는 이전 토큰은 subject 기준 스냅샷 캐시를 거쳐 TTL당 한 번만 조회
+ * - 스냅샷의 잠금 여부로 잠긴 계정의 요청을 거부한 뒤 사용자 참조(프록시) 반환
+ * - 잠금/해제 시 evict로 캐시 무효화 (이 노드만 즉시 반영, 다른 노드는 TTL 후 반영)
+ */
+@Slf4j
+@Service
+public class UserIdentityService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> identities;
+    private final Cache<Long, UserIdentity> identitiesById;
+
+    public UserIdentityService(UserRepository userRepository,
+                               @Value("${auth.identity-cache.max-size:100000}") long maxSize,
+                               @Value("${auth.identity-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.identities = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.identitiesById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 인증 정보로 사용자 조회 (잠긴 계정은 거부)
+     * - 반환값은 지연 로딩 참조이므로 ID 외 필드가 필요하면 영속성 컨텍스트 안에서 사용
+     */
+    public User getUser(Authentication authentication) {
+        Long userId = JwtProvider.getUserId(authentication);
+        UserIdentity identity = userId != null
+                ? getIdentity(userId)
+                : getIdentity(authentication.getName());
+        if (identity.accountLocked()) {
+            throw new UnauthorizedException("계정이 잠겼습니다. 관리자에게 문의하세요");
+        }
+        return userRepository.getReferenceById(identity.id());
+    }
+
+    /**
+     * subject 기준 사용자 스냅샷 (캐시 미스일 때만 조회)
+     */
+    public UserIdentity getIdentity(String subject) {
+        UserIdentity identity = identities.get(subject, key -> userRepository.findByEmail(key)
+                .map(UserIdentity::of)
+                .orElse(null));
+        if (identity == null) {
+            throw new UserNotFoundException();
+        }
+        return identity;
+    }
+
+    /**
+     * 사용자 ID 기준 스냅샷 (캐시 미스일 때만 조회)
+     */
+    public UserIdentity getIdentity(Long userId) {
+        UserIdentity identity = identitiesById.get(userId, key -> userRepository.findById(key)
+                .map(UserIdentity::of)
+                .orElse(null));
+        if (identity == null) {
+            throw new UserNotFoundException();
+        }
+        return identity;
+    }
+
+    /**
+     * 사용자 상태(잠금/해제) 변경 시 스냅샷 무효화
+     * (로컬 로그인은 username, OAuth 로그인은 email이 subject)
+     */
+    public void evict(User user) {
+        if (user.getId() != null) {
+            identitiesById.invalidate(user.getId());
+        }
+        if (user.getUsername() != null) {
+            identities.invalidate(user.getUsername());
+        }
+        if (user.getEmail() != null) {
+            identities.invalidate(user.getEmail());
+        }
+        log.debug("사용자 식별 캐시 무효화: userId={}", user.getId());
+    }
+}
@@ -17,6 +17,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserIdentityService userIdentityService;
 
     /**
      * 회원가입
@@ -80,6 +81,10 @@ public class UserService {
             user.incrementFailedAttempts();
             userRepository.save(user);
 
+            if (user.getAccountLocked()) {
+                userIdentityService.evict(user);
+            }
+
             int remaining = 5 - user.getFailedLoginAttempts();
             if (remaining <= 0) {
                 throw new IllegalStateException("계정이 잠겼습니다. 관리자에게 문의하세요");
@@ -111,5 +116,6 @@ public class UserService {
         
         user.unlock();
         userRepository.save(user);
+        userIdentityService.evict(user);
     }
 }
@@ -0,0 +1,111 @@
+package com.prepaid.common.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 락 프리 링 버퍼 (다중 생산자 / 단일 소비자)
+ * - Vyukov bounded queue: 슬롯마다 시퀀스 번호를 두어 생산자는 tail CAS 한 번으로 자리를 잡고,
+ *   값을 쓴 뒤 시퀀스를 올려 소비자에게 공개
+ * - 가득 차면 offer가 즉시 false 반환 (대기/유실 정책은 호출자가 결정)
+ * - poll/drainTo는 한 스레드에서만 호출해야 함
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity 최소 용량 (2의 거듭제곱으로 올림)
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 2 and 2^30: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 추가 (가득 차면 false)
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (delta < 0) {
+                // 한 바퀴 전 값이 아직 소비되지 않음
+                return false;
+            } else {
+                // 다른 생산자가 먼저 자리를 잡음
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 꺼내기 (비어 있으면 null, 단일 소비자 전용)
+     */
+    public E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.set(index, null);
+        sequences.set(index, position + capacity);
+        head.set(position + 1);
+        return element;
+    }
+
+    /**
+     * 최대 maxElements개를 꺼내 target에 추가 (단일 소비자 전용)
+     *
+     * @return 꺼낸 개수
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -16,12 +16,14 @@ public enum ErrorCode {
     BELOW_MINIMUM_CHARGE(HttpStatus.BAD_REQUEST, "최소 충전 금액 미만입니다."),
     EXCEEDS_MAXIMUM_CHARGE(HttpStatus.BAD_REQUEST, "최대 충전 금액을 초과했습니다."),
     EXCEEDS_DAILY_LIMIT(HttpStatus.BAD_REQUEST, "일일 충전 한도를 초과했습니다."),
+    EXCEEDS_DAILY_USE_LIMIT(HttpStatus.BAD_REQUEST, "일일 사용 한도를 초과했습니다."),
     INSUFFICIENT_BALANCE(HttpStatus.BAD_REQUEST, "잔액이 부족합니다."),
     INVALID_REFUND_AMOUNT(HttpStatus.BAD_REQUEST, "환불 금액이 유효하지 않습니다."),
     REFUND_PERIOD_EXPIRED(HttpStatus.BAD_REQUEST, "환불 가능 기간이 지났습니다."),
     CHARGE_FULLY_USED(HttpStatus.BAD_REQUEST, "이미 모두 사용된 충전 건은 취소할 수 없습니다."),
     CHARGE_ALREADY_CANCELED(HttpStatus.BAD_REQUEST, "이미 취소된 충전 건입니다."),
     PAYMENT_ALREADY_REVERSED(HttpStatus.BAD_REQUEST, "이미 취소된 결제 건입니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "유효하지 않은 페이지 커서입니다."),
 
     // 401 Unauthorized
     UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "권한이 없습니다."),
@@ -35,6 +37,10 @@ public enum ErrorCode {
     // 409 Conflict
     DUPLICATE_REQUEST(HttpStatus.CONFLICT, "이미 처리 중이거나 처리된 요청입니다."),
     WALLET_ALREADY_EXISTS(HttpStatus.CONFLICT, "이미 지갑이 존재합니다."),
+    LOCK_ACQUISITION_FAILED(HttpStatus.CONFLICT, "요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+
+    // 422 Unprocessable Entity
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 멱등성 키로 다른 내용의 요청을 보낼 수 없습니다."),
 
     // 500 Internal Server Error
     PAYMENT_GATEWAY_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "결제 시스템 오류가 발생했습니다."),
@@ -0,0 +1,13 @@
+package com.prepaid.common.exception.specific;
+
+import com.prepaid.common.exception.BusinessException;
+import com.prepaid.common.exception.ErrorCode;
+
+/**
+ * 멱등성 키 재사용 예외 (같은 키로 요청 내용이 다른 요청)
+ */
+public class IdempotencyKeyReusedException extends BusinessException {
+    public IdempotencyKeyReusedException() {
+        super(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+}
@@ -0,0 +1,13 @@
+package com.prepaid.common.exception.specific;
+
+import com.prepaid.common.exception.BusinessException;
+import com.prepaid.common.exception.ErrorCode;
+
+/**
+ * 유효하지 않은 페이지 커서 예외
+ */
+public class InvalidCursorException extends BusinessException {
+    public InvalidCursorException() {
+        super(ErrorCode.INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,17 @@
+package com.prepaid.common.exception.specific;
+
+import com.prepaid.common.exception.BusinessException;
+import com.prepaid.common.exception.ErrorCode;
+
+/**
+ * 분산 락 획득 실패 예외 (대기 시간 초과)
+ */
+public class LockAcquisitionFailedException extends BusinessException {
+    public LockAcquisitionFailedException() {
+        super(ErrorCode.LOCK_ACQUISITION_FAILED);
+    }
+
+    public LockAcquisitionFailedException(String customMessage) {
+        super(ErrorCode.LOCK_ACQUISITION_FAILED, customMessage);
+    }
+}
@@ -0,0 +1,36 @@
+package com.prepaid.common.exception.specific;
+
+import com.prepaid.common.exception.BusinessException;
+import com.prepaid.common.exception.ErrorCode;
+import lombok.Getter;
+
+/**
+ * 결제 게이트웨이(Toss) 호출 실패 예외
+ * - statusCode: 게이트웨이 응답 상태 코드 (응답을 받지 못했으면 0)
+ * - outcomeUnknown: 타임아웃/연결 끊김 등으로 게이트웨이 측 처리 여부를 알 수 없음 (조회로 확인 필요)
+ */
+@Getter
+public class PaymentGatewayException extends BusinessException {
+
+    private final int statusCode;
+    private final boolean outcomeUnknown;
+
+    public PaymentGatewayException(String customMessage, int statusCode) {
+        super(ErrorCode.PAYMENT_GATEWAY_ERROR, customMessage);
+        this.statusCode = statusCode;
+        this.outcomeUnknown = false;
+    }
+
+    public PaymentGatewayException(ErrorCode errorCode, String customMessage, boolean outcomeUnknown) {
+        super(errorCode, customMessage);
+        this.statusCode = 0;
+        this.outcomeUnknown = outcomeUnknown;
+    }
+
+    /**
+     * 요청 자체가 거절된 경우 (4xx) - 회로 차단기 실패로 집계하지 않음
+     */
+    public boolean isClientError() {
+        return statusCode >= 400 && statusCode < 500;
+    }
+}
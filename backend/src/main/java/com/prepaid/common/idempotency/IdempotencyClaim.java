@@ -0,0 +1,29 @@
+package com.prepaid.common.idempotency;
+
+/**
+ * 멱등성 키 선점 결과
+ * - CLAIMED: 이 요청이 키를 선점함 (처리 후 markCompleted/markFailed 호출)
+ * - REPLAY: 같은 내용으로 이미 완료된 요청 (저장된 응답 본문을 그대로 반환)
+ *
+ * @param key         사용자/엔드포인트 범위가 붙은 키 (idempotency: 접두사 제외)
+ * @param requestHash 요청 본문 해시 (같은 키로 다른 요청을 보냈는지 판별)
+ */
+public record IdempotencyClaim(Status status, String key, String requestHash, String responseBody) {
+
+    public enum Status {
+        CLAIMED,
+        REPLAY
+    }
+
+    public static IdempotencyClaim claimed(String key, String requestHash) {
+        return new IdempotencyClaim(Status.CLAIMED, key, requestHash, null);
+    }
+
+    public static IdempotencyClaim replay(String key, String requestHash, String responseBody) {
+        return new IdempotencyClaim(Status.REPLAY, key, requestHash, responseBody);
+    }
+
+    public boolean isReplay() {
+        return status == Status.REPLAY;
+    }
+}
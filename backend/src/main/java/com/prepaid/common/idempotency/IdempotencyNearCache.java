@@ -0,0 +1,88 @@
+package com.prepaid.common.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 멱등성 키 노드 로컬 사전 필터
+ * - 최근 완료된 키의 완료 값(요청 해시 + 응답 본문) LRU: 같은 노드로 온 중복 요청은 Redis 없이 응답 재전송
+ * - 최근 본 키 Bloom 필터: 처음 보는 키(대부분의 UUID)는 SET NX로 바로 선점, 중복 가능성이 있는 키만 Lua 검사
+ * - 로컬 판단은 최적화일 뿐이며 최종 판단은 항상 Redis (다른 노드/재시작 후 중복도 Redis에서 걸러짐)
+ *
+ * 메트릭 idempotency.near-cache (result 태그)
+ * - hit: 로컬 완료 캐시에서 응답 재전송
+ * - miss: Bloom 필터상 처음 보는 키
+ * - false_positive: Bloom 필터는 본 적 있다고 했지만 Redis에 키가 없었음
+ */
+@Component
+public class IdempotencyNearCache {
+
+    private final TimeWindowedBloomFilter recentKeys;
+    private final Cache<String, String> completedResponses;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter falsePositiveCounter;
+
+    public IdempotencyNearCache(@Value("${idempotency.near-cache.expected-keys:1000000}") long expectedKeys,
+                                @Value("${idempotency.near-cache.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${idempotency.near-cache.window:1h}") Duration window,
+                                @Value("${idempotency.near-cache.completed-size:10000}") long completedSize,
+                                @Value("${idempotency.near-cache.completed-ttl:10m}") Duration completedTtl,
+                                MeterRegistry meterRegistry) {
+        this.recentKeys = new TimeWindowedBloomFilter(expectedKeys, falsePositiveRate, window);
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(completedSize)
+                .expireAfterWrite(completedTtl)
+                .build();
+        this.hitCounter = counter(meterRegistry, "hit");
+        this.missCounter = counter(meterRegistry, "miss");
+        this.falsePositiveCounter = counter(meterRegistry, "false_positive");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("idempotency.near-cache")
+                .description("멱등성 키 로컬 사전 필터 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로컬에서 완료된 키의 완료 값 (없으면 null)
+     */
+    public String completedResponse(String idempotencyKey) {
+        String value = completedResponses.getIfPresent(idempotencyKey);
+        if (value != null) {
+            hitCounter.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 최근에 본 적 있을 수 있는 키인지 (false면 Redis 선점을 SET NX 한 번으로 처리)
+     */
+    public boolean mightHaveSeen(String idempotencyKey) {
+        boolean seen = recentKeys.mightContain(idempotencyKey);
+        if (!seen) {
+            missCounter.increment();
+        }
+        return seen;
+    }
+
+    public void recordSeen(String idempotencyKey) {
+        recentKeys.put(idempotencyKey);
+    }
+
+    public void recordCompleted(String idempotencyKey, String completedValue) {
+        completedResponses.put(idempotencyKey, completedValue);
+    }
+
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+}
@@ -1,18 +1,31 @@
 package com.prepaid.common.idempotency;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prepaid.common.exception.specific.DuplicateRequestException;
+import com.prepaid.common.exception.specific.IdempotencyKeyReusedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 멱등성 서비스
  * Redis를 사용하여 중복 요청 방지
+ * - 키는 엔드포인트와 사용자 범위로 구분: idempotency:{scope}:{userId}:{Idempotency-Key}
+ *   (다른 사용자/엔드포인트가 같은 키를 써도 서로 막거나 응답을 받아가지 않음)
+ * - 요청 본문 해시를 함께 저장: 같은 키로 내용이 다른 요청은 422 (IdempotencyKeyReusedException)
+ * - 키 선점은 Redis 한 번의 왕복으로 원자적으로 처리 (동시 중복 요청 중 하나만 통과)
+ *   처음 보는 키는 SET NX, 중복 가능성이 있는 키만 Lua 스크립트로 상태 확인 (IdempotencyNearCache)
+ * - 값은 JSON 대신 구분자 인코딩: P|ts|해시 (처리 중), C|ts|해시|응답 본문 (완료), F|ts|해시 (실패)
  */
 @Slf4j
 @Service
@@ -20,108 +33,227 @@ import java.util.concurrent.TimeUnit;
 public class IdempotencyService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final IdempotencyNearCache nearCache;
     private final ObjectMapper objectMapper;
 
     private static final String IDEMPOTENCY_PREFIX = "idempotency:";
     private static final Duration TTL = Duration.ofHours(24); // 24시간 보관
+    private static final Duration FAILED_TTL = Duration.ofMinutes(10); // 실패한 요청은 짧게 보관 (재시도 가능)
+
+    static final char PROCESSING = 'P';
+    static final char COMPLETED = 'C';
+    static final char FAILED = 'F';
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 키 선점 스크립트
+     * - 키가 없으면 처리 중으로 기록하고 nil 반환
+     * - 같은 요청(해시 일치)의 실패 상태면 처리 중으로 덮어쓰고 기존(실패) 값 반환 (재시도 허용)
+     * - 처리 중/완료 상태, 또는 다른 요청의 실패 상태면 기존 값 반환
+     */
+    private static final DefaultRedisScript<String> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+              if string.sub(current, 1, 1) ~= 'F' then
+                return current
+              end
+              local hashStart = string.find(current, '|', 3, true)
+              if not hashStart or string.sub(current, hashStart + 1) ~= ARGV[3] then
+                return current
+              end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return current
+            """, String.class);
 
     /**
-     * 요청 처리 시작 (중복 체크)
-     * 
-     * @param idempotencyKey 멱등성 키
-     * @throws DuplicateRequestException 이미 처리 중이거나 완료된 요청
+     * 멱등성 키 선점 (사용자 확인 후 호출)
+     *
+     * @param scope          엔드포인트 구분 (예: payment-confirm)
+     * @param userId         요청 사용자 ID
+     * @param idempotencyKey 클라이언트가 보낸 멱등성 키
+     * @param request        요청 본문 (해시를 저장하여 같은 키의 다른 요청을 거부)
+     * @return 새로 선점했으면 CLAIMED, 같은 요청이 이미 완료되었으면 저장된 응답 본문을 담은 REPLAY
+     * @throws DuplicateRequestException     같은 키의 요청이 처리 중
+     * @throws IdempotencyKeyReusedException 같은 키로 내용이 다른 요청
      */
-    public void startProcessing(String idempotencyKey) {
-        String key = getKey(idempotencyKey);
-
-        // 기존 요청 확인
-        String existingValue = redisTemplate.opsForValue().get(key);
-        
-        if (existingValue != null) {
-            try {
-                IdempotentRequest existing = objectMapper.readValue(existingValue, IdempotentRequest.class);
-                
-                if ("PROCESSING".equals(existing.getStatus())) {
-                    log.warn("중복 요청 감지 (처리 중): {}", idempotencyKey);
-                    throw new DuplicateRequestException("요청이 이미 처리 중입니다.");
-                }
-                
-                if ("COMPLETED".equals(existing.getStatus())) {
-                    log.warn("중복 요청 감지 (완료됨): {}", idempotencyKey);
-                    throw new DuplicateRequestException("이미 처리된 요청입니다.");
-                }
-                
-            } catch (Exception e) {
-                if (e instanceof DuplicateRequestException) {
-                    throw (DuplicateRequestException) e;
-                }
-                log.error("멱등성 키 파싱 오류: {}", idempotencyKey, e);
+    public IdempotencyClaim tryClaim(String scope, Long userId, String idempotencyKey, Object request) {
+        String key = scopedKey(scope, userId, idempotencyKey);
+        String requestHash = hash(request);
+
+        // 1. 이 노드에서 완료된 키면 Redis 없이 응답 재전송
+        String completed = nearCache.completedResponse(key);
+        if (completed != null) {
+            ensureSameRequest(key, completed, requestHash);
+            log.info("중복 요청 감지 (완료됨, 로컬 응답 재전송): {}", key);
+            return IdempotencyClaim.replay(key, requestHash, decodeBody(completed));
+        }
+
+        // 2. 처음 보는 키는 SET NX 한 번으로 선점
+        if (!nearCache.mightHaveSeen(key)) {
+            nearCache.recordSeen(key);
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(getKey(key),
+                    encode(PROCESSING, requestHash, null), TTL.toMillis(), TimeUnit.MILLISECONDS);
+            if (Boolean.TRUE.equals(claimed)) {
+                log.debug("멱등성 키 등록 (PROCESSING): {}", key);
+                return IdempotencyClaim.claimed(key, requestHash);
             }
+            // 다른 노드가 먼저 본 키 (또는 재시작 전 키) - 상태 확인으로 넘어감
+            return claimWithScript(key, requestHash, false);
         }
 
-        // PROCESSING 상태로 저장
-        try {
-            IdempotentRequest processing = IdempotentRequest.processing(idempotencyKey);
-            String value = objectMapper.writeValueAsString(processing);
-            redisTemplate.opsForValue().set(key, value, TTL.toMillis(), TimeUnit.MILLISECONDS);
-            log.info("멱등성 키 등록 (PROCESSING): {}", idempotencyKey);
-        } catch (Exception e) {
-            log.error("멱등성 키 저장 실패: {}", idempotencyKey, e);
+        // 3. 중복 가능성이 있는 키는 Lua로 상태 확인 후 선점
+        return claimWithScript(key, requestHash, true);
+    }
+
+    private IdempotencyClaim claimWithScript(String key, String requestHash, boolean locallySeen) {
+        String existing = redisTemplate.execute(CLAIM_SCRIPT, List.of(getKey(key)),
+                encode(PROCESSING, requestHash, null), String.valueOf(TTL.toMillis()), requestHash);
+
+        if (existing == null) {
+            if (locallySeen) {
+                nearCache.recordFalsePositive();
+            }
+            log.debug("멱등성 키 등록 (PROCESSING): {}", key);
+            return IdempotencyClaim.claimed(key, requestHash);
+        }
+
+        ensureSameRequest(key, existing, requestHash);
+
+        if (existing.charAt(0) == FAILED) {
+            log.info("실패한 요청 재시도: {}", key);
+            return IdempotencyClaim.claimed(key, requestHash);
+        }
+
+        if (existing.charAt(0) == COMPLETED) {
+            log.info("중복 요청 감지 (완료됨, 응답 재전송): {}", key);
+            nearCache.recordCompleted(key, existing);
+            return IdempotencyClaim.replay(key, requestHash, decodeBody(existing));
+        }
+
+        log.warn("중복 요청 감지 (처리 중): {}", key);
+        throw new DuplicateRequestException("요청이 이미 처리 중입니다.");
+    }
+
+    private static void ensureSameRequest(String key, String value, String requestHash) {
+        if (!requestHash.equals(decodeHash(value))) {
+            log.warn("멱등성 키 재사용 (요청 내용 다름): {}", key);
+            throw new IdempotencyKeyReusedException();
         }
     }
 
     /**
      * 요청 처리 완료
-     * 
-     * @param idempotencyKey 멱등성 키
-     * @param result 처리 결과
+     *
+     * @param claim    tryClaim으로 선점한 결과
+     * @param response 중복 요청에 그대로 돌려줄 응답 본문 (JSON으로 저장)
      */
-    public void markCompleted(String idempotencyKey, Object result) {
-        String key = getKey(idempotencyKey);
-        
+    public void markCompleted(IdempotencyClaim claim, Object response) {
         try {
-            IdempotentRequest completed = IdempotentRequest.completed(idempotencyKey, result);
-            String value = objectMapper.writeValueAsString(completed);
-            redisTemplate.opsForValue().set(key, value, TTL.toMillis(), TimeUnit.MILLISECONDS);
-            log.info("멱등성 키 완료 처리: {}", idempotencyKey);
+            String value = encode(COMPLETED, claim.requestHash(), objectMapper.writeValueAsString(response));
+            redisTemplate.opsForValue().set(getKey(claim.key()), value, TTL.toMillis(), TimeUnit.MILLISECONDS);
+            nearCache.recordCompleted(claim.key(), value);
+            log.debug("멱등성 키 완료 처리: {}", claim.key());
         } catch (Exception e) {
-            log.error("멱등성 키 완료 처리 실패: {}", idempotencyKey, e);
+            log.error("멱등성 키 완료 처리 실패: {}", claim.key(), e);
+        }
+    }
+
+    /**
+     * 재전송할 응답 본문 역직렬화
+     */
+    public <T> T readResponse(IdempotencyClaim claim, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(claim.responseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 멱등성 응답을 읽을 수 없습니다: " + claim.key(), e);
         }
     }
 
     /**
      * 요청 처리 실패
-     * 
-     * @param idempotencyKey 멱등성 키
-     * @param errorMessage 에러 메시지
+     *
+     * @param claim        tryClaim으로 선점한 결과
+     * @param errorMessage 에러 메시지 (로그용)
      */
-    public void markFailed(String idempotencyKey, String errorMessage) {
-        String key = getKey(idempotencyKey);
-        
+    public void markFailed(IdempotencyClaim claim, String errorMessage) {
         try {
-            IdempotentRequest failed = IdempotentRequest.failed(idempotencyKey, errorMessage);
-            String value = objectMapper.writeValueAsString(failed);
-            // 실패한 요청은 짧은 시간만 보관 (재시도 가능)
-            redisTemplate.opsForValue().set(key, value, Duration.ofMinutes(10).toMillis(), TimeUnit.MILLISECONDS);
-            log.info("멱등성 키 실패 처리: {}", idempotencyKey);
+            redisTemplate.opsForValue().set(getKey(claim.key()), encode(FAILED, claim.requestHash(), null),
+                    FAILED_TTL.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("멱등성 키 실패 처리: {}, error={}", claim.key(), errorMessage);
         } catch (Exception e) {
-            log.error("멱등성 키 실패 처리 실패: {}", idempotencyKey, e);
+            log.error("멱등성 키 실패 처리 실패: {}", claim.key(), e);
+        }
+    }
+
+    /**
+     * 값 인코딩: 상태|타임스탬프|요청 해시[|응답 본문]
+     */
+    static String encode(char status, String requestHash, String body) {
+        StringBuilder value = new StringBuilder(80 + (body != null ? body.length() : 0))
+                .append(status).append(SEPARATOR).append(System.currentTimeMillis())
+                .append(SEPARATOR).append(requestHash);
+        if (body != null) {
+            value.append(SEPARATOR).append(body);
+        }
+        return value.toString();
+    }
+
+    /**
+     * 값에서 요청 해시 추출
+     */
+    static String decodeHash(String value) {
+        int hashStart = value.indexOf(SEPARATOR, 2) + 1;
+        if (hashStart == 0) {
+            return null;
+        }
+        int hashEnd = value.indexOf(SEPARATOR, hashStart);
+        return hashEnd < 0 ? value.substring(hashStart) : value.substring(hashStart, hashEnd);
+    }
+
+    /**
+     * 완료 값에서 응답 본문 추출 (본문에 구분자가 있어도 세 번째 구분자 이후 전체)
+     */
+    static String decodeBody(String value) {
+        int hashStart = value.indexOf(SEPARATOR, 2);
+        int bodyStart = hashStart < 0 ? -1 : value.indexOf(SEPARATOR, hashStart + 1);
+        return bodyStart < 0 ? null : value.substring(bodyStart + 1);
+    }
+
+    /**
+     * 요청 본문 해시 (SHA-256, 같은 DTO 값이면 같은 JSON으로 직렬화됨)
+     */
+    String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("요청 본문을 직렬화할 수 없습니다.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
     /**
-     * 멱등성 키 생성
+     * 엔드포인트/사용자 범위 키
+     */
+    static String scopedKey(String scope, Long userId, String idempotencyKey) {
+        return scope + ':' + userId + ':' + idempotencyKey;
+    }
+
+    /**
+     * Redis 키 생성
      */
-    private String getKey(String idempotencyKey) {
-        return IDEMPOTENCY_PREFIX + idempotencyKey;
+    private String getKey(String key) {
+        return IDEMPOTENCY_PREFIX + key;
     }
 
     /**
      * 멱등성 키 삭제 (테스트용)
      */
-    public void delete(String idempotencyKey) {
-        String key = getKey(idempotencyKey);
-        redisTemplate.delete(key);
-        log.info("멱등성 키 삭제: {}", idempotencyKey);
+    public void delete(String scope, Long userId, String idempotencyKey) {
+        String key = scopedKey(scope, userId, idempotencyKey);
+        redisTemplate.delete(getKey(key));
+        log.info("멱등성 키 삭제: {}", key);
     }
 }
@@ -0,0 +1,139 @@
+package com.prepaid.common.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 윈도우 Bloom 필터 (최근에 본 키 집합)
+ * - 현재/이전 두 세대의 비트 배열을 유지하고 윈도우마다 세대를 교체 (키는 1~2 윈도우 동안 기억)
+ * - 오탐(false positive)은 있지만 미탐은 없음: "없음"이면 해당 윈도우 안에서 확실히 처음 본 키
+ * - 비트 설정은 CAS로 처리하여 락 없이 여러 스레드에서 사용
+ */
+public class TimeWindowedBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param expectedInsertions 윈도우당 예상 키 수
+     * @param falsePositiveRate  세대당 목표 오탐률
+     * @param window             세대 교체 주기
+     */
+    public TimeWindowedBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window) {
+        this(expectedInsertions, falsePositiveRate, window, System::currentTimeMillis);
+    }
+
+    TimeWindowedBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window, LongSupplier clock) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions > 0, 0 < falsePositiveRate < 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+
+        long now = clock.getAsLong();
+        this.current = new Generation(bitCount, now);
+        this.previous = new Generation(bitCount, now);
+    }
+
+    /**
+     * 최근 1~2 윈도우 안에 본 키일 수 있는지 (false면 확실히 처음)
+     */
+    public boolean mightContain(String key) {
+        rotateIfNeeded();
+        long hash = hash(key);
+        return current.mightContain(hash, bitCount, hashCount) || previous.mightContain(hash, bitCount, hashCount);
+    }
+
+    public void put(String key) {
+        rotateIfNeeded();
+        current.put(hash(key), bitCount, hashCount);
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private void rotateIfNeeded() {
+        long now = clock.getAsLong();
+        if (now - current.startedAt < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            Generation active = current;
+            long elapsed = now - active.startedAt;
+            if (elapsed < windowMillis) {
+                return;
+            }
+            // 두 윈도우 이상 지났으면 이전 세대도 비움
+            previous = elapsed < windowMillis * 2 ? active : new Generation(bitCount, now);
+            current = new Generation(bitCount, now);
+        }
+    }
+
+    /**
+     * 64비트 해시 (FNV-1a + murmur3 fmix64)
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final long startedAt;
+
+        private Generation(int bitCount, long startedAt) {
+            this.words = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * 이중 해싱으로 k개 비트 위치 계산: h1 + i * h2
+         */
+        private boolean mightContain(long hash, int bitCount, int hashCount) {
+            long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(hash + i * h2, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash, int bitCount, int hashCount) {
+            long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(hash + i * h2, bitCount);
+                long mask = 1L << bit;
+                int index = bit >>> 6;
+                if ((words.get(index) & mask) == 0) {
+                    words.getAndAccumulate(index, mask, (word, m) -> word | m);
+                }
+            }
+        }
+    }
+}
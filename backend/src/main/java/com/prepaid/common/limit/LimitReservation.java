@@ -0,0 +1,31 @@
+package com.prepaid.common.limit;
+
+/**
+ * 한도 예약 결과
+ * - allowed=false면 한도 초과 (예약되지 않음)
+ * - 처리 실패 시 VelocityLimiter.release로 예약 금액 반환
+ *
+ * @param key    예약이 기록된 Redis 키 (제한 없음이면 null)
+ * @param member SLIDING 윈도우의 ZSET 멤버 (FIXED면 null)
+ * @param amount 예약 금액
+ * @param used   예약 후(초과 시 현재) 윈도우 누적 금액
+ */
+public record LimitReservation(String key, String member, long amount, long used, boolean allowed) {
+
+    private static final LimitReservation UNLIMITED = new LimitReservation(null, null, 0L, 0L, true);
+
+    public static LimitReservation unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * 저장해 둔 예약 복원 (다른 스레드/노드에서 release하기 위해)
+     */
+    public static LimitReservation restore(String key, String member, long amount) {
+        return new LimitReservation(key, member, amount, 0L, true);
+    }
+
+    boolean isReserved() {
+        return allowed && key != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.prepaid.common.limit;
+
+import java.time.Duration;
+
+/**
+ * 누적 금액 한도 정의
+ *
+ * @param name       한도 이름 (Redis 키 구성, 예: charge-daily)
+ * @param limit      윈도우 안에서 허용하는 누적 금액 (0 이하면 제한 없음)
+ * @param window     윈도우 길이
+ * @param windowType FIXED(달력 기준 고정 구간) 또는 SLIDING(현재 시각 기준 최근 window)
+ */
+public record VelocityLimit(String name, long limit, Duration window, WindowType windowType) {
+
+    public enum WindowType {
+        FIXED,
+        SLIDING;
+
+        public static WindowType from(String value) {
+            return "sliding".equalsIgnoreCase(value) ? SLIDING : FIXED;
+        }
+    }
+
+    public boolean isUnlimited() {
+        return limit <= 0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.prepaid.common.limit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 누적 금액 한도(속도 제한) 엔진
+ * - 확인과 예약을 Lua 한 번으로 처리하여 동시 요청이 함께 한도를 넘지 못하도록 함
+ * - FIXED: INCRBY 카운터, 첫 기록 시에만 윈도우 종료 시각으로 만료 설정 (하루 윈도우는 자정 기준)
+ * - SLIDING: ZSET(score=시각, member=예약ID:금액)으로 최근 window 안의 예약만 합산
+ * - 처리 실패 시 release로 예약 금액 반환
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VelocityLimiter {
+
+    private static final String KEY_PREFIX = "limit:";
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    /**
+     * ARGV: 금액, 한도, 만료 시각(epoch ms)
+     * 반환: {허용 여부(1/0), 누적 금액}
+     */
+    private static final DefaultRedisScript<List<Long>> FIXED_RESERVE = listScript("""
+            local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local amount = tonumber(ARGV[1])
+            if used + amount > tonumber(ARGV[2]) then
+              return {0, used}
+            end
+            local total = redis.call('INCRBY', KEYS[1], amount)
+            if redis.call('PTTL', KEYS[1]) < 0 then
+              redis.call('PEXPIREAT', KEYS[1], ARGV[3])
+            end
+            return {1, total}
+            """);
+
+    private static final DefaultRedisScript<Long> FIXED_RELEASE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            return redis.call('DECRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    /**
+     * ARGV: 금액, 한도, 현재 시각(ms), 윈도우(ms), 멤버
+     * 반환: {허용 여부(1/0), 누적 금액}
+     */
+    private static final DefaultRedisScript<List<Long>> SLIDING_RESERVE = listScript("""
+            local now = tonumber(ARGV[3])
+            local window = tonumber(ARGV[4])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local used = 0
+            for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+              used = used + tonumber(string.match(member, ':(%d+)$'))
+            end
+            local amount = tonumber(ARGV[1])
+            if used + amount > tonumber(ARGV[2]) then
+              return {0, used}
+            end
+            redis.call('ZADD', KEYS[1], now, ARGV[5])
+            redis.call('PEXPIRE', KEYS[1], window)
+            return {1, used + amount}
+            """);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Clock clock;
+
+    /**
+     * 한도 확인 후 금액 예약
+     *
+     * @param limit   한도 정의
+     * @param subject 한도 대상 (예: userId)
+     * @param amount  예약 금액
+     * @return allowed=false면 한도 초과 (예약되지 않음)
+     */
+    public LimitReservation tryReserve(VelocityLimit limit, String subject, long amount) {
+        if (limit.isUnlimited()) {
+            return LimitReservation.unlimited();
+        }
+
+        long now = clock.millis();
+        if (limit.windowType() == VelocityLimit.WindowType.SLIDING) {
+            String key = KEY_PREFIX + limit.name() + ":" + subject;
+            String member = UUID.randomUUID() + ":" + amount;
+            List<Long> result = redisTemplate.execute(SLIDING_RESERVE, List.of(key),
+                    String.valueOf(amount), String.valueOf(limit.limit()), String.valueOf(now),
+                    String.valueOf(limit.window().toMillis()), member);
+            return toReservation(key, member, amount, result);
+        }
+
+        long windowStart = fixedWindowStart(limit, now);
+        String key = KEY_PREFIX + limit.name() + ":" + subject + ":" + windowStart;
+        List<Long> result = redisTemplate.execute(FIXED_RESERVE, List.of(key),
+                String.valueOf(amount), String.valueOf(limit.limit()),
+                String.valueOf(windowStart + limit.window().toMillis()));
+        return toReservation(key, null, amount, result);
+    }
+
+    /**
+     * 예약 반환 (처리 실패 시)
+     * - 반환 실패는 로그만 남김 (예약 금액은 윈도우가 끝나면 자연히 소멸)
+     */
+    public void release(LimitReservation reservation) {
+        if (reservation == null || !reservation.isReserved()) {
+            return;
+        }
+        try {
+            if (reservation.member() != null) {
+                redisTemplate.opsForZSet().remove(reservation.key(), reservation.member());
+            } else {
+                redisTemplate.execute(FIXED_RELEASE, List.of(reservation.key()), String.valueOf(reservation.amount()));
+            }
+        } catch (Exception e) {
+            log.warn("한도 예약 반환 실패: key={}, amount={}", reservation.key(), reservation.amount(), e);
+        }
+    }
+
+    private static LimitReservation toReservation(String key, String member, long amount, List<Long> result) {
+        boolean allowed = result.get(0) == 1L;
+        long used = result.get(1);
+        return new LimitReservation(key, member, amount, used, allowed);
+    }
+
+    /**
+     * 고정 윈도우 시작 시각 (로컬 타임존 자정 기준으로 정렬)
+     * - 하루 이상: 일 단위로 나눈 구간의 시작일 자정
+     * - 하루 미만: 오늘 자정부터 window 간격
+     */
+    private long fixedWindowStart(VelocityLimit limit, long nowMillis) {
+        ZoneId zone = clock.getZone();
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), zone);
+        long windowMillis = limit.window().toMillis();
+
+        if (windowMillis >= DAY_MILLIS) {
+            long days = windowMillis / DAY_MILLIS;
+            long startDay = today.toEpochDay() - Math.floorMod(today.toEpochDay(), days);
+            return LocalDate.ofEpochDay(startDay).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+
+        long dayStart = today.atStartOfDay(zone).toInstant().toEpochMilli();
+        return dayStart + (nowMillis - dayStart) / windowMillis * windowMillis;
+    }
+
+    /**
+     * 정수 배열을 반환하는 스크립트 (Lua 정수는 Long으로 변환됨)
+     */
+    @SuppressWarnings("unchecked")
+    private static DefaultRedisScript<List<Long>> listScript(String script) {
+        return new DefaultRedisScript<>(script, (Class<List<Long>>) (Class<?>) List.class);
+    }
+}
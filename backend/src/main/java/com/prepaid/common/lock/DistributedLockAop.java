@@ -6,8 +6,6 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -21,9 +19,7 @@ import java.lang.reflect.Method;
 @Slf4j
 public class DistributedLockAop {
 
-    private static final String REDISSON_LOCK_PREFIX = "LOCK:";
-
-    private final RedissonClient redissonClient;
+    private final DistributedLockExecutor distributedLockExecutor;
     private final AopForTransaction aopForTransaction;
 
     @Around("@annotation(com.prepaid.common.lock.DistributedLock)")
@@ -32,27 +28,12 @@ public class DistributedLockAop {
         Method method = signature.getMethod();
         DistributedLock distributedLock = method.getAnnotation(DistributedLock.class);
 
-        String key = REDISSON_LOCK_PREFIX
-                + getDynamicValue(signature.getParameterNames(), joinPoint.getArgs(), distributedLock.key());
-        RLock rLock = redissonClient.getLock(key);
-
-        try {
-            boolean available = rLock.tryLock(distributedLock.waitTime(), distributedLock.leaseTime(),
-                    distributedLock.timeUnit());
-            if (!available) {
-                return false;
-            }
+        String key = String.valueOf(
+                getDynamicValue(signature.getParameterNames(), joinPoint.getArgs(), distributedLock.key()));
 
-            return aopForTransaction.proceed(joinPoint);
-        } catch (InterruptedException e) {
-            throw new InterruptedException();
-        } finally {
-            try {
-                rLock.unlock();
-            } catch (IllegalMonitorStateException e) {
-                log.info("Redisson Lock 이미 해제됨 {} {}", method.getName(), key);
-            }
-        }
+        // 락 획득 실패 시 false를 반환하지 않고 LockAcquisitionFailedException 발생
+        return distributedLockExecutor.execute(key, distributedLock.waitTime(), distributedLock.leaseTime(),
+                distributedLock.timeUnit(), () -> aopForTransaction.proceed(joinPoint));
     }
 
     private Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
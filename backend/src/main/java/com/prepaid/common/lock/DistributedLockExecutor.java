@@ -0,0 +1,85 @@
+package com.prepaid.common.lock;
+
+import com.prepaid.common.exception.specific.LockAcquisitionFailedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redisson 분산 락 실행기
+ * - @DistributedLock AOP와 프로그래밍 방식 호출이 같은 락 규칙을 공유
+ * - 대기 시간 내 락을 얻지 못하면 LockAcquisitionFailedException
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DistributedLockExecutor {
+
+    private static final String REDISSON_LOCK_PREFIX = "LOCK:";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 락을 잡은 상태에서 실행할 작업
+     */
+    @FunctionalInterface
+    public interface LockedTask<T> {
+        T run() throws Throwable;
+    }
+
+    /**
+     * 분산 락 안에서 작업 실행
+     *
+     * @param key       락 이름 (prefix 제외)
+     * @param waitTime  락 획득 대기 시간
+     * @param leaseTime 락 임대 시간
+     * @param timeUnit  시간 단위
+     * @param task      실행할 작업
+     */
+    public <T> T execute(String key, long waitTime, long leaseTime, TimeUnit timeUnit, LockedTask<T> task)
+            throws Throwable {
+        String lockKey = REDISSON_LOCK_PREFIX + key;
+        RLock rLock = redissonClient.getLock(lockKey);
+
+        boolean available;
+        try {
+            available = rLock.tryLock(waitTime, leaseTime, timeUnit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockAcquisitionFailedException();
+        }
+
+        if (!available) {
+            log.warn("분산 락 획득 실패 (대기 시간 초과): key={}", lockKey);
+            throw new LockAcquisitionFailedException();
+        }
+
+        try {
+            return task.run();
+        } finally {
+            try {
+                rLock.unlock();
+            } catch (IllegalMonitorStateException e) {
+                log.info("Redisson Lock 이미 해제됨 {}", lockKey);
+            }
+        }
+    }
+
+    /**
+     * 기본 대기/임대 시간(@DistributedLock 기본값)으로 작업 실행
+     */
+    public <T> T execute(String key, Supplier<T> task) {
+        try {
+            return execute(key, 5L, 3L, TimeUnit.SECONDS, task::get);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
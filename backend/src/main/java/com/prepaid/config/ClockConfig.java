@@ -0,0 +1,19 @@
+package com.prepaid.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 시각 기준 설정
+ * - 한도 윈도우 등 현재 시각에 의존하는 컴포넌트가 주입받아 사용 (테스트에서 고정 시각으로 교체)
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -1,9 +1,13 @@
 package com.prepaid.config;
 
+import com.prepaid.audit.event.AuditEvent;
 import com.prepaid.event.domain.WalletEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,11 +19,14 @@ import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -35,17 +42,21 @@ public class KafkaConfig {
     private String bootstrapServers;
 
     /**
-     * Kafka 프로듀서 설정
-     * - JSON 직렬화
-     * - 멱등성 활성화
-     * - acks=all (모든 레플리카 확인)
+     * 아웃박스 릴레이용 프로듀서 설정
+     * - 이벤트는 아웃박스에 JSON으로 저장되어 있으므로 String 직렬화
+     * - 멱등성 활성화, acks=all (모든 레플리카 확인)
+     * - linger.ms + 압축으로 릴레이 배치를 큰 요청으로 묶어 전송
      */
     @Bean
-    public ProducerFactory<String, WalletEvent> producerFactory() {
+    public ProducerFactory<String, String> outboxProducerFactory(
+            @Value("${outbox.producer.linger-ms:20}") int lingerMs,
+            @Value("${outbox.producer.batch-size:65536}") int batchSize,
+            @Value("${outbox.producer.compression-type:lz4}") String compressionType,
+            @Value("${outbox.producer.max-block-ms:2000}") long maxBlockMs) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
 
         // 멱등성 보장
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
@@ -53,19 +64,27 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
 
+        // 배치 전송
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        // 브로커 장애 시 send()가 메타데이터/버퍼를 오래 기다리지 않도록 (릴레이는 행 잠금을 보유한 채 호출)
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, WalletEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, String> outboxKafkaTemplate(ProducerFactory<String, String> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
     }
 
     /**
      * AuditEvent용 프로듀서
      */
     @Bean
-    public ProducerFactory<String, com.prepaid.audit.event.AuditEvent> auditEventProducerFactory() {
+    public ProducerFactory<String, AuditEvent> auditEventProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -79,22 +98,26 @@ public class KafkaConfig {
     }
 
     @Bean
-    public KafkaTemplate<String, com.prepaid.audit.event.AuditEvent> auditEventKafkaTemplate() {
+    public KafkaTemplate<String, AuditEvent> auditEventKafkaTemplate() {
         return new KafkaTemplate<>(auditEventProducerFactory());
     }
 
     /**
      * DLQ용 프로듀서 팩토리
      * - Object 타입으로 다양한 메시지 타입 지원
+     * - 역직렬화 실패 레코드는 원본 바이트(byte[])를 그대로 전송
      */
     @Bean
     public ProducerFactory<String, Object> dlqProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, new JsonSerializer<>());
+
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                new DelegatingByTypeSerializer(valueSerializers, true));
     }
 
     @Bean
@@ -175,4 +198,52 @@ public class KafkaConfig {
 
         return factory;
     }
+
+    /**
+     * 감사 이벤트 컨슈머 설정
+     * - ErrorHandlingDeserializer로 역직렬화 실패 레코드가 배치 전체를 막지 않도록 처리
+     * - 자동 커밋 비활성화 (배치 저장 후 컨테이너가 커밋)
+     * - MicrometerConsumerListener로 records-lag 등 컨슈머 메트릭 노출
+     */
+    @Bean
+    public ConsumerFactory<String, AuditEvent> auditConsumerFactory(MeterRegistry meterRegistry,
+            @Value("${audit.consumer.max-poll-records:500}") int maxPollRecords) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "audit-service");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+
+        // JSON 역직렬화 설정
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.prepaid.audit.event");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AuditEvent.class);
+
+        // 컨슈머 오프셋 관리
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        DefaultKafkaConsumerFactory<String, AuditEvent> factory = new DefaultKafkaConsumerFactory<>(props);
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * 감사 이벤트 배치 리스너 컨테이너
+     * - poll 단위 배치 전달, 리스너 정상 종료 후 오프셋 커밋 (AckMode.BATCH)
+     * - 실패 시 배치 전체 재시도 후 레코드별 DLQ 전송
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, AuditEvent> auditBatchListenerContainerFactory(
+            ConsumerFactory<String, AuditEvent> auditConsumerFactory, CommonErrorHandler errorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, AuditEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(auditConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
 }
+
@@ -0,0 +1,31 @@
+package com.prepaid.config;
+
+import com.prepaid.notification.sse.SseClusterFanout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub 설정
+ * - 노드별 SSE 채널 구독 (다른 노드가 소비한 이벤트를 이 노드의 연결로 전달)
+ */
+@Configuration
+public class RedisPubSubConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       SseClusterFanout sseClusterFanout) {
+        // 메시지 처리(SSE 쓰기)는 가상 스레드에서 수행
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-fanout-");
+        executor.setVirtualThreads(true);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        container.addMessageListener(sseClusterFanout, new ChannelTopic(sseClusterFanout.localChannel()));
+        return container;
+    }
+}
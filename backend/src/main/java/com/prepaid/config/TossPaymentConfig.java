@@ -1,12 +1,15 @@
 package com.prepaid.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepaid.payment.gateway.PaymentGateway;
+import com.prepaid.payment.gateway.TossPaymentGateway;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.time.Duration;
 
 @Configuration
 public class TossPaymentConfig {
@@ -17,15 +20,40 @@ public class TossPaymentConfig {
     @Value("${toss.url}")
     private String baseUrl;
 
+    @Value("${toss.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${toss.client.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${toss.client.max-concurrent-calls:50}")
+    private int maxConcurrentCalls;
+
+    @Value("${toss.client.max-wait:100ms}")
+    private Duration maxWait;
+
+    @Value("${toss.client.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${toss.client.slow-call-threshold:5s}")
+    private Duration slowCallThreshold;
+
+    @Value("${toss.client.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${toss.client.wait-in-open-state:30s}")
+    private Duration waitInOpenState;
+
+    /**
+     * 실제 Toss 게이트웨이 (toss.stub.enabled=true면 StubPaymentGateway 사용)
+     */
     @Bean
-    public RestClient tossRestClient(RestClient.Builder builder) {
-        String encodedSecretKey = Base64.getEncoder()
-                .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
-
-        return builder
-                .baseUrl(baseUrl)
-                .defaultHeader("Authorization", "Basic " + encodedSecretKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
+    @ConditionalOnProperty(name = "toss.stub.enabled", havingValue = "false", matchIfMissing = true)
+    public PaymentGateway paymentGateway(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TossPaymentGateway(new TossPaymentGateway.Settings(
+                baseUrl, secretKey, connectTimeout, readTimeout,
+                maxConcurrentCalls, maxWait,
+                failureRateThreshold, slowCallThreshold, slidingWindowSize, waitInOpenState),
+                objectMapper, meterRegistry);
     }
 }
@@ -72,9 +72,9 @@ public class AuthController {
                     Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
             );
 
-            // 3. JWT 토큰 생성
-            String accessToken = jwtProvider.createAccessToken(auth);
-            String refreshToken = jwtProvider.createRefreshToken(auth);
+            // 3. JWT 토큰 생성 (uid 클레임 포함)
+            String accessToken = jwtProvider.createAccessToken(auth, user.getId());
+            String refreshToken = jwtProvider.createRefreshToken(auth, user.getId());
 
             // 4. Refresh Token Redis에 저장
             tokenService.saveRefreshToken(user.getUsername(), refreshToken, refreshTokenExpiration);
@@ -135,6 +135,7 @@ public class AuthController {
 
         // 5. Rotate in Redis
         tokenService.saveRefreshToken(username, newRefreshToken, refreshTokenExpiration);
+        jwtProvider.evict(refreshToken);
 
         // 6. Set Cookies
         CookieUtils.addCookie(response, "accessToken", newAccessToken, (int) (accessTokenExpiration / 1000));
@@ -158,6 +159,7 @@ public class AuthController {
             // We'll just set it to accessTokenExpiration default for now as a safe upper
             // bound.
             tokenService.addToBlacklist(token, accessTokenExpiration);
+            jwtProvider.evict(token);
         }
 
         // 2. Delete Refresh Token from Redis
@@ -165,6 +167,7 @@ public class AuthController {
         if (refreshCookie.isPresent() && jwtProvider.validateToken(refreshCookie.get().getValue())) {
             Authentication auth = jwtProvider.getAuthentication(refreshCookie.get().getValue());
             tokenService.deleteRefreshToken(auth.getName());
+            jwtProvider.evict(refreshCookie.get().getValue());
         }
 
         // 3. Clear Cookies
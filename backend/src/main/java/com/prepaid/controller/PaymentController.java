@@ -3,13 +3,14 @@ package com.prepaid.controller;
 import com.prepaid.audit.event.AuditEvent;
 import com.prepaid.audit.service.AuditEventPublisher;
 import com.prepaid.auth.jwt.JwtProvider;
+import com.prepaid.auth.service.UserIdentityService;
 import com.prepaid.common.dto.ErrorResponse;
-import com.prepaid.common.exception.specific.UserNotFoundException;
+import com.prepaid.common.idempotency.IdempotencyClaim;
 import com.prepaid.common.idempotency.IdempotencyService;
 import com.prepaid.domain.User;
 import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.dto.PaymentResultResponse;
 import com.prepaid.payment.service.PaymentService;
-import com.prepaid.repository.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,13 +18,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import com.prepaid.auth.util.CookieUtils;
 import com.prepaid.payment.dto.PaymentUseRequest;
 
 
@@ -35,7 +34,7 @@ public class PaymentController {
 
         private final PaymentService paymentService;
         private final com.prepaid.ledger.service.LedgerService ledgerService;
-        private final UserRepository userRepository;
+        private final UserIdentityService userIdentityService;
         private final JwtProvider jwtProvider;
         private final IdempotencyService idempotencyService;
         private final AuditEventPublisher auditEventPublisher;
@@ -45,58 +44,55 @@ public class PaymentController {
                 @ApiResponse(responseCode = "200", description = "충전 성공"),
                 @ApiResponse(responseCode = "400", description = "잘못된 요청 (금액 오류, 한도 초과 등)",
                         content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-                @ApiResponse(responseCode = "409", description = "중복 요청",
+                @ApiResponse(responseCode = "409", description = "중복 요청 (같은 키의 요청이 처리 중)",
+                        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "422", description = "같은 멱등성 키로 내용이 다른 요청",
                         content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
         })
         @PostMapping("/confirm")
-        public ResponseEntity<Void> confirmPayment(
+        public ResponseEntity<PaymentResultResponse> confirmPayment(
                         @Parameter(description = "멱등성 키 (UUID 권장)", required = true)
                         @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
                         @RequestBody PaymentConfirmRequest request,
                         HttpServletRequest httpRequest) {
-                
-                // 1. 멱등성 체크
-                idempotencyService.startProcessing(idempotencyKey);
-                
-                User targetUser = null;
+
+                // 1. 사용자 조회 (멱등성 키는 사용자 범위이므로 먼저 확인)
+                Authentication auth = jwtProvider.getAuthentication(httpRequest);
+                User targetUser = userIdentityService.getUser(auth);
                 String ipAddress = getClientIp(httpRequest);
                 String userAgent = httpRequest.getHeader("User-Agent");
-                
-                try {
-                        // 2. 사용자 조회
-                        String accessToken = CookieUtils.getCookie(httpRequest, "accessToken")
-                                        .map(Cookie::getValue)
-                                        .orElseThrow(() -> new RuntimeException("토큰이 없습니다."));
 
-                        Authentication auth = jwtProvider.getAuthentication(accessToken);
-                        targetUser = userRepository.findByEmail(auth.getName())
-                                        .orElseThrow(() -> new UserNotFoundException());
+                // 2. 멱등성 체크 (같은 요청이 이미 완료되었으면 저장된 응답 재전송)
+                IdempotencyClaim claim = idempotencyService.tryClaim("payment-confirm", targetUser.getId(), idempotencyKey, request);
+                if (claim.isReplay()) {
+                        return ResponseEntity.ok(idempotencyService.readResponse(claim, PaymentResultResponse.class));
+                }
 
+                try {
                         // 3. 결제 확인 처리
                         paymentService.confirmPayment(targetUser, request);
-                        
-                        // 4. 성공 처리
-                        idempotencyService.markCompleted(idempotencyKey, "SUCCESS");
-                        
+
+                        // 4. 성공 처리 (응답 본문을 저장하여 중복 요청에 그대로 재전송)
+                        PaymentResultResponse response = new PaymentResultResponse(request.getOrderId(), request.getAmount(), "SUCCESS");
+                        idempotencyService.markCompleted(claim, response);
+
                         // 5. 감사 로그 발행
                         auditEventPublisher.publish(AuditEvent.success(
                                 targetUser.getId(), "CHARGE", request.getAmount(),
                                 request.getOrderId(), ipAddress, userAgent
                         ));
-                        
-                        return ResponseEntity.ok().build();
+
+                        return ResponseEntity.ok(response);
                 } catch (Exception e) {
                         // 6. 실패 처리
-                        idempotencyService.markFailed(idempotencyKey, e.getMessage());
-                        
+                        idempotencyService.markFailed(claim, e.getMessage());
+
                         // 7. 감사 로그 발행 (실패)
-                        if (targetUser != null) {
-                                auditEventPublisher.publish(AuditEvent.failed(
-                                        targetUser.getId(), "CHARGE", request.getAmount(),
-                                        e.getMessage(), ipAddress, userAgent
-                                ));
-                        }
-                        
+                        auditEventPublisher.publish(AuditEvent.failed(
+                                targetUser.getId(), "CHARGE", request.getAmount(),
+                                e.getMessage(), ipAddress, userAgent
+                        ));
+
                         throw e;
                 }
         }
@@ -106,58 +102,55 @@ public class PaymentController {
                 @ApiResponse(responseCode = "200", description = "사용 성공"),
                 @ApiResponse(responseCode = "400", description = "잘못된 요청 (금액 오류, 잔액 부족 등)",
                         content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-                @ApiResponse(responseCode = "409", description = "중복 요청",
+                @ApiResponse(responseCode = "409", description = "중복 요청 (같은 키의 요청이 처리 중)",
+                        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "422", description = "같은 멱등성 키로 내용이 다른 요청",
                         content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
         })
         @PostMapping("/use")
-        public ResponseEntity<Void> useBalance(
+        public ResponseEntity<PaymentResultResponse> useBalance(
                         @Parameter(description = "멱등성 키 (UUID 권장)", required = true)
                         @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
                         @RequestBody PaymentUseRequest request,
                         HttpServletRequest httpRequest) {
-                
-                // 1. 멱등성 체크
-                idempotencyService.startProcessing(idempotencyKey);
-                
-                User targetUser = null;
+
+                // 1. 사용자 조회 (멱등성 키는 사용자 범위이므로 먼저 확인)
+                Authentication auth = jwtProvider.getAuthentication(httpRequest);
+                User targetUser = userIdentityService.getUser(auth);
                 String ipAddress = getClientIp(httpRequest);
                 String userAgent = httpRequest.getHeader("User-Agent");
-                
-                try {
-                        // 2. 사용자 조회
-                        String accessToken = CookieUtils.getCookie(httpRequest, "accessToken")
-                                        .map(Cookie::getValue)
-                                        .orElseThrow(() -> new RuntimeException("토큰이 없습니다."));
 
-                        Authentication auth = jwtProvider.getAuthentication(accessToken);
-                        targetUser = userRepository.findByEmail(auth.getName())
-                                        .orElseThrow(() -> new UserNotFoundException());
+                // 2. 멱등성 체크 (같은 요청이 이미 완료되었으면 저장된 응답 재전송)
+                IdempotencyClaim claim = idempotencyService.tryClaim("payment-use", targetUser.getId(), idempotencyKey, request);
+                if (claim.isReplay()) {
+                        return ResponseEntity.ok(idempotencyService.readResponse(claim, PaymentResultResponse.class));
+                }
 
+                try {
                         // 3. 잔액 사용 처리
                         ledgerService.useBalance(targetUser, request.getAmount(), request.getMerchantUid());
-                        
-                        // 4. 성공 처리
-                        idempotencyService.markCompleted(idempotencyKey, "SUCCESS");
-                        
+
+                        // 4. 성공 처리 (응답 본문을 저장하여 중복 요청에 그대로 재전송)
+                        PaymentResultResponse response = new PaymentResultResponse(request.getMerchantUid(), request.getAmount(), "SUCCESS");
+                        idempotencyService.markCompleted(claim, response);
+
                         // 5. 감사 로그 발행
                         auditEventPublisher.publish(AuditEvent.success(
                                 targetUser.getId(), "USE", request.getAmount(),
                                 request.getMerchantUid(), ipAddress, userAgent
                         ));
-                        
-                        return ResponseEntity.ok().build();
+
+                        return ResponseEntity.ok(response);
                 } catch (Exception e) {
                         // 6. 실패 처리
-                        idempotencyService.markFailed(idempotencyKey, e.getMessage());
-                        
+                        idempotencyService.markFailed(claim, e.getMessage());
+
                         // 7. 감사 로그 발행 (실패)
-                        if (targetUser != null) {
-                                auditEventPublisher.publish(AuditEvent.failed(
-                                        targetUser.getId(), "USE", request.getAmount(),
-                                        e.getMessage(), ipAddress, userAgent
-                                ));
-                        }
-                        
+                        auditEventPublisher.publish(AuditEvent.failed(
+                                targetUser.getId(), "USE", request.getAmount(),
+                                e.getMessage(), ipAddress, userAgent
+                        ));
+
                         throw e;
                 }
         }
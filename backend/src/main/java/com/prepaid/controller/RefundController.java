@@ -3,13 +3,14 @@ package com.prepaid.controller;
 import com.prepaid.audit.event.AuditEvent;
 import com.prepaid.audit.service.AuditEventPublisher;
 import com.prepaid.auth.jwt.JwtProvider;
+import com.prepaid.auth.service.UserIdentityService;
 import com.prepaid.common.dto.ErrorResponse;
-import com.prepaid.common.exception.specific.UserNotFoundException;
+import com.prepaid.common.idempotency.IdempotencyClaim;
 import com.prepaid.common.idempotency.IdempotencyService;
 import com.prepaid.domain.User;
+import com.prepaid.payment.dto.PaymentResultResponse;
 import com.prepaid.payment.dto.RefundRequest;
 import com.prepaid.payment.service.RefundService;
-import com.prepaid.repository.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,13 +18,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import com.prepaid.auth.util.CookieUtils;
 
 /**
  * 환불 컨트롤러
@@ -35,7 +34,7 @@ import com.prepaid.auth.util.CookieUtils;
 public class RefundController {
 
     private final RefundService refundService;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final JwtProvider jwtProvider;
     private final IdempotencyService idempotencyService;
     private final AuditEventPublisher auditEventPublisher;
@@ -45,38 +44,37 @@ public class RefundController {
             @ApiResponse(responseCode = "200", description = "환불 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "409", description = "중복 요청",
+            @ApiResponse(responseCode = "409", description = "중복 요청 (같은 키의 요청이 처리 중)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "같은 멱등성 키로 내용이 다른 요청",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
-    public ResponseEntity<Void> refund(
+    public ResponseEntity<PaymentResultResponse> refund(
             @Parameter(description = "멱등성 키", required = true)
             @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
             @RequestBody RefundRequest request,
             HttpServletRequest httpRequest) {
 
-        // 1. 멱등성 체크
-        idempotencyService.startProcessing(idempotencyKey);
-
-        User targetUser = null;
+        // 1. 사용자 조회 (멱등성 키는 사용자 범위이므로 먼저 확인)
+        Authentication auth = jwtProvider.getAuthentication(httpRequest);
+        User targetUser = userIdentityService.getUser(auth);
         String ipAddress = getClientIp(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
-        try {
-            // 2. 사용자 조회
-            String accessToken = CookieUtils.getCookie(httpRequest, "accessToken")
-                    .map(Cookie::getValue)
-                    .orElseThrow(() -> new RuntimeException("토큰이 없습니다."));
-
-            Authentication auth = jwtProvider.getAuthentication(accessToken);
-            targetUser = userRepository.findByEmail(auth.getName())
-                    .orElseThrow(() -> new UserNotFoundException());
+        // 2. 멱등성 체크 (같은 요청이 이미 완료되었으면 저장된 응답 재전송)
+        IdempotencyClaim claim = idempotencyService.tryClaim("refund", targetUser.getId(), idempotencyKey, request);
+        if (claim.isReplay()) {
+            return ResponseEntity.ok(idempotencyService.readResponse(claim, PaymentResultResponse.class));
+        }
 
+        try {
             // 3. 환불 처리
             refundService.processRefund(targetUser, request);
 
-            // 4. 성공 처리
-            idempotencyService.markCompleted(idempotencyKey, "SUCCESS");
+            // 4. 성공 처리 (응답 본문을 저장하여 중복 요청에 그대로 재전송)
+            PaymentResultResponse response = new PaymentResultResponse(request.orderId(), request.amount(), "SUCCESS");
+            idempotencyService.markCompleted(claim, response);
 
             // 5. 감사 로그 발행
             auditEventPublisher.publish(AuditEvent.success(
@@ -84,18 +82,16 @@ public class RefundController {
                     request.orderId(), ipAddress, userAgent
             ));
 
-            return ResponseEntity.ok().build();
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             // 6. 실패 처리
-            idempotencyService.markFailed(idempotencyKey, e.getMessage());
+            idempotencyService.markFailed(claim, e.getMessage());
 
             // 7. 감사 로그 발행 (실패)
-            if (targetUser != null) {
-                auditEventPublisher.publish(AuditEvent.failed(
-                        targetUser.getId(), "REFUND", request.amount(),
-                        e.getMessage(), ipAddress, userAgent
-                ));
-            }
+            auditEventPublisher.publish(AuditEvent.failed(
+                    targetUser.getId(), "REFUND", request.amount(),
+                    e.getMessage(), ipAddress, userAgent
+            ));
 
             throw e;
         }
@@ -5,7 +5,7 @@ import com.prepaid.event.domain.ReversalCompletedEvent;
 import com.prepaid.event.domain.SpendCompletedEvent;
 import com.prepaid.event.domain.WalletEvent;
 import com.prepaid.notification.dto.NotificationDto;
-import com.prepaid.notification.service.SseConnectionManager;
+import com.prepaid.notification.service.SseNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -22,13 +22,14 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class WalletEventConsumer {
 
-    private final SseConnectionManager sseConnectionManager;
+    private final SseNotificationService sseNotificationService;
 
     /**
      * wallet-events 토픽에서 이벤트 소비
      * - ErrorHandler가 재시도 및 DLQ 전송을 자동 처리
      * - 예외 발생 시 재시도 (1초 간격 3회)
      * - 재시도 실패 시 DLQ (wallet-events.DLT)로 전송
+     * - 공유 컨슈머 그룹이라 이벤트는 한 노드에서만 소비, 사용자가 다른 노드에 연결되어 있으면 SseClusterFanout이 전달
      * 
      * @param event 지갑 이벤트
      */
@@ -41,7 +42,7 @@ public class WalletEventConsumer {
         NotificationDto notification = convertToNotification(event);
 
         // SSE를 통해 사용자에게 전송
-        sseConnectionManager.sendToUser(event.getUserId(), notification);
+        sseNotificationService.sendNotification(event.getUserId(), notification);
 
         log.info("이벤트 처리 완료: eventId={}, type={}", event.getEventId(), event.getEventType());
     }
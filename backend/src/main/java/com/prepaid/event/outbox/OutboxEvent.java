@@ -0,0 +1,51 @@
+package com.prepaid.event.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 이벤트 (Kafka 전송 대기)
+ * - 원장 트랜잭션과 함께 커밋되고, 릴레이가 전송 후 삭제
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outboxEventIdGenerator")
+    @SequenceGenerator(name = "outboxEventIdGenerator", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String topic;
+
+    /**
+     * Kafka 메시지 키 (userId - 사용자별 순서 보장)
+     */
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    /**
+     * 이벤트 클래스 이름 (__TypeId__ 헤더로 전송)
+     */
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    /**
+     * JSON 직렬화된 이벤트
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,22 @@
+package com.prepaid.event.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 전송 대기 이벤트를 오래된 순으로 잠금 조회
+     * - SKIP LOCKED: 다른 노드의 릴레이가 잡은 행은 건너뛰어 여러 노드가 병렬로 릴레이
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
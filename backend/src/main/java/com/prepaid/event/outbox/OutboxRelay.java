@@ -0,0 +1,154 @@
+package com.prepaid.event.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 아웃박스 릴레이
+ * - outbox_events를 FOR UPDATE SKIP LOCKED로 배치 조회해 Kafka로 전송 (노드 간 병렬 처리)
+ * - 배치 전체를 비동기 전송 후 기한 하나로 대기 (linger.ms/압축/max.block.ms는 outbox 프로듀서 설정)
+ * - 전송 확인된 행만 삭제 (실패 행은 다음 주기에 재전송 - at-least-once, 키별 순서 유지)
+ * - 배치에 실패가 있으면 이번 주기를 끝냄 (브로커 장애 중 같은 행을 max-batches-per-run번 잠그고 재전송하지 않도록)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                BatchResult result = transactionTemplate.execute(status -> relayBatch());
+                // 배치가 가득 차지 않았으면 남은 이벤트가 없고, 실패가 있으면 재전송은 다음 주기로 미룸
+                if (result == null || result.failed() || result.fetched() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("아웃박스 릴레이 실패", e);
+        }
+    }
+
+    /**
+     * 한 배치 전송 (행 잠금은 전송 완료/삭제까지 유지)
+     * - 배치 전체에 send-timeout-ms 기한 하나만 적용 (건별 대기 시 브로커 장애면 잠금이 batchSize x timeout 동안 유지됨)
+     * - 메시지 키(userId)별로 첫 실패 이후 이벤트는 보내지 않거나, 이미 보냈어도 삭제하지 않음
+     *   (다음 주기에 실패한 이벤트부터 순서대로 재전송 - 같은 키의 이벤트가 앞선 이벤트를 앞지르지 않도록)
+     *
+     * @return 조회한 이벤트 수와 실패 여부
+     */
+    BatchResult relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return new BatchResult(0, false);
+        }
+
+        Set<String> failedKeys = new HashSet<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (failedKeys.contains(event.getMessageKey())) {
+                futures.add(null);
+                continue;
+            }
+            try {
+                futures.add(outboxKafkaTemplate.send(toRecord(event)));
+            } catch (RuntimeException e) {
+                // 메타데이터/버퍼 대기 초과(max.block.ms) 등 즉시 실패
+                log.warn("아웃박스 이벤트 전송 실패 (다음 주기 재전송): eventId={}", event.getEventId(), e);
+                failedKeys.add(event.getMessageKey());
+                futures.add(null);
+            }
+        }
+
+        awaitAll(futures);
+
+        List<Long> sentIds = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            CompletableFuture<?> future = futures.get(i);
+            if (failedKeys.contains(event.getMessageKey())) {
+                continue;
+            }
+            if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+                sentIds.add(event.getId());
+            } else {
+                log.warn("아웃박스 이벤트 전송 실패/시간 초과 (다음 주기 재전송): eventId={}", event.getEventId());
+                failedKeys.add(event.getMessageKey());
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(sentIds);
+        }
+
+        log.debug("아웃박스 릴레이: fetched={}, sent={}, failedKeys={}", events.size(), sentIds.size(), failedKeys.size());
+        return new BatchResult(events.size(), !failedKeys.isEmpty());
+    }
+
+    /**
+     * 배치 전체 전송 결과를 기한 하나로 대기 (개별 성공 여부는 호출자가 future 상태로 확인)
+     */
+    private void awaitAll(List<CompletableFuture<?>> futures) {
+        CompletableFuture<?>[] pending = futures.stream()
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(pending).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("아웃박스 배치 중 일부 전송 실패/시간 초과: {}", e.toString());
+        }
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        ProducerRecord<String, String> record =
+                new ProducerRecord<>(event.getTopic(), event.getMessageKey(), event.getPayload());
+        // JsonSerializer와 동일한 타입 헤더 (컨슈머 호환)
+        record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                event.getPayloadType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    record BatchResult(int fetched, boolean failed) {
+    }
+}
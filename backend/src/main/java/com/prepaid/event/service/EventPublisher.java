@@ -1,20 +1,30 @@
 package com.prepaid.event.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prepaid.event.domain.WalletEvent;
+import com.prepaid.event.outbox.OutboxEvent;
+import com.prepaid.event.outbox.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
- * Kafka로 이벤트를 발행하는 서비스
+ * 지갑 이벤트 발행 서비스
+ * - Kafka 전송용 이벤트는 아웃박스 테이블에 기록 (원장과 같은 트랜잭션, OutboxRelay가 전송)
+ * - 내부 리스너(SSE 등)용 Spring Application Event도 함께 발행
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventPublisher {
 
+    public static final String WALLET_EVENTS_TOPIC = "wallet-events";
+
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     /**
      * 지갑 이벤트 발행
@@ -23,10 +33,27 @@ public class EventPublisher {
      * @param event 발행할 이벤트
      */
     public void publish(WalletEvent event) {
-        log.info("이벤트 발행 (Internal): eventId={}, type={}, userId={}", 
+        log.info("이벤트 발행 (Outbox): eventId={}, type={}, userId={}", 
                 event.getEventId(), event.getEventType(), event.getUserId());
+
+        // 아웃박스 기록 (트랜잭션 롤백 시 함께 취소됨)
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .topic(WALLET_EVENTS_TOPIC)
+                .messageKey(event.getUserId().toString())
+                .payloadType(event.getClass().getName())
+                .payload(serialize(event))
+                .build());
         
         // Spring Application Event 발행 (트랜잭션 내부)
         applicationEventPublisher.publishEvent(event);
     }
+
+    private String serialize(WalletEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("이벤트 직렬화 실패: eventId=" + event.getEventId(), e);
+        }
+    }
 }
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class ChargeLot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chargeLotIdGenerator")
+    @SequenceGenerator(name = "chargeLotIdGenerator", sequenceName = "charge_lots_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class LedgerEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledgerEntryIdGenerator")
+    @SequenceGenerator(name = "ledgerEntryIdGenerator", sequenceName = "ledger_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,7 +35,8 @@ public class LedgerEntry {
     @Column(name = "reference_id")
     private String referenceId; // orderId
 
-    @Column(name = "idempotency_key", unique = true, nullable = false)
+    // 유일성은 ledger_idempotency_keys + 트리거로 보장 (파티션 테이블은 파티션 키 없는 UNIQUE 불가)
+    @Column(name = "idempotency_key", nullable = false)
     private String idempotencyKey; // paymentKey
 
     @Enumerated(EnumType.STRING)
@@ -14,11 +14,13 @@ import java.time.LocalDateTime;
 public class LedgerLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledgerLineIdGenerator")
+    @SequenceGenerator(name = "ledgerLineIdGenerator", sequenceName = "ledger_lines_seq", allocationSize = 50)
     private Long id;
 
+    // ledger_entries는 월 파티션 테이블(PK: id, created_at)이라 FK를 만들지 않음
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "entry_id", nullable = false)
+    @JoinColumn(name = "entry_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private LedgerEntry entry;
 
     @Enumerated(EnumType.STRING)
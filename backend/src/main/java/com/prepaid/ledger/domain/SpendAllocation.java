@@ -14,11 +14,13 @@ import java.time.LocalDateTime;
 public class SpendAllocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "spendAllocationIdGenerator")
+    @SequenceGenerator(name = "spendAllocationIdGenerator", sequenceName = "spend_allocations_seq", allocationSize = 50)
     private Long id;
 
+    // ledger_entries는 월 파티션 테이블(PK: id, created_at)이라 FK를 만들지 않음
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "spend_entry_id", nullable = false)
+    @JoinColumn(name = "spend_entry_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private LedgerEntry spendEntry;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -6,5 +6,6 @@ public enum TxType {
     USE,            // 사용 (가맹점 결제)
     REVERSAL,       // 사용 취소 (가맹점 환불, ChargeLot 원복)
     REFUND,         // 환불/인출 (은행 계좌로 출금)
-    REWARD          // 보상/적립 (프로모션 등)
+    REWARD,         // 보상/적립 (프로모션 등)
+    EXPIRE          // 만료 (유효기간이 지난 Lot 잔액 소멸)
 }
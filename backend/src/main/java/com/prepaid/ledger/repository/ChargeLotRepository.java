@@ -2,14 +2,51 @@ package com.prepaid.ledger.repository;
 
 import com.prepaid.ledger.domain.ChargeLot;
 import com.prepaid.ledger.domain.BucketType;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ChargeLotRepository extends JpaRepository<ChargeLot, Long> {
-    List<ChargeLot> findAllByWalletIdAndBucketTypeAndAmountRemainingGreaterThanOrderByCreatedAtAsc(Long walletId,
-            BucketType bucketType, Long amountRemaining);
+    /**
+     * 잔여 Lot FIFO 첫 페이지 조회 (idx_lots_fifo_open 부분 인덱스 사용)
+     */
+    @Query("SELECT l FROM ChargeLot l WHERE l.wallet.id = :walletId AND l.bucketType = :bucketType " +
+            "AND l.amountRemaining > 0 ORDER BY l.createdAt ASC, l.id ASC")
+    List<ChargeLot> findOpenLots(@Param("walletId") Long walletId,
+            @Param("bucketType") BucketType bucketType, Pageable pageable);
+
+    /**
+     * 커서 위치(createdAt, id) 이후의 잔여 Lot FIFO 페이지 조회 (커서 포함)
+     */
+    @Query("SELECT l FROM ChargeLot l WHERE l.wallet.id = :walletId AND l.bucketType = :bucketType " +
+            "AND l.amountRemaining > 0 " +
+            "AND (l.createdAt > :createdAt OR (l.createdAt = :createdAt AND l.id >= :lotId)) " +
+            "ORDER BY l.createdAt ASC, l.id ASC")
+    List<ChargeLot> findOpenLotsFrom(@Param("walletId") Long walletId,
+            @Param("bucketType") BucketType bucketType,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("lotId") Long lotId,
+            Pageable pageable);
+
+    /**
+     * 커서 위치(createdAt, id) 이전에 잔여 Lot이 있는지 확인용 (있으면 id 하나만 반환)
+     * - 다른 노드의 사용 취소/환불로 과거 Lot이 다시 열린 경우 감지 (idx_lots_fifo_open 부분 인덱스 사용)
+     */
+    @Query("SELECT l.id FROM ChargeLot l WHERE l.wallet.id = :walletId AND l.bucketType = :bucketType " +
+            "AND l.amountRemaining > 0 " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :lotId))")
+    List<Long> findOpenLotIdsBefore(@Param("walletId") Long walletId,
+            @Param("bucketType") BucketType bucketType,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("lotId") Long lotId,
+            Pageable pageable);
 
     /**
      * 특정 충전 거래에 해당하는 ChargeLot 조회
@@ -17,8 +54,29 @@ public interface ChargeLotRepository extends JpaRepository<ChargeLot, Long> {
     java.util.Optional<ChargeLot> findByOriginalEntryId(Long originalEntryId);
 
     /**
-     * 만료 대상 조회 (생성일 기준)
+     * 만료 대상 Lot 참조 keyset 조회 (id 순, wallet_id 파티션 단위)
+     * - idx_lots_expiry_open 부분 인덱스 사용
+     */
+    @Query(value = """
+            SELECT id AS "id", wallet_id AS "walletId"
+              FROM charge_lots
+             WHERE id > :afterId
+               AND amount_remaining > 0
+               AND created_at < :expiryDate
+               AND mod(wallet_id, :partitionCount) = :partitionNo
+             ORDER BY id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<ExpirableLot> findExpirableLots(@Param("afterId") Long afterId,
+            @Param("expiryDate") LocalDateTime expiryDate,
+            @Param("partitionCount") int partitionCount,
+            @Param("partitionNo") int partitionNo,
+            @Param("limit") int limit);
+
+    /**
+     * Lot 잠금 조회 (id 순으로 잠가 교착 방지, 잠금 후 잔여 금액 재확인)
      */
-    List<ChargeLot> findAllByCreatedAtBeforeAndAmountRemainingGreaterThan(
-            LocalDateTime expiryDate, Long amountRemaining);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ChargeLot l WHERE l.id IN :ids AND l.amountRemaining > 0 ORDER BY l.id")
+    List<ChargeLot> findOpenLotsForUpdate(@Param("ids") Collection<Long> ids);
 }
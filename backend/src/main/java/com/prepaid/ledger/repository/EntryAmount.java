@@ -0,0 +1,10 @@
+package com.prepaid.ledger.repository;
+
+/**
+ * 원장 엔트리별 지갑 현금 금액 (페이지 단위 일괄 조회 프로젝션)
+ */
+public interface EntryAmount {
+    Long getEntryId();
+
+    Long getAmount();
+}
@@ -0,0 +1,10 @@
+package com.prepaid.ledger.repository;
+
+/**
+ * 만료 대상 Lot 참조 (keyset 스캔 프로젝션)
+ */
+public interface ExpirableLot {
+    Long getId();
+
+    Long getWalletId();
+}
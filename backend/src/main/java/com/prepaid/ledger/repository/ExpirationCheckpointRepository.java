@@ -0,0 +1,50 @@
+package com.prepaid.ledger.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 포인트 만료 체크포인트 Repository
+ * - (실행일, 파티션)별 마지막 처리 Lot ID를 청크 트랜잭션과 함께 기록하여 재시작 시 이어서 처리
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExpirationCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 체크포인트 조회 (없거나 파티션 수가 바뀌었으면 처음부터)
+     *
+     * @return 마지막 처리 Lot ID, 이미 완료된 파티션이면 null
+     */
+    public Long findResumePoint(LocalDate runDate, int partitionNo, int partitionCount) {
+        List<Long> rows = jdbcTemplate.query("""
+                        SELECT CASE WHEN completed THEN NULL ELSE last_lot_id END
+                          FROM expiration_checkpoints
+                         WHERE run_date = ? AND partition_no = ? AND partition_count = ?
+                        """,
+                (rs, rowNum) -> rs.getObject(1, Long.class), runDate, partitionNo, partitionCount);
+        return rows.isEmpty() ? 0L : rows.get(0);
+    }
+
+    /**
+     * 체크포인트 저장
+     */
+    public void save(LocalDate runDate, int partitionNo, int partitionCount, long lastLotId, boolean completed) {
+        jdbcTemplate.update("""
+                        INSERT INTO expiration_checkpoints
+                            (run_date, partition_no, partition_count, last_lot_id, completed, updated_at)
+                        VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+                        ON CONFLICT (run_date, partition_no) DO UPDATE
+                           SET partition_count = EXCLUDED.partition_count,
+                               last_lot_id = EXCLUDED.last_lot_id,
+                               completed = EXCLUDED.completed,
+                               updated_at = EXCLUDED.updated_at
+                        """, runDate, partitionNo, partitionCount, lastLotId, completed);
+    }
+}
@@ -5,8 +5,12 @@ import com.prepaid.ledger.domain.TxType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
     
@@ -57,4 +61,65 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>
         Long walletId, TxType txType, LocalDateTime start, LocalDateTime end, Pageable pageable) {
         return findByWalletIdAndTxTypeAndCreatedAtBetweenOrderByCreatedAtDesc(walletId, txType, start, end, pageable);
     }
+
+    /**
+     * 커서 기반 거래 내역 조회 (keyset, COUNT 없음)
+     * - (createdAt, id) 행 값 비교로 커서 다음 행부터 읽으므로 깊은 페이지도 첫 페이지와 같은 비용
+     * - idx_ledger_wallet_created_id (wallet_id, created_at DESC, id DESC) 사용
+     * - 금액은 WALLET_CASH 라인을 같은 쿼리에서 조인 (엔트리당 한 줄)
+     */
+    @Query("""
+            SELECT e.id AS id, e.txType AS txType, l.amountSigned AS amount,
+                   e.referenceId AS referenceId, e.memo AS memo, e.status AS status, e.createdAt AS createdAt
+            FROM LedgerEntry e
+            LEFT JOIN LedgerLine l
+                   ON l.entry = e AND l.accountCode = com.prepaid.ledger.domain.AccountCode.WALLET_CASH
+            WHERE e.wallet.id = :walletId
+              AND e.createdAt >= :from
+              AND (e.createdAt, e.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY e.createdAt DESC, e.id DESC
+            """)
+    List<TransactionRow> findPageByCursor(@Param("walletId") Long walletId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    /**
+     * 커서 기반 거래 내역 조회 + 거래 유형 필터
+     * - idx_ledger_wallet_type_created_id (wallet_id, tx_type_code, created_at DESC, id DESC) 사용
+     */
+    @Query("""
+            SELECT e.id AS id, e.txType AS txType, l.amountSigned AS amount,
+                   e.referenceId AS referenceId, e.memo AS memo, e.status AS status, e.createdAt AS createdAt
+            FROM LedgerEntry e
+            LEFT JOIN LedgerLine l
+                   ON l.entry = e AND l.accountCode = com.prepaid.ledger.domain.AccountCode.WALLET_CASH
+            WHERE e.wallet.id = :walletId
+              AND e.txType = :txType
+              AND e.createdAt >= :from
+              AND (e.createdAt, e.id) < (:cursorCreatedAt, :cursorId)
+            ORDER BY e.createdAt DESC, e.id DESC
+            """)
+    List<TransactionRow> findPageByTxTypeAndCursor(@Param("walletId") Long walletId,
+                                                   @Param("txType") TxType txType,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    /**
+     * 거래 상세 조회 (소유자 확인 포함, 지갑/사용자 엔티티 로딩 없음)
+     */
+    @Query("""
+            SELECT e.id AS id, e.txType AS txType, l.amountSigned AS amount,
+                   e.referenceId AS referenceId, e.memo AS memo, e.status AS status, e.createdAt AS createdAt
+            FROM LedgerEntry e
+            JOIN e.wallet w
+            LEFT JOIN LedgerLine l
+                   ON l.entry = e AND l.accountCode = com.prepaid.ledger.domain.AccountCode.WALLET_CASH
+            WHERE e.id = :entryId
+              AND w.user.id = :userId
+            """)
+    Optional<TransactionRow> findTransactionRow(@Param("entryId") Long entryId, @Param("userId") Long userId);
 }
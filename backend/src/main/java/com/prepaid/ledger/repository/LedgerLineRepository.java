@@ -2,6 +2,22 @@ package com.prepaid.ledger.repository;
 
 import com.prepaid.ledger.domain.LedgerLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface LedgerLineRepository extends JpaRepository<LedgerLine, Long> {
+
+    /**
+     * 엔트리별 지갑 현금(WALLET_CASH) 라인 금액 일괄 조회 (페이지당 한 번, idx_lines_entry 사용)
+     */
+    @Query("""
+            SELECT l.entry.id AS entryId, l.amountSigned AS amount
+            FROM LedgerLine l
+            WHERE l.entry.id IN :entryIds
+              AND l.accountCode = com.prepaid.ledger.domain.AccountCode.WALLET_CASH
+            """)
+    List<EntryAmount> findWalletCashAmounts(@Param("entryIds") Collection<Long> entryIds);
 }
@@ -0,0 +1,26 @@
+package com.prepaid.ledger.repository;
+
+import com.prepaid.ledger.domain.LedgerStatus;
+import com.prepaid.ledger.domain.TxType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 행 프로젝션 (원장 엔트리 + 지갑 현금 라인 금액)
+ * - amount: WALLET_CASH 라인의 부호 있는 금액 (충전 +, 사용/만료/인출 -)
+ */
+public interface TransactionRow {
+    Long getId();
+
+    TxType getTxType();
+
+    Long getAmount();
+
+    String getReferenceId();
+
+    String getMemo();
+
+    LedgerStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+}
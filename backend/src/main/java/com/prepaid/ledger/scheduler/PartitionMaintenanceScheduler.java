@@ -0,0 +1,49 @@
+package com.prepaid.ledger.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 월 파티션 생성 스케줄러
+ * - 원장/감사 로그 파티션 테이블에 다가올 월 파티션을 미리 생성 (기본 파티션으로 데이터가 쌓이지 않도록)
+ * - 애플리케이션 시작 시 한 번, 이후 매일 실행 (이미 있으면 무시)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceScheduler {
+
+    private static final List<String> PARTITIONED_TABLES =
+            List.of("ledger_entries", "ledger_lines", "spend_allocations", "audit_logs");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "0 30 0 * * *")
+    public void createUpcomingPartitions() {
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                jdbcTemplate.queryForList("SELECT ensure_monthly_partitions(?, CURRENT_DATE, ?)",
+                        table, monthsAhead);
+            } catch (Exception e) {
+                log.error("월 파티션 생성 실패: table={}", table, e);
+            }
+        }
+        log.info("월 파티션 확인 완료: tables={}, monthsAhead={}", PARTITIONED_TABLES, monthsAhead);
+    }
+}
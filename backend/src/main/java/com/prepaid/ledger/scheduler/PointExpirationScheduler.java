@@ -1,72 +1,92 @@
 package com.prepaid.ledger.scheduler;
 
-import com.prepaid.ledger.domain.BucketType;
-import com.prepaid.ledger.domain.ChargeLot;
-import com.prepaid.ledger.repository.ChargeLotRepository;
-import com.prepaid.repository.WalletRepository;
-import lombok.RequiredArgsConstructor;
+import com.prepaid.ledger.service.PointExpirationService;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 포인트 만료 스케줄러
  * 매일 자정에 만료된 포인트 처리
+ * - wallet_id 파티션별로 분산 락을 잡은 노드만 해당 파티션을 처리 (노드 간 병렬)
+ * - 파티션 안에서는 PointExpirationService가 청크 단위로 처리
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PointExpirationScheduler {
 
-    private final ChargeLotRepository chargeLotRepository;
-    private final WalletRepository walletRepository;
+    private static final String LOCK_PREFIX = "LOCK:expiration:";
+
+    private final PointExpirationService pointExpirationService;
+    private final RedissonClient redissonClient;
+    private final int partitionCount;
+
+    public PointExpirationScheduler(PointExpirationService pointExpirationService,
+                                    RedissonClient redissonClient,
+                                    @Value("${ledger.expiration.partitions:4}") int partitionCount) {
+        this.pointExpirationService = pointExpirationService;
+        this.redissonClient = redissonClient;
+        this.partitionCount = partitionCount;
+    }
 
     /**
      * 매일 자정 실행
      * 만료된 ChargeLot 처리
      */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void expirePoints() {
+        LocalDate runDate = LocalDate.now();
         // 1년 이상 된 충전 포인트 만료
-        LocalDateTime expiryDate = LocalDateTime.now().minusYears(1);
-        
-        log.info("포인트 만료 처리 시작: expiryDate={}", expiryDate);
-        
-        try {
-            // 만료 대상 조회
-            List<ChargeLot> expiredLots = chargeLotRepository
-                    .findAllByCreatedAtBeforeAndAmountRemainingGreaterThan(expiryDate, 0L);
-            
-            int expiredCount = 0;
-            Long totalExpiredAmount = 0L;
-            
-            for (ChargeLot lot : expiredLots) {
-                Long amountToExpire = lot.getAmountRemaining();
-                
-                // 포인트 만료 처리
-                lot.expire();
-                
-                // 지갑 잔액 차감
-                walletRepository.findById(lot.getWallet().getId()).ifPresent(wallet -> {
-                    wallet.addBalance(-amountToExpire, lot.getBucketType());
-                });
-                
-                totalExpiredAmount += amountToExpire;
-                expiredCount++;
-                
-                log.debug("포인트 만료: lotId={}, amount={}", lot.getId(), amountToExpire);
+        LocalDateTime expiryDate = runDate.atStartOfDay().minusYears(1);
+
+        log.info("포인트 만료 처리 시작: expiryDate={}, partitions={}", expiryDate, partitionCount);
+
+        long totalExpiredAmount = 0L;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> results = new ArrayList<>(partitionCount);
+            for (int partitionNo = 0; partitionNo < partitionCount; partitionNo++) {
+                int partition = partitionNo;
+                results.add(executor.submit(() -> expirePartition(runDate, expiryDate, partition)));
+            }
+
+            for (Future<Long> result : results) {
+                try {
+                    totalExpiredAmount += result.get();
+                } catch (Exception e) {
+                    log.error("포인트 만료 파티션 처리 실패 (다음 실행 시 체크포인트부터 재개)", e);
+                }
             }
-            
-            log.info("포인트 만료 처리 완료: 만료 lot 수={}, 총 만료 금액={}원", 
-                    expiredCount, totalExpiredAmount);
-                    
-        } catch (Exception e) {
-            log.error("포인트 만료 처리 실패", e);
+        }
+
+        log.info("포인트 만료 처리 완료: 총 만료 금액={}원", totalExpiredAmount);
+    }
+
+    /**
+     * 파티션 락을 잡은 경우에만 처리 (다른 노드가 처리 중이면 건너뜀)
+     */
+    private long expirePartition(LocalDate runDate, LocalDateTime expiryDate, int partitionNo) throws InterruptedException {
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + runDate + ":" + partitionNo);
+        if (!lock.tryLock(0, TimeUnit.SECONDS)) {
+            log.info("다른 노드가 처리 중인 파티션 건너뜀: partition={}", partitionNo);
+            return 0L;
+        }
+
+        try {
+            return pointExpirationService.expirePartition(runDate, expiryDate, partitionNo, partitionCount);
+        } finally {
+            lock.unlock();
         }
     }
 }
@@ -0,0 +1,191 @@
+package com.prepaid.ledger.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prepaid.ledger.domain.BucketType;
+import com.prepaid.ledger.domain.ChargeLot;
+import com.prepaid.ledger.repository.ChargeLotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * FIFO Lot 인덱스
+ * - 지갑/버킷별로 가장 오래된 잔여 Lot 위치(커서)를 기억
+ * - 커서부터 작은 페이지 단위로 Lot을 읽어 차감 (매 사용마다 전체 Lot 로딩 방지)
+ * - 커서는 노드 로컬 캐시이므로 다른 노드의 사용 취소로 커서 이전 Lot이 다시 열렸을 수 있음
+ *   → 커서를 쓰기 전에 커서 이전 잔여 Lot 존재 여부를 인덱스로 확인하고, 있으면 처음부터 탐색
+ */
+@Slf4j
+@Component
+public class ChargeLotFifoIndex {
+
+    private final ChargeLotRepository chargeLotRepository;
+    private final int pageSize;
+
+    /**
+     * (walletId, bucketType) -> 가장 오래된 잔여 Lot 위치
+     */
+    private final Cache<CursorKey, LotCursor> cursors;
+
+    public ChargeLotFifoIndex(ChargeLotRepository chargeLotRepository,
+                              @Value("${ledger.fifo.page-size:20}") int pageSize,
+                              @Value("${ledger.fifo.cursor-cache-size:100000}") long cursorCacheSize) {
+        this.chargeLotRepository = chargeLotRepository;
+        this.pageSize = pageSize;
+        this.cursors = Caffeine.newBuilder()
+                .maximumSize(cursorCacheSize)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    /**
+     * 오래된 Lot부터 amount만큼 차감
+     *
+     * @param walletId   지갑 ID
+     * @param bucketType 버킷 타입
+     * @param amount     차감할 금액
+     * @param consumer   Lot별 차감 금액 콜백 (SpendAllocation 생성 등)
+     * @return 차감하지 못한 남은 금액
+     */
+    public long consume(Long walletId, BucketType bucketType, long amount, ObjLongConsumer<ChargeLot> consumer) {
+        if (amount <= 0) {
+            return 0L;
+        }
+
+        CursorKey key = new CursorKey(walletId, bucketType);
+        LotCursor start = cursors.getIfPresent(key);
+        if (start != null && hasOpenLotBefore(key, start)) {
+            // 커서 이전 Lot이 다시 열림 (다른 노드의 사용 취소 등) - 처음부터 탐색해 FIFO 유지
+            log.debug("FIFO 커서 이전 잔여 Lot 발견, 처음부터 탐색: walletId={}, bucket={}", walletId, bucketType);
+            cursors.invalidate(key);
+            start = null;
+        }
+
+        return consumeFrom(key, start, amount, consumer);
+    }
+
+    /**
+     * 지갑의 커서 무효화 (사용 취소 등으로 과거 Lot 잔액이 복구된 경우)
+     * - 이 노드의 커서만 제거 (다른 노드는 consume 시 커서 이전 잔여 Lot 확인으로 감지)
+     */
+    public void invalidate(Long walletId) {
+        Runnable evict = () -> {
+            for (BucketType bucketType : BucketType.values()) {
+                cursors.invalidate(new CursorKey(walletId, bucketType));
+            }
+        };
+
+        evict.run();
+        // 커밋 전에 다른 트랜잭션이 커서를 다시 전진시켰을 수 있으므로 커밋 후 한 번 더 제거
+        runAfterCommit(evict);
+    }
+
+    private long consumeFrom(CursorKey key, LotCursor from, long amount, ObjLongConsumer<ChargeLot> consumer) {
+        long remaining = amount;
+        LotCursor cursor = from;
+        LotCursor oldestOpen = null;
+
+        while (remaining > 0) {
+            List<ChargeLot> page = fetchPage(key, cursor);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            remaining = consumePage(page, remaining, consumer);
+
+            for (ChargeLot lot : page) {
+                cursor = LotCursor.of(lot);
+                if (lot.getAmountRemaining() > 0) {
+                    oldestOpen = cursor;
+                    break;
+                }
+            }
+
+            if (oldestOpen != null || page.size() < pageSize) {
+                break;
+            }
+        }
+
+        // 잔여 Lot이 남지 않았다면 마지막으로 본 위치를 커서로 사용 (이후 충전분은 더 최신)
+        LotCursor next = oldestOpen != null ? oldestOpen : cursor;
+        if (next != null) {
+            runAfterCommit(() -> cursors.put(key, next));
+        }
+
+        return remaining;
+    }
+
+    private boolean hasOpenLotBefore(CursorKey key, LotCursor cursor) {
+        return !chargeLotRepository.findOpenLotIdsBefore(key.walletId(), key.bucketType(),
+                cursor.createdAt(), cursor.lotId(), PageRequest.of(0, 1)).isEmpty();
+    }
+
+    private List<ChargeLot> fetchPage(CursorKey key, LotCursor cursor) {
+        PageRequest page = PageRequest.of(0, pageSize);
+        if (cursor == null) {
+            return chargeLotRepository.findOpenLots(key.walletId(), key.bucketType(), page);
+        }
+        return chargeLotRepository.findOpenLotsFrom(
+                key.walletId(), key.bucketType(), cursor.createdAt(), cursor.lotId(), page);
+    }
+
+    /**
+     * 한 페이지의 Lot을 순서대로 차감 (순수 계산 로직)
+     *
+     * @return 차감하지 못한 남은 금액
+     */
+    static long consumePage(List<ChargeLot> lots, long amount, ObjLongConsumer<ChargeLot> consumer) {
+        long remaining = amount;
+
+        for (ChargeLot lot : lots) {
+            if (remaining <= 0) {
+                break;
+            }
+
+            long consumeFromLot = Math.min(lot.getAmountRemaining(), remaining);
+            if (consumeFromLot <= 0) {
+                continue;
+            }
+
+            lot.decreaseRemaining(consumeFromLot);
+            consumer.accept(lot, consumeFromLot);
+            remaining -= consumeFromLot;
+        }
+
+        return remaining;
+    }
+
+    /**
+     * 트랜잭션 커밋 후 실행 (롤백된 차감으로 커서가 전진하지 않도록)
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CursorKey(Long walletId, BucketType bucketType) {
+    }
+
+    private record LotCursor(LocalDateTime createdAt, Long lotId) {
+        static LotCursor of(ChargeLot lot) {
+            return new LotCursor(lot.getCreatedAt(), lot.getId());
+        }
+    }
+}
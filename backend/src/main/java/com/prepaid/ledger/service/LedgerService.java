@@ -3,7 +3,8 @@ package com.prepaid.ledger.service;
 import com.prepaid.common.exception.ErrorCode;
 import com.prepaid.common.exception.specific.InsufficientBalanceException;
 import com.prepaid.common.exception.specific.WalletNotFoundException;
-import com.prepaid.common.lock.DistributedLock;
+import com.prepaid.common.limit.LimitReservation;
+import com.prepaid.common.lock.DistributedLockExecutor;
 import com.prepaid.domain.User;
 import com.prepaid.domain.Wallet;
 import com.prepaid.event.domain.ChargeCompletedEvent;
@@ -12,12 +13,24 @@ import com.prepaid.event.service.EventPublisher;
 import com.prepaid.ledger.domain.*;
 import com.prepaid.ledger.repository.*;
 import com.prepaid.payment.validation.PaymentValidator;
+import com.prepaid.repository.WalletDebitResult;
 import com.prepaid.repository.WalletRepository;
+import com.prepaid.wallet.cache.WalletBalanceChangedEvent;
+import com.prepaid.wallet.cache.WalletBalanceSnapshot;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,9 +48,29 @@ public class LedgerService {
         private final SpendAllocationRepository spendAllocationRepository;
         private final EventPublisher eventPublisher;
         private final PaymentValidator paymentValidator;
+        private final ChargeLotFifoIndex chargeLotFifoIndex;
+        private final TransactionTemplate transactionTemplate;
+        private final DistributedLockExecutor distributedLockExecutor;
+        private final ApplicationEventPublisher applicationEventPublisher;
+        private final WalletCommandExecutor walletCommandExecutor;
+        private final EntityManager entityManager;
+
+        // 조건부 차감 재시도 횟수 (초과 시 분산 락으로 처리)
+        @Value("${ledger.debit.max-attempts:3}")
+        private int debitMaxAttempts;
+
+        // 재시도 경로에서 지갑 행 잠금을 기다리는 최대 시간 (초과 시 ConcurrencyFailureException으로 재시도)
+        @Value("${ledger.debit.lock-timeout:200ms}")
+        private Duration debitLockTimeout;
 
-        @Transactional
         public void recordCharge(User user, Long amount, String paymentKey, String orderId) {
+                walletCommandExecutor.execute(user.getId(), () -> {
+                        doRecordCharge(user, amount, paymentKey, orderId);
+                        return null;
+                });
+        }
+
+        private void doRecordCharge(User user, Long amount, String paymentKey, String orderId) {
                 // MDC에 컨텍스트 정보 추가 (구조화된 로깅)
                 setLedgerContext(user.getId(), "CHARGE", amount, orderId);
                 setPaymentContext(paymentKey);
@@ -77,8 +110,7 @@ public class LedgerService {
                                         .amountSigned(-amount)
                                         .build();
 
-                        ledgerLineRepository.save(debit);
-                        ledgerLineRepository.save(credit);
+                        ledgerLineRepository.saveAll(List.of(debit, credit));
 
                         // 4. Charge Lot 생성 (유료 잔액에 대한 FIFO 추적)
                         ChargeLot chargeLot = ChargeLot.builder()
@@ -92,6 +124,7 @@ public class LedgerService {
 
                         // 5. 파생된 잔액(Derived Balance) 업데이트
                         wallet.addBalance(amount, BucketType.PAID);
+                        publishBalanceChanged(user.getId(), wallet);
 
                         // 6. 충전 완료 이벤트 발행 (트랜잭션 커밋 후)
                         publishChargeCompletedEvent(user.getId(), amount, wallet.getBalance(), paymentKey, orderId);
@@ -103,17 +136,72 @@ public class LedgerService {
                 }
         }
 
-        @DistributedLock(key = "'wallet:' + #user.id")
+        /**
+         * 잔액 사용
+         * - 기본 경로: 조건부 UPDATE 한 문장으로 차감 (Redis 락 없음)
+         * - 지갑 행 잠금을 lock-timeout 넘게 기다리거나 동시성 충돌(데드락 등)이 나면 max-attempts까지 재시도
+         * - 재시도가 모두 실패한 경합 지점에서만 분산 락으로 직렬화
+         * - wallet-affinity 모드에서는 지갑별 메일박스에서 순차 실행
+         */
         public void useBalance(User user, Long amount, String merchantUid) {
-                // 1. 금액 검증
-                paymentValidator.validateUseAmount(amount);
-                
-                // 2. 지갑 잔액 확인
-                Wallet wallet = walletRepository.findByUserId(user.getId())
-                        .orElseThrow(() -> new WalletNotFoundException());
+                // 1. 금액 검증 + 일일 사용 한도 예약 (실패 시 반환)
+                LimitReservation limitReservation = paymentValidator.validateUseAmount(user.getId(), amount);
+                try {
+                        spend(user, amount, merchantUid);
+                } catch (RuntimeException | Error e) {
+                        paymentValidator.releaseLimit(limitReservation);
+                        throw e;
+                }
+        }
 
-        if (wallet.getBalance() < amount) {
-                throw new InsufficientBalanceException("현재 잔액: " + wallet.getBalance() + "원, 요청 금액: " + amount + "원");
+        private void spend(User user, Long amount, String merchantUid) {
+                // 상위 트랜잭션이 있거나 wallet-affinity 모드면 실행기에 위임
+                // (지갑별 메일박스가 같은 노드의 사용 명령을 직렬화하므로 재시도/락 불필요)
+                if (TransactionSynchronizationManager.isActualTransactionActive()
+                                || walletCommandExecutor.isWalletAffinity()) {
+                        walletCommandExecutor.executeSpend(user.getId(), () -> postUse(user, amount, merchantUid));
+                        return;
+                }
+
+                String lockTimeout = debitLockTimeout.toMillis() + "ms";
+                for (int attempt = 1; attempt <= debitMaxAttempts; attempt++) {
+                        try {
+                                transactionTemplate.executeWithoutResult(status -> {
+                                        // 조건부 UPDATE는 잠금을 무한정 기다리므로 상한을 둬야 재시도/분산 락 경로로 넘어감
+                                        walletRepository.setLocalLockTimeout(lockTimeout);
+                                        postUse(user, amount, merchantUid);
+                                });
+                                return;
+                        } catch (ConcurrencyFailureException e) {
+                                log.warn("잔액 사용 동시성 충돌, 재시도: userId={}, attempt={}/{}",
+                                                user.getId(), attempt, debitMaxAttempts);
+                        }
+                }
+
+                // 경합이 계속되는 지갑은 분산 락으로 직렬화하여 마지막으로 시도 (잠금 대기 상한 없음)
+                log.warn("잔액 사용 재시도 초과, 분산 락으로 처리: userId={}", user.getId());
+                distributedLockExecutor.execute("wallet:" + user.getId(), () -> {
+                        transactionTemplate.executeWithoutResult(status -> postUse(user, amount, merchantUid));
+                        return null;
+                });
+        }
+
+        private void postUse(User user, Long amount, String merchantUid) {
+                // 2. 조건부 차감 (잔액 확인 + 차감을 한 문장으로, 지갑 행 잠금은 커밋까지 유지)
+                LocalDateTime debitedAt = LocalDateTime.now();
+                WalletDebitResult debited = walletRepository.debitIfSufficient(user.getId(), amount, debitedAt)
+                        .orElseThrow(() -> {
+                                Wallet current = walletRepository.findByUserId(user.getId())
+                                        .orElseThrow(() -> new WalletNotFoundException());
+                                return new InsufficientBalanceException("현재 잔액: " + current.getBalance() + "원, 요청 금액: " + amount + "원");
+                        });
+
+                // 지갑 엔티티는 로딩하지 않고 참조만 사용 (이미 DB에서 차감되었으므로 dirty checking 대상이 아님)
+                // 같은 트랜잭션에서 이미 로딩된 Wallet이 있으면 차감 전 잔액/버전을 들고 있으므로 DB 값으로 갱신
+                // (네이티브 쿼리 실행 전 자동 flush로 미반영 변경은 이미 기록됨)
+                Wallet wallet = walletRepository.getReferenceById(debited.getWalletId());
+                if (Hibernate.isInitialized(wallet)) {
+                        entityManager.refresh(wallet);
                 }
 
                 // 2. 사용(USE)을 위한 원장 엔트리 생성
@@ -128,20 +216,21 @@ public class LedgerService {
                                 .build();
                 ledgerEntryRepository.save(useEntry);
 
-                // 3. FIFO 차감 로직 (우선순위: 무료 -> 유료)
+                // 3. FIFO 차감 로직 (우선순위: 무료 -> 유료, 조건부 UPDATE의 버킷 차감 순서와 동일)
+                // Allocation은 모아서 한 번에 저장 (flush 시 배치 INSERT)
                 Long remainingToUse = amount;
+                List<SpendAllocation> allocations = new ArrayList<>();
 
                 // 3-1. 무료(FREE) 버킷 차감
-                remainingToUse = consumeBucket(wallet, BucketType.FREE, remainingToUse, useEntry);
+                remainingToUse = consumeBucket(wallet, BucketType.FREE, remainingToUse, useEntry, allocations);
 
                 // 3-2. 유료(PAID) 버킷 차감 (필요한 경우)
                 if (remainingToUse > 0) {
-                        remainingToUse = consumeBucket(wallet, BucketType.PAID, remainingToUse, useEntry);
+                        remainingToUse = consumeBucket(wallet, BucketType.PAID, remainingToUse, useEntry, allocations);
                 }
 
                 if (remainingToUse > 0) {
-                // 잔액 확인을 통과했으므로 발생하면 안 되는 상황.
-                // 동시성 문제가 없다면(DistributedLock 사용 중) 안전함.
+                // 지갑 잔액과 Lot 잔액이 불일치하는 상황. 예외로 트랜잭션 전체(조건부 차감 포함)를 롤백.
                 throw new InsufficientBalanceException("예기치 않은 오류: 차감 중 잔액 불일치 발생 (남은 금액: " + remainingToUse + "원)");
                 }
 
@@ -160,57 +249,31 @@ public class LedgerService {
                                 .amountSigned(amount)
                                 .build();
 
-                ledgerLineRepository.save(debit);
-                ledgerLineRepository.save(credit);
+                ledgerLineRepository.saveAll(List.of(debit, credit));
+                spendAllocationRepository.saveAll(allocations);
 
-                // 5. 지갑 잔액 업데이트
-                // consumeBucket에서 Lot은 차감되지만 Wallet 엔티티의 총 잔액 필드는 여기서 업데이트하거나
-                // consumeBucket 내부에서 처리 가능. 여기서는 단순화하여 내부 로직에 위임하거나 직접 차감.
-                // consumeBucket에서 처리하는 것이 일관성이 좋음.
+                // 5. 지갑 잔액은 조건부 UPDATE에서 이미 차감됨 (RETURNING 결과로 잔액 캐시 갱신)
+                applicationEventPublisher.publishEvent(new WalletBalanceChangedEvent(new WalletBalanceSnapshot(
+                                user.getId(), debited.getBalancePaid(), debited.getBalanceFree(),
+                                debited.getVersion(), debitedAt)));
 
                 // 6. 사용 완료 이벤트 발행 (트랜잭션 커밋 후)
-                publishSpendCompletedEvent(user.getId(), -amount, wallet.getBalance(), merchantUid);
+                publishSpendCompletedEvent(user.getId(), -amount, debited.getBalance(), merchantUid);
         }
 
-        // 특정 버킷 타입에서 포인트 차감하는 헬퍼 메서드
-        private Long consumeBucket(Wallet wallet, BucketType bucketType, Long amountToConsume, LedgerEntry useEntry) {
+        // 특정 버킷 타입의 Lot에서 포인트 차감하는 헬퍼 메서드 (지갑 잔액은 조건부 UPDATE에서 처리)
+        private Long consumeBucket(Wallet wallet, BucketType bucketType, Long amountToConsume, LedgerEntry useEntry,
+                        List<SpendAllocation> allocations) {
                 if (amountToConsume <= 0)
                         return 0L;
 
-                List<ChargeLot> lots = chargeLotRepository
-                                .findAllByWalletIdAndBucketTypeAndAmountRemainingGreaterThanOrderByCreatedAtAsc(
-                                                wallet.getId(), bucketType, 0L);
-
-                Long remaining = amountToConsume;
-                Long consumedInThisBucket = 0L;
-
-                for (ChargeLot lot : lots) {
-                        if (remaining <= 0)
-                                break;
-
-                        Long consumeFromLot = Math.min(lot.getAmountRemaining(), remaining);
-
-                        // Lot 업데이트
-                        lot.decreaseRemaining(consumeFromLot);
-
-                        SpendAllocation allocation = SpendAllocation.builder()
-                                        .spendEntry(useEntry)
-                                        .chargeLot(lot)
-                                        .amountConsumed(consumeFromLot)
-                                        .build();
-                        spendAllocationRepository.save(allocation);
-
-                        remaining -= consumeFromLot;
-                        consumedInThisBucket += consumeFromLot;
-                }
-
-                // 해당 버킷의 지갑 잔액 업데이트
-                if (consumedInThisBucket > 0) {
-                        // addBalance를 음수로 호출하여 차감 (subtractBalance 대신)
-                        wallet.addBalance(-consumedInThisBucket, bucketType);
-                }
-
-                return remaining;
+                // FIFO 인덱스에서 오래된 Lot부터 페이지 단위로 차감
+                return chargeLotFifoIndex.consume(wallet.getId(), bucketType, amountToConsume,
+                                (lot, consumed) -> allocations.add(SpendAllocation.builder()
+                                                .spendEntry(useEntry)
+                                                .chargeLot(lot)
+                                                .amountConsumed(consumed)
+                                                .build()));
         }
 
         /**
@@ -220,8 +283,11 @@ public class LedgerService {
          * @param reason 취소 사유
          * @return 취소된 금액
          */
-        @Transactional
         public Long cancelCharge(Long chargeEntryId, User user, String reason) {
+                return walletCommandExecutor.execute(user.getId(), () -> doCancelCharge(chargeEntryId, user, reason));
+        }
+
+        private Long doCancelCharge(Long chargeEntryId, User user, String reason) {
                 setUserContext(user.getId());
                 setTransactionContext("CHARGE_CANCEL", null);
                 
@@ -282,8 +348,7 @@ public class LedgerService {
                         .amountSigned(-cancelableAmount)  // 지갑에서 차감
                         .build();
                 
-                ledgerLineRepository.save(debit);
-                ledgerLineRepository.save(credit);
+                ledgerLineRepository.saveAll(List.of(debit, credit));
                 
                 // 9. ChargeLot 무효화 (remaining = 0으로 만듦)
                 lot.decreaseRemaining(cancelableAmount);
@@ -291,6 +356,7 @@ public class LedgerService {
                 // 10. Wallet 잔액 차감
                 Wallet wallet = chargeEntry.getWallet();
                 wallet.addBalance(-cancelableAmount, BucketType.PAID);
+                publishBalanceChanged(user.getId(), wallet);
                 
                 log.info("충전 취소 완료: chargeId={}, canceledAmount={}", chargeEntryId, cancelableAmount);
                 
@@ -307,8 +373,11 @@ public class LedgerService {
          * @param reason 취소 사유
          * @return 복구된 금액
          */
-        @Transactional
         public Long reverseUse(Long useEntryId, User user, String reason) {
+                return walletCommandExecutor.execute(user.getId(), () -> doReverseUse(useEntryId, user, reason));
+        }
+
+        private Long doReverseUse(Long useEntryId, User user, String reason) {
                 // 1. 원본 사용 거래 조회
                 LedgerEntry useEntry = ledgerEntryRepository.findById(useEntryId)
                         .orElseThrow(() -> new IllegalArgumentException("사용 거래를 찾을 수 없습니다"));
@@ -376,16 +445,18 @@ public class LedgerService {
                         .amountSigned(-totalReversed)  // 외부에서 회수
                         .build();
                 
-                ledgerLineRepository.save(debit);
-                ledgerLineRepository.save(credit);
+                ledgerLineRepository.saveAll(List.of(debit, credit));
                 
                 // 9. Wallet 잔액 복구
                 Wallet wallet = useEntry.getWallet();
+                // 과거 Lot 잔액이 복구되었으므로 FIFO 커서 무효화
+                chargeLotFifoIndex.invalidate(wallet.getId());
                 // allocations에서 버킷 타입 복구 (PAID/FREE 구분)
                 for (SpendAllocation allocation : allocations) {
                         BucketType bucketType = allocation.getChargeLot().getBucketType();
                         wallet.addBalance(allocation.getAmountConsumed(), bucketType);
                 }
+                publishBalanceChanged(user.getId(), wallet);
                 
                 log.info("사용 취소 완료: userId={}, useId={}, reversedAmount={}", 
                         user.getId(), useEntryId, totalReversed);
@@ -393,6 +464,16 @@ public class LedgerService {
                 return totalReversed;
         }
 
+        /**
+         * 잔액 변경 내부 이벤트 발행 (커밋 후 잔액 캐시 갱신)
+         * - flush로 Wallet.version을 증가시킨 뒤 버전이 붙은 스냅샷을 전달
+         */
+        private void publishBalanceChanged(Long userId, Wallet wallet) {
+                walletRepository.flush();
+                applicationEventPublisher.publishEvent(
+                                new WalletBalanceChangedEvent(WalletBalanceSnapshot.of(userId, wallet)));
+        }
+
         /**
          * 충전 완료 이벤트 발행 (트랜잭션 커밋 후 실행)
          */
@@ -420,8 +501,14 @@ public class LedgerService {
          * @param amount 인출 금액
          * @param reason 인출 사유
          */
-        @Transactional
         public void recordWithdrawal(User user, Long amount, String reason) {
+                walletCommandExecutor.execute(user.getId(), () -> {
+                        doRecordWithdrawal(user, amount, reason);
+                        return null;
+                });
+        }
+
+        private void doRecordWithdrawal(User user, Long amount, String reason) {
                 // 1. 지갑 조회
                 Wallet wallet = walletRepository.findByUserId(user.getId())
                                 .orElseThrow(() -> new WalletNotFoundException());
@@ -459,25 +546,14 @@ public class LedgerService {
                                 .amountSigned(-amount)
                                 .build();
 
-                ledgerLineRepository.save(debit);
-                ledgerLineRepository.save(credit);
+                ledgerLineRepository.saveAll(List.of(debit, credit));
 
                 // 5. ChargeLot에서 차감 (FIFO, PAID 버킷만)
-                Long remainingToDeduct = amount;
-                List<ChargeLot> lots = chargeLotRepository
-                                .findAllByWalletIdAndBucketTypeAndAmountRemainingGreaterThanOrderByCreatedAtAsc(
-                                                wallet.getId(), BucketType.PAID, 0L);
-
-                for (ChargeLot lot : lots) {
-                        if (remainingToDeduct <= 0) break;
-
-                        Long deductFromLot = Math.min(lot.getAmountRemaining(), remainingToDeduct);
-                        lot.decreaseRemaining(deductFromLot);
-                        remainingToDeduct -= deductFromLot;
-                }
+                chargeLotFifoIndex.consume(wallet.getId(), BucketType.PAID, amount, (lot, consumed) -> { });
 
                 // 6. 지갑 잔액 차감
                 wallet.addBalance(-amount, BucketType.PAID);
+                publishBalanceChanged(user.getId(), wallet);
 
                 log.info("잔액 인출 완료: userId={}, amount={}, reason={}", user.getId(), amount, reason);
         }
@@ -487,7 +563,6 @@ public class LedgerService {
          * @deprecated Use recordWithdrawal instead for pure withdrawal, or cancelCharge for charge cancellation
          */
         @Deprecated
-        @Transactional
         public void recordRefund(User user, Long amount, String orderId, String reason) {
                 log.warn("recordRefund is deprecated. Use recordWithdrawal for pure withdrawal or cancelCharge for charge cancellation.");
                 recordWithdrawal(user, amount, reason);
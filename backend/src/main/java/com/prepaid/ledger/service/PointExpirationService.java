@@ -0,0 +1,204 @@
+package com.prepaid.ledger.service;
+
+import com.prepaid.domain.Wallet;
+import com.prepaid.ledger.domain.*;
+import com.prepaid.ledger.repository.*;
+import com.prepaid.repository.WalletRepository;
+import com.prepaid.wallet.cache.WalletBalanceChangedEvent;
+import com.prepaid.wallet.cache.WalletBalanceSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 포인트 만료 처리 (청크 단위)
+ * - 만료 대상 Lot을 id keyset으로 청크씩 읽고, 청크마다 짧은 트랜잭션으로 처리
+ * - 청크 안에서는 지갑별로 한 번의 잔액 차감 + EXPIRE 원장 포스팅
+ * - 체크포인트를 같은 트랜잭션에 기록하여 중단 후 이어서 처리
+ * - wallet_id 파티션 단위로 나누어 여러 노드/스레드가 병렬 처리
+ */
+@Slf4j
+@Service
+public class PointExpirationService {
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final ChargeLotRepository chargeLotRepository;
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerLineRepository ledgerLineRepository;
+    private final ExpirationCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PointExpirationService(ChargeLotRepository chargeLotRepository,
+                                  WalletRepository walletRepository,
+                                  LedgerEntryRepository ledgerEntryRepository,
+                                  LedgerLineRepository ledgerLineRepository,
+                                  ExpirationCheckpointRepository checkpointRepository,
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${ledger.expiration.chunk-size:500}") int chunkSize) {
+        this.chargeLotRepository = chargeLotRepository;
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerLineRepository = ledgerLineRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 파티션 만료 처리
+     *
+     * @param runDate        실행일 (체크포인트/멱등성 키 기준)
+     * @param expiryDate     이 시각 이전에 생성된 Lot 만료
+     * @param partitionNo    처리할 파티션 (wallet_id % partitionCount)
+     * @param partitionCount 전체 파티션 수
+     * @return 만료 처리한 총 금액
+     */
+    public long expirePartition(LocalDate runDate, LocalDateTime expiryDate, int partitionNo, int partitionCount) {
+        Long resumeFrom = checkpointRepository.findResumePoint(runDate, partitionNo, partitionCount);
+        if (resumeFrom == null) {
+            log.info("포인트 만료 파티션 이미 완료: runDate={}, partition={}/{}", runDate, partitionNo, partitionCount);
+            return 0L;
+        }
+
+        long lastLotId = resumeFrom;
+        long totalExpired = 0L;
+
+        while (true) {
+            List<ExpirableLot> refs = chargeLotRepository.findExpirableLots(
+                    lastLotId, expiryDate, partitionCount, partitionNo, chunkSize);
+
+            if (refs.isEmpty()) {
+                checkpointRepository.save(runDate, partitionNo, partitionCount, lastLotId, true);
+                break;
+            }
+
+            long chunkLastLotId = refs.get(refs.size() - 1).getId();
+            totalExpired += expireChunkWithRetry(runDate, refs, partitionNo, partitionCount, chunkLastLotId);
+            lastLotId = chunkLastLotId;
+        }
+
+        log.info("포인트 만료 파티션 완료: runDate={}, partition={}/{}, expired={}원",
+                runDate, partitionNo, partitionCount, totalExpired);
+        return totalExpired;
+    }
+
+    private long expireChunkWithRetry(LocalDate runDate, List<ExpirableLot> refs,
+                                      int partitionNo, int partitionCount, long chunkLastLotId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long expired = transactionTemplate.execute(status ->
+                        expireChunk(runDate, refs, partitionNo, partitionCount, chunkLastLotId));
+                return expired != null ? expired : 0L;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("포인트 만료 청크 충돌, 재시도: partition={}, lastLotId={}, attempt={}",
+                        partitionNo, chunkLastLotId, attempt);
+            }
+        }
+    }
+
+    /**
+     * 청크 처리 (한 트랜잭션)
+     * - 잠금 순서: 지갑(id 순) -> Lot(id 순), 잔액 사용 경로(지갑 UPDATE -> Lot)와 같은 순서
+     */
+    private long expireChunk(LocalDate runDate, List<ExpirableLot> refs,
+                             int partitionNo, int partitionCount, long chunkLastLotId) {
+        Set<Long> walletIds = new TreeSet<>();
+        List<Long> lotIds = new ArrayList<>(refs.size());
+        for (ExpirableLot ref : refs) {
+            walletIds.add(ref.getWalletId());
+            lotIds.add(ref.getId());
+        }
+
+        Map<Long, Wallet> wallets = new HashMap<>();
+        for (Wallet wallet : walletRepository.findAllByIdForUpdate(walletIds)) {
+            wallets.put(wallet.getId(), wallet);
+        }
+
+        // 잠금 이후 잔여 금액이 남아 있는 Lot만 (그 사이 사용된 Lot 제외)
+        List<ChargeLot> lots = chargeLotRepository.findOpenLotsForUpdate(lotIds);
+
+        // 지갑별, 버킷별 만료 금액 집계
+        Map<Long, EnumMap<BucketType, Long>> expiredByWallet = new TreeMap<>();
+        for (ChargeLot lot : lots) {
+            long amount = lot.getAmountRemaining();
+            lot.expire();
+            expiredByWallet
+                    .computeIfAbsent(lot.getWallet().getId(), id -> new EnumMap<>(BucketType.class))
+                    .merge(lot.getBucketType(), amount, Long::sum);
+        }
+
+        long chunkExpired = 0L;
+        List<LedgerLine> lines = new ArrayList<>(expiredByWallet.size() * 2);
+
+        for (Map.Entry<Long, EnumMap<BucketType, Long>> walletExpired : expiredByWallet.entrySet()) {
+            Wallet wallet = wallets.get(walletExpired.getKey());
+            long walletTotal = 0L;
+
+            // 지갑당 한 번의 잔액 차감 (버킷별)
+            for (Map.Entry<BucketType, Long> bucketExpired : walletExpired.getValue().entrySet()) {
+                wallet.addBalance(-bucketExpired.getValue(), bucketExpired.getKey());
+                walletTotal += bucketExpired.getValue();
+            }
+
+            // EXPIRE 원장 엔트리 (청크 재처리 시 같은 키로 중복 포스팅 방지)
+            LedgerEntry expireEntry = LedgerEntry.builder()
+                    .wallet(wallet)
+                    .txType(TxType.EXPIRE)
+                    .status(LedgerStatus.POSTED)
+                    .referenceId("EXPIRE_" + runDate)
+                    .idempotencyKey("EXPIRE:" + runDate + ":" + wallet.getId() + ":" + chunkLastLotId)
+                    .bucketType(walletExpired.getValue().size() == 1
+                            ? walletExpired.getValue().keySet().iterator().next() : null)
+                    .memo("Point Expiration")
+                    .build();
+            ledgerEntryRepository.save(expireEntry);
+
+            // 차변: 지갑 현금 감소 (부채 소멸)
+            lines.add(LedgerLine.builder()
+                    .entry(expireEntry)
+                    .accountCode(AccountCode.WALLET_CASH)
+                    .amountSigned(-walletTotal)
+                    .build());
+
+            // 대변: 낙전 수익
+            lines.add(LedgerLine.builder()
+                    .entry(expireEntry)
+                    .accountCode(AccountCode.BREAKAGE_INCOME)
+                    .amountSigned(walletTotal)
+                    .build());
+
+            chunkExpired += walletTotal;
+        }
+
+        ledgerLineRepository.saveAll(lines);
+        checkpointRepository.save(runDate, partitionNo, partitionCount, chunkLastLotId, false);
+
+        // 변경된 지갑의 잔액 캐시 갱신 (커밋 후)
+        walletRepository.flush();
+        for (Long walletId : expiredByWallet.keySet()) {
+            Wallet wallet = wallets.get(walletId);
+            applicationEventPublisher.publishEvent(
+                    new WalletBalanceChangedEvent(WalletBalanceSnapshot.of(wallet.getUser().getId(), wallet)));
+        }
+
+        log.debug("포인트 만료 청크 처리: partition={}, lastLotId={}, lots={}, wallets={}, expired={}원",
+                partitionNo, chunkLastLotId, lots.size(), expiredByWallet.size(), chunkExpired);
+        return chunkExpired;
+    }
+}
@@ -0,0 +1,245 @@
+package com.prepaid.ledger.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 지갑 단위 원장 명령 실행기
+ * - direct: 호출 스레드에서 바로 트랜잭션 실행 (기본값)
+ * - wallet-affinity: 같은 지갑(userId)의 명령을 하나의 가상 스레드 메일박스로 보내 순차 실행
+ *   (같은 노드 안에서는 락 없이 직렬화, 대기 중인 사용 명령은 한 트랜잭션으로 묶어 처리)
+ * - 호출자가 이미 트랜잭션 안에 있으면 원자성을 위해 항상 호출 스레드에서 실행
+ * - 메일박스 스레드는 명령마다 제출 시점의 MDC(traceId/spanId 등)를 복원해 실행 (로그 추적 유지)
+ */
+@Slf4j
+@Component
+public class WalletCommandExecutor {
+
+    private static final String MODE_WALLET_AFFINITY = "wallet-affinity";
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean walletAffinity;
+    private final int maxCoalescedSpends;
+
+    /**
+     * userId -> 메일박스 (대기열이 비면 제거)
+     * 대기열 조작과 제거는 모두 compute 안에서 수행하여 키 단위로 원자적으로 처리
+     */
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * 메일박스 스레드 여부 (명령 안에서 다시 명령을 보내는 경우 교착 방지)
+     */
+    private static final ThreadLocal<Boolean> IN_MAILBOX = ThreadLocal.withInitial(() -> false);
+
+    public WalletCommandExecutor(TransactionTemplate transactionTemplate,
+                                 @Value("${ledger.execution.mode:direct}") String mode,
+                                 @Value("${ledger.execution.max-coalesced-spends:32}") int maxCoalescedSpends) {
+        this.transactionTemplate = transactionTemplate;
+        this.walletAffinity = MODE_WALLET_AFFINITY.equalsIgnoreCase(mode);
+        this.maxCoalescedSpends = maxCoalescedSpends;
+        log.info("원장 명령 실행 모드: {}", walletAffinity ? MODE_WALLET_AFFINITY : "direct");
+    }
+
+    public boolean isWalletAffinity() {
+        return walletAffinity;
+    }
+
+    /**
+     * 원장 명령을 트랜잭션 안에서 실행
+     *
+     * @param userId  지갑 소유자 ID (메일박스 키)
+     * @param command 실행할 명령
+     */
+    public <T> T execute(Long userId, Supplier<T> command) {
+        if (runsInline()) {
+            return command.get();
+        }
+        if (!walletAffinity) {
+            return transactionTemplate.execute(status -> command.get());
+        }
+        return submit(userId, command, false);
+    }
+
+    /**
+     * 사용(차감) 명령 실행 - wallet-affinity 모드에서는 대기 중인 다른 사용 명령과 한 트랜잭션으로 묶일 수 있음
+     * (묶음 트랜잭션이 실패하면 각 명령을 개별 트랜잭션으로 다시 실행하므로 명령은 재실행 가능해야 함)
+     */
+    public void executeSpend(Long userId, Runnable spend) {
+        Supplier<Void> command = () -> {
+            spend.run();
+            return null;
+        };
+        if (runsInline()) {
+            command.get();
+            return;
+        }
+        if (!walletAffinity) {
+            transactionTemplate.execute(status -> command.get());
+            return;
+        }
+        submit(userId, command, true);
+    }
+
+    /**
+     * 메일박스 대기열 길이 (메일박스가 없으면 0)
+     */
+    int queuedCommands(Long userId) {
+        int[] size = {0};
+        mailboxes.computeIfPresent(userId, (key, mailbox) -> {
+            size[0] = mailbox.queue.size();
+            return mailbox;
+        });
+        return size[0];
+    }
+
+    boolean hasMailbox(Long userId) {
+        return mailboxes.containsKey(userId);
+    }
+
+    private boolean runsInline() {
+        return TransactionSynchronizationManager.isActualTransactionActive() || IN_MAILBOX.get();
+    }
+
+    private <T> T submit(Long userId, Supplier<T> work, boolean coalescable) {
+        Command<T> command = new Command<>(work, coalescable, MDC.getCopyOfContextMap(), new CompletableFuture<>());
+
+        boolean[] start = {false};
+        mailboxes.compute(userId, (key, mailbox) -> {
+            Mailbox target = mailbox != null ? mailbox : new Mailbox();
+            target.queue.add(command);
+            if (!target.running) {
+                target.running = true;
+                start[0] = true;
+            }
+            return target;
+        });
+
+        if (start[0]) {
+            Thread.ofVirtual().name("wallet-mailbox-" + userId).start(() -> drain(userId));
+        }
+
+        try {
+            return command.future().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void drain(Long userId) {
+        IN_MAILBOX.set(true);
+        try {
+            List<Command<?>> batch;
+            while (!(batch = nextBatch(userId)).isEmpty()) {
+                if (batch.size() == 1) {
+                    runSingle(batch.get(0));
+                } else {
+                    runCoalesced(userId, batch);
+                }
+            }
+        } finally {
+            IN_MAILBOX.remove();
+        }
+    }
+
+    /**
+     * 다음 실행 단위 꺼내기
+     * - 맨 앞이 사용 명령이면 연속된 사용 명령을 최대 maxCoalescedSpends개까지 함께 꺼냄
+     * - 대기열이 비면 메일박스를 제거하고 빈 목록 반환
+     */
+    private List<Command<?>> nextBatch(Long userId) {
+        List<Command<?>> batch = new ArrayList<>();
+        mailboxes.compute(userId, (key, mailbox) -> {
+            if (mailbox == null || mailbox.queue.isEmpty()) {
+                return null;
+            }
+            Command<?> first = mailbox.queue.poll();
+            batch.add(first);
+            while (first.coalescable() && batch.size() < maxCoalescedSpends
+                    && !mailbox.queue.isEmpty() && mailbox.queue.peek().coalescable()) {
+                batch.add(mailbox.queue.poll());
+            }
+            return mailbox;
+        });
+        return batch;
+    }
+
+    private <T> void runSingle(Command<T> command) {
+        restoreContext(command);
+        try {
+            command.future().complete(transactionTemplate.execute(status -> command.work().get()));
+        } catch (Throwable t) {
+            command.future().completeExceptionally(t);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void runCoalesced(Long userId, List<Command<?>> batch) {
+        try {
+            List<Object> results = transactionTemplate.execute(status -> {
+                List<Object> values = new ArrayList<>(batch.size());
+                for (Command<?> command : batch) {
+                    restoreContext(command);
+                    try {
+                        values.add(command.work().get());
+                    } finally {
+                        MDC.clear();
+                    }
+                }
+                return values;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                completeUnchecked(batch.get(i), results.get(i));
+            }
+        } catch (Throwable t) {
+            // 묶음 중 하나라도 실패하면 전체 롤백 후 개별 트랜잭션으로 재실행 (실패한 명령만 실패 처리)
+            log.debug("사용 명령 묶음 실패, 개별 실행으로 전환: userId={}, size={}", userId, batch.size());
+            batch.forEach(this::runSingle);
+        }
+    }
+
+    /**
+     * 제출 시점의 MDC 복원 (메일박스 스레드에는 이전 명령의 컨텍스트가 남지 않도록 먼저 비움)
+     */
+    private static void restoreContext(Command<?> command) {
+        MDC.clear();
+        if (command.context() != null) {
+            MDC.setContextMap(command.context());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void completeUnchecked(Command<T> command, Object value) {
+        command.future().complete((T) value);
+    }
+
+    private record Command<T>(Supplier<T> work, boolean coalescable, Map<String, String> context,
+                              CompletableFuture<T> future) {
+    }
+
+    private static final class Mailbox {
+        private final ArrayDeque<Command<?>> queue = new ArrayDeque<>();
+        private boolean running;
+    }
+}
@@ -2,13 +2,14 @@ package com.prepaid.notification.controller;
 
 import com.prepaid.auth.annotation.CurrentUser;
 import com.prepaid.domain.User;
-import com.prepaid.notification.service.SseEmitterService;
+import com.prepaid.notification.service.SseNotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -23,16 +24,18 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequiredArgsConstructor
 public class NotificationController {
     
-    private final SseEmitterService sseEmitterService;
+    private final SseNotificationService sseNotificationService;
     
     /**
      * SSE 구독 (실시간 알림 연결)
+     * - 재연결 시 Last-Event-ID 헤더가 있으면 그 이후 놓친 알림을 먼저 재전송
      */
-    @Operation(summary = "실시간 알림 구독", description = "SSE를 통해 실시간 잔액 및 거래 알림을 받습니다")
+    @Operation(summary = "실시간 알림 구독", description = "SSE를 통해 실시간 잔액 및 거래 알림을 받습니다 (여러 탭/기기 동시 연결 가능, Last-Event-ID로 놓친 알림 재전송)")
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter subscribe(@CurrentUser User user) {
-        log.info("SSE 구독 요청: userId={}", user.getId());
-        return sseEmitterService.createEmitter(user.getId());
+    public SseEmitter subscribe(@CurrentUser User user,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("SSE 구독 요청: userId={}, lastEventId={}", user.getId(), lastEventId);
+        return sseNotificationService.subscribe(user.getId(), lastEventId);
     }
     
     /**
@@ -41,6 +44,6 @@ public class NotificationController {
     @Operation(summary = "연결된 사용자 수", description = "현재 SSE에 연결된 사용자 수를 조회합니다")
     @GetMapping("/connected-count")
     public int getConnectedCount() {
-        return sseEmitterService.getConnectedCount();
+        return sseNotificationService.getConnectedCount();
     }
 }
@@ -2,7 +2,7 @@ package com.prepaid.notification.listener;
 
 import com.prepaid.event.domain.ChargeCompletedEvent;
 import com.prepaid.event.domain.SpendCompletedEvent;
-import com.prepaid.notification.service.SseEmitterService;
+import com.prepaid.notification.service.SseNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -20,7 +20,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SseNotificationListener {
     
-    private final SseEmitterService sseEmitterService;
+    private final SseNotificationService sseNotificationService;
     
     /**
      * 충전 완료 이벤트 처리
@@ -31,10 +31,10 @@ public class SseNotificationListener {
         log.debug("충전 완료 이벤트 수신: userId={}", event.getUserId());
         
         // 잔액 업데이트 알림
-        sseEmitterService.sendBalanceUpdate(event.getUserId(), event.getNewBalance());
+        sseNotificationService.sendBalanceUpdate(event.getUserId(), event.getNewBalance());
         
         // 거래 완료 알림
-        sseEmitterService.sendTransactionComplete(event.getUserId(), "CHARGE", event.getAmount());
+        sseNotificationService.sendTransactionComplete(event.getUserId(), "CHARGE", event.getAmount());
     }
     
     /**
@@ -46,9 +46,9 @@ public class SseNotificationListener {
         log.debug("사용 완료 이벤트 수신: userId={}", event.getUserId());
         
         // 잔액 업데이트 알림
-        sseEmitterService.sendBalanceUpdate(event.getUserId(), event.getNewBalance());
+        sseNotificationService.sendBalanceUpdate(event.getUserId(), event.getNewBalance());
         
         // 거래 완료 알림
-        sseEmitterService.sendTransactionComplete(event.getUserId(), "USE", event.getAmount());
+        sseNotificationService.sendTransactionComplete(event.getUserId(), "USE", event.getAmount());
     }
 }
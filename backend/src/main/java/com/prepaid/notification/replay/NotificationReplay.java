@@ -0,0 +1,13 @@
+package com.prepaid.notification.replay;
+
+import java.util.List;
+
+/**
+ * Last-Event-ID 이후 재전송할 알림
+ *
+ * @param events   놓친 알림 (오래된 순)
+ * @param complete Last-Event-ID를 찾아 놓친 알림만 정확히 골랐으면 true,
+ *                 보관 범위를 벗어나 남은 알림 전체를 돌려주면 false (클라이언트는 전체 새로고침 필요)
+ */
+public record NotificationReplay(List<ReplayEntry> events, boolean complete) {
+}
@@ -0,0 +1,175 @@
+package com.prepaid.notification.replay;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * SSE 재연결 재전송 버퍼 (사용자별 최근 알림)
+ * - Redis 스트림 sse:replay:{userId}: 클러스터 공용 원본 (재연결은 어느 노드로든 들어올 수 있으므로)
+ *   최근 stream-size건만 유지 (MAXLEN), 마지막 알림 후 ttl이 지나면 삭제
+ * - 로컬 링: 이 노드가 기록한 최근 memory-size건 (eventId -> 스트림 ID)
+ *   Last-Event-ID를 여기서 찾으면 그 뒤 엔트리만 스트림에서 읽고, 없으면 스트림 전체에서 찾음
+ * - Redis 장애 시 로컬 링만으로 재전송
+ */
+@Slf4j
+@Component
+public class NotificationReplayBuffer {
+
+    private static final String KEY_PREFIX = "sse:replay:";
+    private static final String EVENT_ID_FIELD = "eventId";
+    private static final String DATA_FIELD = "data";
+
+    private static final DefaultRedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('XADD', KEYS[1], 'MAXLEN', ARGV[1], '*', 'eventId', ARGV[2], 'data', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return id
+            """, String.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<Long, ReplayRing> rings;
+    private final int memorySize;
+    private final int streamSize;
+    private final Duration ttl;
+
+    public NotificationReplayBuffer(RedisTemplate<String, String> redisTemplate,
+                                    @Value("${notification.replay.memory-size:16}") int memorySize,
+                                    @Value("${notification.replay.stream-size:50}") int streamSize,
+                                    @Value("${notification.replay.ttl:1h}") Duration ttl,
+                                    @Value("${notification.replay.local-users:100000}") int localUsers) {
+        this.redisTemplate = redisTemplate;
+        this.memorySize = memorySize;
+        this.streamSize = streamSize;
+        this.ttl = ttl;
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(localUsers)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    /**
+     * 알림 보관 (전송 전에 호출 - 보관 전에 연결이 끊긴 클라이언트도 재연결 시 받을 수 있도록)
+     */
+    public void append(Long userId, String eventId, String json) {
+        String streamId = null;
+        try {
+            streamId = redisTemplate.execute(APPEND_SCRIPT, List.of(key(userId)),
+                    String.valueOf(streamSize), eventId, json, String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("알림 재전송 스트림 기록 실패 (이 노드 메모리에만 보관): userId={}, eventId={}", userId, eventId, e);
+        }
+        rings.get(userId, id -> new ReplayRing(memorySize)).add(new ReplayEntry(eventId, streamId, json));
+    }
+
+    /**
+     * lastEventId 이후 알림 조회
+     */
+    public NotificationReplay replaySince(Long userId, String lastEventId) {
+        ReplayRing ring = rings.getIfPresent(userId);
+        try {
+            String streamId = ring != null ? ring.streamIdOf(lastEventId) : null;
+            if (streamId != null) {
+                // 마지막으로 받은 엔트리부터만 읽음 (첫 엔트리가 다르면 그 사이가 MAXLEN으로 잘려 나간 것)
+                List<ReplayEntry> entries = read(userId, Range.rightUnbounded(Range.Bound.inclusive(streamId)));
+                if (!entries.isEmpty() && entries.get(0).eventId().equals(lastEventId)) {
+                    return new NotificationReplay(List.copyOf(entries.subList(1, entries.size())), true);
+                }
+                return new NotificationReplay(entries, false);
+            }
+
+            List<ReplayEntry> retained = read(userId, Range.unbounded());
+            int index = indexOf(retained, lastEventId);
+            if (index >= 0) {
+                return new NotificationReplay(List.copyOf(retained.subList(index + 1, retained.size())), true);
+            }
+            return new NotificationReplay(retained, false);
+        } catch (RuntimeException e) {
+            log.warn("알림 재전송 스트림 조회 실패 (이 노드 메모리로 재전송): userId={}, lastEventId={}",
+                    userId, lastEventId, e);
+            if (ring == null) {
+                return new NotificationReplay(List.of(), false);
+            }
+            List<ReplayEntry> retained = ring.snapshot();
+            int index = indexOf(retained, lastEventId);
+            return index >= 0
+                    ? new NotificationReplay(List.copyOf(retained.subList(index + 1, retained.size())), true)
+                    : new NotificationReplay(retained, false);
+        }
+    }
+
+    private List<ReplayEntry> read(Long userId, Range<String> range) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(key(userId), range);
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        List<ReplayEntry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            entries.add(new ReplayEntry(
+                    (String) record.getValue().get(EVENT_ID_FIELD),
+                    record.getId().getValue(),
+                    (String) record.getValue().get(DATA_FIELD)));
+        }
+        return entries;
+    }
+
+    private static int indexOf(List<ReplayEntry> entries, String eventId) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).eventId().equals(eventId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    /**
+     * 사용자별 고정 크기 링 (가득 차면 가장 오래된 알림부터 밀려남)
+     */
+    private static final class ReplayRing {
+
+        private final int capacity;
+        private final ArrayDeque<ReplayEntry> entries;
+
+        private ReplayRing(int capacity) {
+            this.capacity = capacity;
+            this.entries = new ArrayDeque<>(capacity);
+        }
+
+        synchronized void add(ReplayEntry entry) {
+            if (entries.size() == capacity) {
+                entries.pollFirst();
+            }
+            entries.addLast(entry);
+        }
+
+        synchronized String streamIdOf(String eventId) {
+            Iterator<ReplayEntry> it = entries.descendingIterator();
+            while (it.hasNext()) {
+                ReplayEntry entry = it.next();
+                if (entry.eventId().equals(eventId)) {
+                    return entry.streamId();
+                }
+            }
+            return null;
+        }
+
+        synchronized List<ReplayEntry> snapshot() {
+            return List.copyOf(entries);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.prepaid.notification.replay;
+
+/**
+ * 재전송용으로 보관한 알림 하나
+ *
+ * @param eventId  알림 이벤트 ID (SSE id 필드, 클라이언트 Last-Event-ID)
+ * @param streamId Redis 스트림 엔트리 ID (기록 실패 시 null)
+ * @param json     직렬화된 NotificationDto
+ */
+public record ReplayEntry(String eventId, String streamId, String json) {
+}
@@ -0,0 +1,134 @@
+package com.prepaid.notification.service;
+
+import com.prepaid.notification.dto.NotificationDto;
+import com.prepaid.notification.replay.NotificationReplay;
+import com.prepaid.notification.replay.NotificationReplayBuffer;
+import com.prepaid.notification.replay.ReplayEntry;
+import com.prepaid.notification.sse.SseClusterFanout;
+import com.prepaid.notification.sse.SseConnection;
+import com.prepaid.notification.sse.SseConnectionHub;
+import com.prepaid.notification.sse.SseFrame;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * SSE(Server-Sent Events) 알림 서비스
+ * - 실시간 잔액/거래 알림 (SseNotificationListener), 지갑 이벤트 알림 (WalletEventConsumer)
+ * - 연결 관리는 SseConnectionHub에 위임 (사용자의 모든 탭/기기로 전송)
+ * - 전송은 SseClusterFanout으로 사용자가 연결된 모든 노드에 전달 (이벤트를 소비한 노드와 무관)
+ * - 지갑 이벤트 알림은 eventId를 SSE id로 보내고 재전송 버퍼에 보관 (재연결 시 Last-Event-ID 이후만 재전송)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SseNotificationService {
+
+    private final SseConnectionHub connectionHub;
+    private final SseClusterFanout clusterFanout;
+    private final NotificationReplayBuffer replayBuffer;
+
+    /**
+     * SSE 연결 생성
+     *
+     * @param lastEventId 재연결 시 브라우저가 보내는 Last-Event-ID (첫 연결이면 null)
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseConnection connection = connectionHub.connect(userId);
+
+        // 연결 확인 이벤트 전송 (이 연결에만)
+        connectionHub.send(connection, connectionHub.frame("connected", null,
+                Map.of("message", "SSE 연결 성공", "timestamp", LocalDateTime.now())));
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(connection, lastEventId);
+        }
+
+        return connection.getEmitter();
+    }
+
+    /**
+     * 끊겨 있는 동안 놓친 알림 재전송 (이 연결에만)
+     * - 연결 등록 후 재전송하므로 그 사이 실시간 알림과 중복/순서 바뀜이 있을 수 있음 (클라이언트는 eventId로 중복 제거)
+     * - Last-Event-ID가 보관 범위를 벗어났으면 남은 알림 전체와 replay-truncated를 보내 전체 새로고침 유도
+     */
+    private void replay(SseConnection connection, String lastEventId) {
+        NotificationReplay replay = replayBuffer.replaySince(connection.getUserId(), lastEventId);
+        for (ReplayEntry entry : replay.events()) {
+            connectionHub.send(connection, SseFrame.of("notification", entry.eventId(),
+                    entry.json().getBytes(StandardCharsets.UTF_8)));
+        }
+        if (!replay.complete()) {
+            connectionHub.send(connection, connectionHub.frame("replay-truncated", null,
+                    Map.of("lastEventId", lastEventId, "timestamp", LocalDateTime.now())));
+        }
+        log.info("놓친 알림 재전송: userId={}, lastEventId={}, replayed={}, complete={}",
+                connection.getUserId(), lastEventId, replay.events().size(), replay.complete());
+    }
+
+    /**
+     * 잔액 업데이트 알림 (Trace ID 포함)
+     */
+    public void sendBalanceUpdate(Long userId, Long newBalance) {
+        // MDC에서 Trace ID 가져오기
+        String traceId = MDC.get("traceId");
+        String spanId = MDC.get("spanId");
+
+        int nodes = clusterFanout.send(userId, "balance-update", null, Map.of(
+            "balance", newBalance,
+            "timestamp", LocalDateTime.now(),
+            "traceId", traceId != null ? traceId : "",
+            "spanId", spanId != null ? spanId : ""
+        ));
+        if (nodes > 0) {
+            log.info("잔액 업데이트 알림 전송: userId={}, balance={}, nodes={}, traceId={}",
+                userId, newBalance, nodes, traceId);
+        }
+    }
+
+    /**
+     * 거래 완료 알림 (Trace ID 포함)
+     */
+    public void sendTransactionComplete(Long userId, String txType, Long amount) {
+        // MDC에서 Trace ID 가져오기
+        String traceId = MDC.get("traceId");
+
+        int nodes = clusterFanout.send(userId, "transaction-complete", null, Map.of(
+            "txType", txType,
+            "amount", amount,
+            "timestamp", LocalDateTime.now(),
+            "traceId", traceId != null ? traceId : ""
+        ));
+        if (nodes > 0) {
+            log.info("거래 완료 알림 전송: userId={}, txType={}, nodes={}, traceId={}",
+                userId, txType, nodes, traceId);
+        }
+    }
+
+    /**
+     * 지갑 이벤트 알림 전송 (연결이 없어도 재전송 버퍼에는 보관)
+     */
+    public void sendNotification(Long userId, NotificationDto notification) {
+        SseFrame frame = connectionHub.frame("notification", notification.getEventId(), notification);
+        replayBuffer.append(userId, notification.getEventId(), new String(frame.data(), StandardCharsets.UTF_8));
+
+        int nodes = clusterFanout.send(userId, frame);
+        if (nodes > 0) {
+            log.info("알림 전송: userId={}, eventId={}, type={}, nodes={}",
+                    userId, notification.getEventId(), notification.getEventType(), nodes);
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 사용자 수
+     */
+    public int getConnectedCount() {
+        return connectionHub.getConnectedUserCount();
+    }
+}
@@ -0,0 +1,144 @@
+package com.prepaid.notification.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 클러스터 SSE 전송 (Redis pub/sub, 노드별 채널)
+ * - 이벤트를 소비한 노드와 사용자가 연결된 노드가 다를 수 있으므로 presence로 대상 노드를 찾아 전달
+ * - 이 노드의 연결은 허브로 바로 전송, 다른 노드는 sse:node:{nodeId} 채널로 발행 (연결이 없는 노드로는 보내지 않음)
+ * - 메시지 형식: userId \n name \n id \n json (JSON은 직렬화된 바이트를 그대로 전달)
+ */
+@Slf4j
+@Component
+public class SseClusterFanout implements MessageListener {
+
+    private static final String CHANNEL_PREFIX = "sse:node:";
+    private static final char SEPARATOR = '\n';
+
+    private final SseConnectionHub connectionHub;
+    private final SsePresenceRegistry presenceRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+
+    public SseClusterFanout(SseConnectionHub connectionHub,
+                            SsePresenceRegistry presenceRegistry,
+                            RedisTemplate<String, String> redisTemplate,
+                            MeterRegistry meterRegistry) {
+        this.connectionHub = connectionHub;
+        this.presenceRegistry = presenceRegistry;
+        this.redisTemplate = redisTemplate;
+        this.publishedCounter = Counter.builder("sse.fanout.messages")
+                .tag("direction", "published")
+                .description("다른 노드로 발행한 SSE 이벤트 수")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("sse.fanout.messages")
+                .tag("direction", "received")
+                .description("다른 노드에서 받은 SSE 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이 노드가 구독하는 채널
+     */
+    public String localChannel() {
+        return channel(presenceRegistry.getNodeId());
+    }
+
+    /**
+     * 사용자가 연결된 모든 노드로 전송
+     * - 연결이 어디에도 없으면 직렬화하지 않음
+     *
+     * @return 전달 대상 노드 수 (이 노드 포함)
+     */
+    public int send(Long userId, String name, String id, Object data) {
+        return route(userId, name, () -> connectionHub.frame(name, id, data));
+    }
+
+    /**
+     * 직렬화가 끝난 프레임을 사용자가 연결된 모든 노드로 전송
+     *
+     * @return 전달 대상 노드 수 (이 노드 포함)
+     */
+    public int send(Long userId, SseFrame frame) {
+        return route(userId, frame.name(), () -> frame);
+    }
+
+    private int route(Long userId, String name, Supplier<SseFrame> frameSupplier) {
+        String localNodeId = presenceRegistry.getNodeId();
+        Set<String> nodes = presenceRegistry.nodesOf(userId);
+        boolean local = connectionHub.isConnected(userId);
+        int remote = nodes.contains(localNodeId) ? nodes.size() - 1 : nodes.size();
+        if (!local && remote == 0) {
+            log.debug("SSE 연결 없음: userId={}, event={}", userId, name);
+            return 0;
+        }
+
+        SseFrame frame = frameSupplier.get();
+        if (local) {
+            connectionHub.send(userId, frame);
+        }
+        if (remote > 0) {
+            String message = encode(userId, frame);
+            for (String nodeId : nodes) {
+                if (!nodeId.equals(localNodeId)) {
+                    publish(nodeId, message);
+                }
+            }
+        }
+        return remote + (local ? 1 : 0);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        receivedCounter.increment();
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        int second = body.indexOf(SEPARATOR, first + 1);
+        int third = body.indexOf(SEPARATOR, second + 1);
+        if (first < 0 || second < 0 || third < 0) {
+            log.warn("잘못된 SSE 전달 메시지 무시: {}", body);
+            return;
+        }
+
+        try {
+            Long userId = Long.valueOf(body.substring(0, first));
+            String name = body.substring(first + 1, second);
+            String id = second + 1 == third ? null : body.substring(second + 1, third);
+            byte[] json = body.substring(third + 1).getBytes(StandardCharsets.UTF_8);
+            connectionHub.send(userId, SseFrame.of(name, id, json));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 SSE 전달 메시지 무시: {}", body);
+        }
+    }
+
+    private void publish(String nodeId, String message) {
+        try {
+            redisTemplate.convertAndSend(channel(nodeId), message);
+            publishedCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("SSE 이벤트 노드 전달 실패: nodeId={}", nodeId, e);
+        }
+    }
+
+    static String encode(Long userId, SseFrame frame) {
+        return userId + String.valueOf(SEPARATOR)
+                + frame.name() + SEPARATOR
+                + (frame.id() != null ? frame.id() : "") + SEPARATOR
+                + new String(frame.data(), StandardCharsets.UTF_8);
+    }
+
+    private static String channel(String nodeId) {
+        return CHANNEL_PREFIX + nodeId;
+    }
+}
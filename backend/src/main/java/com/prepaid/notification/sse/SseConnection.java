@@ -0,0 +1,80 @@
+package com.prepaid.notification.sse;
+
+import com.prepaid.common.concurrent.MpscRingBuffer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 사용자 한 명의 SSE 연결 하나 (탭/기기 단위)
+ * - 같은 사용자의 연결들은 샤드 안에서 이중 연결 리스트로 묶여 O(1)로 제거
+ * - 송신 프레임은 연결별 고정 크기 큐에 넣고, 가상 스레드 하나가 순서대로 소켓에 기록
+ */
+public final class SseConnection {
+
+    private final long id;
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final long connectedAt;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // 샤드 락으로 보호
+    SseConnection prev;
+    SseConnection next;
+
+    // 송신 큐 (소비는 writing을 잡은 쓰기 스레드만)
+    final MpscRingBuffer<SseFrame> outbound;
+    // 최신 값만 의미 있는 이벤트 (아직 쓰지 못한 이전 값은 덮어씀)
+    final AtomicReference<SseFrame> latest = new AtomicReference<>();
+    final AtomicBoolean writing = new AtomicBoolean();
+    // 큐가 가득 차기 시작한 시각 (0이면 여유 있음)
+    final AtomicLong fullSince = new AtomicLong();
+    // 마지막으로 소켓 쓰기를 마친 시각, 진행 중인 쓰기의 시작 시각 (0이면 쓰는 중 아님)
+    volatile long lastWriteAt;
+    volatile long writeStartedAt;
+
+    SseConnection(long id, Long userId, SseEmitter emitter, long connectedAt, int queueSize) {
+        this.id = id;
+        this.userId = userId;
+        this.emitter = emitter;
+        this.connectedAt = connectedAt;
+        this.outbound = new MpscRingBuffer<>(queueSize);
+        this.lastWriteAt = connectedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public long getConnectedAt() {
+        return connectedAt;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 아직 쓰지 못한 프레임 수 (최신 값 이벤트 포함)
+     */
+    public int getPendingCount() {
+        return outbound.size() + (latest.get() != null ? 1 : 0);
+    }
+
+    /**
+     * 닫힘 표시 (처음 한 번만 true)
+     */
+    boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+}
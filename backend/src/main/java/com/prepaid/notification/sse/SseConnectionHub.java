@@ -0,0 +1,453 @@
+package com.prepaid.notification.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SSE 연결 허브 (사용자당 여러 연결 - 탭/기기)
+ * - userId 해시로 나눈 샤드마다 락 하나 (연결 추가/제거가 다른 사용자와 경합하지 않도록)
+ * - 같은 사용자의 연결은 이중 연결 리스트로 묶어 O(1) 제거
+ * - 전송 시 샤드 락 안에서는 대상 연결만 복사하고, 프레임은 연결별 송신 큐에 넣기만 함
+ *   (소켓 쓰기는 연결마다 가상 스레드 하나가 수행 - Kafka 리스너 등 호출 스레드는 I/O로 막히지 않음)
+ * - 잔액처럼 최신 값만 의미 있는 이벤트는 아직 쓰지 못한 이전 값을 덮어씀
+ * - 송신 큐가 slow-consumer-timeout 동안 계속 가득 차 있으면 느린 클라이언트로 보고 연결 종료
+ * - 이벤트는 SseFrame으로 한 번만 직렬화해 모든 연결에 같은 바이트를 기록
+ * - 연결 추가/사용자의 마지막 연결 종료를 SsePresenceListener에 알림 (클러스터 presence 등록)
+ */
+@Slf4j
+@Component
+public class SseConnectionHub {
+
+    // 최신 값만 전달하면 되는 이벤트 (밀린 이전 값은 버림)
+    private static final Set<String> LATEST_ONLY_EVENTS = Set.of("balance-update");
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerUser;
+    private final int queueSize;
+    private final long slowConsumerTimeoutMillis;
+
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger userCount = new AtomicInteger();
+    private final List<SsePresenceListener> presenceListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+    private final Counter brokenPipeCounter;
+    private final Timer writeTimer;
+
+    public SseConnectionHub(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${notification.sse.shards:64}") int shardCount,
+                            @Value("${notification.sse.timeout:30m}") Duration timeout,
+                            @Value("${notification.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                            @Value("${notification.sse.queue-size:64}") int queueSize,
+                            @Value("${notification.sse.slow-consumer-timeout:10s}") Duration slowConsumerTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.queueSize = queueSize;
+        this.slowConsumerTimeoutMillis = slowConsumerTimeout.toMillis();
+
+        Gauge.builder("sse.connections", connectionCount, AtomicInteger::get)
+                .description("현재 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.users", userCount, AtomicInteger::get)
+                .description("SSE로 연결된 사용자 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("sse.frames")
+                .tag("outcome", "coalesced")
+                .description("쓰기 전에 새 값으로 대체된 SSE 프레임 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("sse.frames")
+                .tag("outcome", "dropped")
+                .description("송신 큐가 가득 차 버린 SSE 프레임 수")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("sse.slow-consumer.evictions")
+                .description("송신 큐가 계속 가득 차 종료한 연결 수")
+                .register(meterRegistry);
+        this.brokenPipeCounter = Counter.builder("sse.connections.reaped")
+                .tag("reason", "broken-pipe")
+                .description("정리한 끊어진 SSE 연결 수")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("sse.write")
+                .description("SSE 프레임 소켓 쓰기 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void addPresenceListener(SsePresenceListener listener) {
+        presenceListeners.add(listener);
+    }
+
+    /**
+     * 새 연결 등록 (사용자당 최대 연결 수를 넘으면 가장 오래된 연결을 닫음)
+     */
+    public SseConnection connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(
+                connectionIds.incrementAndGet(), userId, emitter, System.currentTimeMillis(), queueSize);
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> {
+            log.debug("SSE 연결 에러: userId={}, connectionId={}", userId, connection.getId(), e);
+            unregister(connection);
+        });
+
+        SseConnection evicted = register(connection);
+        presenceListeners.forEach(listener -> listener.userConnected(userId));
+        if (evicted != null) {
+            log.info("사용자당 최대 연결 수 초과로 오래된 연결 종료: userId={}, connectionId={}",
+                    userId, evicted.getId());
+            completeAsync(evicted);
+        }
+
+        log.info("SSE 연결 추가: userId={}, connectionId={}, 현재 연결 수={}",
+                userId, connection.getId(), connectionCount.get());
+        return connection;
+    }
+
+    /**
+     * 이벤트 직렬화 (사용자/연결 수와 무관하게 한 번)
+     */
+    public SseFrame frame(String name, String id, Object data) {
+        try {
+            return SseFrame.of(name, id, objectMapper.writeValueAsBytes(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE 이벤트 직렬화 실패: " + name, e);
+        }
+    }
+
+    /**
+     * 사용자의 모든 연결에 전송 (송신 큐에 넣고 바로 반환)
+     *
+     * @return 프레임을 받아들인 연결 수
+     */
+    public int send(Long userId, SseFrame frame) {
+        SseConnection[] targets = connectionsOf(userId);
+        int delivered = 0;
+        for (SseConnection connection : targets) {
+            if (send(connection, frame)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 연결 하나에 전송 (송신 큐에 넣고 바로 반환)
+     * - 큐가 가득 차면 프레임을 버리고 false, 가득 찬 상태가 slow-consumer-timeout 넘게 이어지면 연결 종료
+     */
+    public boolean send(SseConnection connection, SseFrame frame) {
+        if (connection.isClosed()) {
+            return false;
+        }
+
+        if (LATEST_ONLY_EVENTS.contains(frame.name())) {
+            if (connection.latest.getAndSet(frame) != null) {
+                coalescedCounter.increment();
+            }
+        } else if (connection.outbound.offer(frame)) {
+            if (connection.fullSince.get() != 0) {
+                connection.fullSince.set(0);
+            }
+        } else {
+            droppedCounter.increment();
+            evictIfSlow(connection, frame);
+            return false;
+        }
+
+        scheduleWrite(connection);
+        return true;
+    }
+
+    /**
+     * 연결 종료 (허브에서 제거 후 응답 완료)
+     */
+    public void close(SseConnection connection) {
+        unregister(connection);
+        completeQuietly(connection);
+    }
+
+    public boolean isConnected(Long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            return shard.heads.containsKey(userId);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getConnectedUserCount() {
+        return userCount.get();
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 샤드 하나의 모든 연결 스냅샷 (하트비트 휠의 한 칸)
+     */
+    List<SseConnection> connectionsInShard(int index) {
+        Shard shard = shards[index];
+        shard.lock.lock();
+        try {
+            List<SseConnection> snapshot = new ArrayList<>();
+            for (SseConnection head : shard.heads.values()) {
+                for (SseConnection c = head; c != null; c = c.next) {
+                    snapshot.add(c);
+                }
+            }
+            return snapshot;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private SseConnection[] connectionsOf(Long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            SseConnection head = shard.heads.get(userId);
+            if (head == null) {
+                return new SseConnection[0];
+            }
+            int size = 0;
+            for (SseConnection c = head; c != null; c = c.next) {
+                size++;
+            }
+            SseConnection[] snapshot = new SseConnection[size];
+            int i = 0;
+            for (SseConnection c = head; c != null; c = c.next) {
+                snapshot[i++] = c;
+            }
+            return snapshot;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * 연결을 사용자 리스트 맨 앞에 추가
+     *
+     * @return 최대 연결 수를 넘어 밀려난 가장 오래된 연결 (없으면 null)
+     */
+    private SseConnection register(SseConnection connection) {
+        Shard shard = shardOf(connection.getUserId());
+        shard.lock.lock();
+        try {
+            SseConnection head = shard.heads.get(connection.getUserId());
+            connection.next = head;
+            if (head != null) {
+                head.prev = connection;
+            } else {
+                userCount.incrementAndGet();
+            }
+            shard.heads.put(connection.getUserId(), connection);
+            connectionCount.incrementAndGet();
+
+            // 리스트 끝이 가장 오래된 연결
+            int size = 0;
+            SseConnection oldest = connection;
+            for (SseConnection c = connection; c != null; c = c.next) {
+                size++;
+                oldest = c;
+            }
+            if (size > maxConnectionsPerUser && oldest.markClosed()) {
+                unlink(shard, oldest);
+                return oldest;
+            }
+            return null;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void unregister(SseConnection connection) {
+        if (!connection.markClosed()) {
+            return;
+        }
+        Shard shard = shardOf(connection.getUserId());
+        boolean lastConnection;
+        shard.lock.lock();
+        try {
+            lastConnection = unlink(shard, connection);
+        } finally {
+            shard.lock.unlock();
+        }
+        log.debug("SSE 연결 제거: userId={}, connectionId={}", connection.getUserId(), connection.getId());
+
+        if (lastConnection) {
+            presenceListeners.forEach(listener -> listener.userDisconnected(connection.getUserId()));
+        }
+    }
+
+    /**
+     * 리스트에서 분리 (샤드 락 보유 상태에서 호출)
+     *
+     * @return 사용자의 마지막 연결이었으면 true
+     */
+    private boolean unlink(Shard shard, SseConnection connection) {
+        SseConnection prev = connection.prev;
+        SseConnection next = connection.next;
+        boolean lastConnection = false;
+        if (prev != null) {
+            prev.next = next;
+        } else if (next != null) {
+            shard.heads.put(connection.getUserId(), next);
+        } else {
+            shard.heads.remove(connection.getUserId());
+            userCount.decrementAndGet();
+            lastConnection = true;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        connection.prev = null;
+        connection.next = null;
+        connectionCount.decrementAndGet();
+        return lastConnection;
+    }
+
+    private void evictIfSlow(SseConnection connection, SseFrame frame) {
+        long now = System.currentTimeMillis();
+        long fullSince = connection.fullSince.get();
+        if (fullSince == 0) {
+            connection.fullSince.compareAndSet(0, now);
+            fullSince = now;
+        }
+        if (now - fullSince >= slowConsumerTimeoutMillis) {
+            log.warn("느린 SSE 클라이언트 연결 종료: userId={}, connectionId={}, pending={}, event={}",
+                    connection.getUserId(), connection.getId(), connection.getPendingCount(), frame.name());
+            evictedCounter.increment();
+            evict(connection);
+        }
+    }
+
+    /**
+     * 허브에서 바로 제거하고 응답 완료는 별도 가상 스레드에서 수행
+     * - 쓰기 스레드가 소켓에 막혀 있으면 complete()도 같은 락을 기다리므로 호출 스레드에서 하지 않음
+     */
+    void evict(SseConnection connection) {
+        unregister(connection);
+        completeAsync(connection);
+    }
+
+    /**
+     * 쓰기 스레드가 없으면 시작 (연결당 동시에 하나)
+     */
+    private void scheduleWrite(SseConnection connection) {
+        if (connection.writing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("sse-writer-" + connection.getId()).start(() -> drain(connection));
+        }
+    }
+
+    /**
+     * 송신 큐를 비울 때까지 소켓에 기록 (큐 순서 → 최신 값 이벤트 순)
+     * - 끝내기 직전에 들어온 프레임은 writing 해제 후 다시 확인해 처리
+     */
+    private void drain(SseConnection connection) {
+        do {
+            SseFrame frame;
+            while ((frame = connection.outbound.poll()) != null) {
+                if (!write(connection, frame)) {
+                    return;
+                }
+            }
+            SseFrame latest = connection.latest.getAndSet(null);
+            if (latest != null && !write(connection, latest)) {
+                return;
+            }
+            connection.writing.set(false);
+        } while (!connection.isClosed()
+                && (!connection.outbound.isEmpty() || connection.latest.get() != null)
+                && connection.writing.compareAndSet(false, true));
+    }
+
+    /**
+     * 소켓 기록 (실패하면 연결을 닫고 false)
+     */
+    private boolean write(SseConnection connection, SseFrame frame) {
+        if (connection.isClosed()) {
+            return false;
+        }
+        long startedAt = System.nanoTime();
+        connection.writeStartedAt = System.currentTimeMillis();
+        try {
+            connection.getEmitter().send(frame.parts());
+            connection.lastWriteAt = System.currentTimeMillis();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패, 연결 종료: userId={}, connectionId={}, event={}",
+                    connection.getUserId(), connection.getId(), frame.name());
+            if (!connection.isClosed()) {
+                brokenPipeCounter.increment();
+            }
+            close(connection);
+            return false;
+        } finally {
+            connection.writeStartedAt = 0;
+            writeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void completeAsync(SseConnection connection) {
+        Thread.ofVirtual().name("sse-close-" + connection.getId()).start(() -> completeQuietly(connection));
+    }
+
+    private void completeQuietly(SseConnection connection) {
+        try {
+            connection.getEmitter().complete();
+        } catch (RuntimeException e) {
+            log.debug("SSE 응답 완료 실패 (이미 종료됨): connectionId={}", connection.getId());
+        }
+    }
+
+    private Shard shardOf(Long userId) {
+        int h = userId.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, SseConnection> heads = new HashMap<>();
+    }
+}
@@ -0,0 +1,35 @@
+package com.prepaid.notification.sse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 직렬화가 끝난 SSE 이벤트
+ * - 데이터는 JSON 바이트로 한 번만 만들고, 같은 사용자의 모든 연결에 그대로 기록
+ *
+ * @param name  이벤트 이름 (event: 필드)
+ * @param id    이벤트 ID (id: 필드, 없으면 null)
+ * @param data  직렬화된 JSON (다른 노드로 전달할 때 그대로 사용)
+ * @param parts SseEmitter에 넘길 프레임 조각 (순서 유지, 불변)
+ */
+public record SseFrame(String name, String id, byte[] data, Set<DataWithMediaType> parts) {
+
+    /**
+     * 연결 확인용 SSE 주석 프레임 (": heartbeat" - 클라이언트 EventSource에는 이벤트로 전달되지 않음)
+     */
+    static final SseFrame HEARTBEAT = new SseFrame("heartbeat", null, new byte[0],
+            Collections.unmodifiableSet(SseEmitter.event().comment("heartbeat").build()));
+
+    public static SseFrame of(String name, String id, byte[] json) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name);
+        if (id != null) {
+            builder.id(id);
+        }
+        builder.data(json, MediaType.APPLICATION_JSON);
+        return new SseFrame(name, id, json, Collections.unmodifiableSet(builder.build()));
+    }
+}
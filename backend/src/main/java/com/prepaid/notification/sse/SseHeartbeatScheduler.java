@@ -0,0 +1,79 @@
+package com.prepaid.notification.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 하트비트 + 유휴 연결 정리
+ * - 허브의 샤드(userId 해시)를 타이머 휠의 칸으로 사용: 한 틱에 한 샤드만 훑어 전체 연결을 고르게 분산 처리
+ *   (하트비트 주기 = tick-ms x 샤드 수, 연결마다 타이머를 두지 않고 스레드 하나로 처리)
+ * - heartbeat-interval 동안 아무것도 쓰지 않은 연결에만 하트비트 주석 프레임을 송신 큐에 넣음
+ *   (끊어진 연결은 쓰기 스레드의 쓰기 실패로 감지되어 정리됨)
+ * - 소켓 쓰기 하나가 stall-timeout 넘게 끝나지 않는 연결은 죽은 TCP로 보고 정리
+ */
+@Slf4j
+@Component
+public class SseHeartbeatScheduler {
+
+    private final SseConnectionHub connectionHub;
+    private final long heartbeatIntervalMillis;
+    private final long stallTimeoutMillis;
+    private final Counter heartbeatCounter;
+    private final Counter stalledCounter;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public SseHeartbeatScheduler(SseConnectionHub connectionHub,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.sse.heartbeat.interval:15s}") Duration heartbeatInterval,
+                                 @Value("${notification.sse.heartbeat.stall-timeout:30s}") Duration stallTimeout) {
+        this.connectionHub = connectionHub;
+        this.heartbeatIntervalMillis = heartbeatInterval.toMillis();
+        this.stallTimeoutMillis = stallTimeout.toMillis();
+        this.heartbeatCounter = Counter.builder("sse.heartbeats")
+                .description("송신 큐에 넣은 하트비트 수")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("sse.connections.reaped")
+                .tag("reason", "stalled")
+                .description("정리한 끊어진 SSE 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 휠 한 칸 처리
+     */
+    @Scheduled(fixedRateString = "${notification.sse.heartbeat.tick-ms:250}")
+    public void tick() {
+        int index = cursor.getAndUpdate(i -> (i + 1) % connectionHub.shardCount());
+        sweep(index, System.currentTimeMillis());
+    }
+
+    void sweep(int shardIndex, long now) {
+        List<SseConnection> connections = connectionHub.connectionsInShard(shardIndex);
+        int reaped = 0;
+        for (SseConnection connection : connections) {
+            long writeStartedAt = connection.writeStartedAt;
+            if (writeStartedAt != 0 && now - writeStartedAt > stallTimeoutMillis) {
+                stalledCounter.increment();
+                connectionHub.evict(connection);
+                reaped++;
+            } else if (now - connection.lastWriteAt >= heartbeatIntervalMillis
+                    && connection.getPendingCount() == 0
+                    && connectionHub.send(connection, SseFrame.HEARTBEAT)) {
+                heartbeatCounter.increment();
+            }
+        }
+        if (reaped > 0) {
+            log.info("응답 없는 SSE 연결 정리: shard={}, reaped={}, 현재 연결 수={}",
+                    shardIndex, reaped, connectionHub.getConnectionCount());
+        }
+    }
+}
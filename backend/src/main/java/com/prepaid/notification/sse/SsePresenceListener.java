@@ -0,0 +1,18 @@
+package com.prepaid.notification.sse;
+
+/**
+ * 노드의 사용자 연결 상태 변화 리스너
+ * - 락 밖에서 호출되므로 연결/종료 알림 순서가 뒤바뀔 수 있음 (구현체가 현재 상태를 다시 확인)
+ */
+public interface SsePresenceListener {
+
+    /**
+     * 이 노드에 사용자의 연결이 추가됨 (연결마다 호출 - presence TTL 갱신 겸)
+     */
+    void userConnected(Long userId);
+
+    /**
+     * 이 노드에서 사용자의 마지막 연결이 끊김
+     */
+    void userDisconnected(Long userId);
+}
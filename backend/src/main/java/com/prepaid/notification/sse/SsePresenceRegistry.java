@@ -0,0 +1,104 @@
+package com.prepaid.notification.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * SSE 연결 presence 레지스트리 (클러스터 공용, Redis SET)
+ * - sse:presence:{userId} = 사용자의 연결을 가진 노드 ID 집합
+ * - 허브가 알려주는 연결 추가/마지막 연결 종료 시점에만 갱신 (이벤트마다 쓰지 않음)
+ * - 노드가 비정상 종료되어 남은 항목은 TTL로 정리
+ * - 해제(SREM)와 같은 사용자의 재연결 등록(SADD)이 엇갈리면 해제 후 다시 확인해 재등록
+ *   (반대로 남는 항목은 연결 없는 노드로의 발행일 뿐이며 TTL로 정리)
+ */
+@Slf4j
+@Component
+public class SsePresenceRegistry implements SsePresenceListener {
+
+    private static final String KEY_PREFIX = "sse:presence:";
+
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SseConnectionHub connectionHub;
+    private final String nodeId;
+    private final Duration ttl;
+
+    public SsePresenceRegistry(RedisTemplate<String, String> redisTemplate,
+                               SseConnectionHub connectionHub,
+                               @Value("${notification.node-id:}") String nodeId,
+                               @Value("${notification.sse.presence-ttl:2h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.connectionHub = connectionHub;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.ttl = ttl;
+        connectionHub.addPresenceListener(this);
+        log.info("SSE 노드 ID: {}", this.nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void userConnected(Long userId) {
+        try {
+            redisTemplate.execute(ADD_SCRIPT, List.of(key(userId)), nodeId, String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("SSE presence 등록 실패 (다른 노드 이벤트 수신 불가): userId={}", userId, e);
+        }
+    }
+
+    /**
+     * 마지막 연결 종료 시 presence 해제
+     * - 확인과 SREM 사이에 재연결되면 그 연결의 SADD가 SREM보다 먼저 반영될 수 있으므로
+     *   SREM 뒤에 다시 확인해 연결이 있으면 재등록 (재연결이 이 확인 뒤라면 그 SADD가 SREM 이후에 실행됨)
+     */
+    @Override
+    public void userDisconnected(Long userId) {
+        // 종료 알림 사이에 새 연결이 생겼으면 유지
+        if (connectionHub.isConnected(userId)) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().remove(key(userId), nodeId);
+        } catch (RuntimeException e) {
+            log.warn("SSE presence 해제 실패 (TTL로 정리): userId={}", userId, e);
+            return;
+        }
+        if (connectionHub.isConnected(userId)) {
+            log.debug("SSE presence 해제 중 재연결, 재등록: userId={}", userId);
+            userConnected(userId);
+        }
+    }
+
+    /**
+     * 사용자의 연결을 가진 노드 목록
+     * - Redis 장애 시 이 노드만 반환 (로컬 연결에는 계속 전달)
+     */
+    public Set<String> nodesOf(Long userId) {
+        try {
+            Set<String> nodes = redisTemplate.opsForSet().members(key(userId));
+            return nodes != null ? nodes : Set.of();
+        } catch (RuntimeException e) {
+            log.warn("SSE presence 조회 실패 (로컬 전송만 수행): userId={}", userId, e);
+            return connectionHub.isConnected(userId) ? Set.of(nodeId) : Set.of();
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.prepaid.payment.domain;
 
+import com.prepaid.common.limit.LimitReservation;
 import com.prepaid.domain.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -43,6 +44,12 @@ public class Payment {
     
     @Column(columnDefinition = "TEXT")
     private String failureReason;   // 실패 사유
+
+    @Column(length = 255)
+    private String limitReservationKey;     // 일일 한도 예약 Redis 키 (제한 없음이면 null)
+
+    @Column(length = 255)
+    private String limitReservationMember;  // SLIDING 윈도우 예약 멤버 (FIXED면 null)
     
     @Column(nullable = false, updatable = false)
     @Builder.Default
@@ -52,6 +59,15 @@ public class Payment {
     private LocalDateTime failedAt;
     private LocalDateTime cancelledAt;
     
+    /**
+     * 이 결제의 일일 한도 예약 (실패 확정 시 반환용)
+     */
+    public LimitReservation limitReservation() {
+        return limitReservationKey == null
+                ? LimitReservation.unlimited()
+                : LimitReservation.restore(limitReservationKey, limitReservationMember, amount);
+    }
+
     /**
      * 결제 승인 완료
      */
@@ -0,0 +1,11 @@
+package com.prepaid.payment.dto;
+
+/**
+ * 충전/사용/환불 처리 결과 응답 DTO (같은 멱등성 키로 재요청하면 같은 본문을 재전송)
+ */
+public record PaymentResultResponse(
+    String referenceId,   // 주문 ID 또는 가맹점 거래 ID
+    Long amount,          // 처리 금액
+    String message        // 응답 메시지
+) {
+}
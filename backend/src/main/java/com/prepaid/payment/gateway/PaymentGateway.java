@@ -0,0 +1,27 @@
+package com.prepaid.payment.gateway;
+
+import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.dto.TossPaymentResponse;
+
+/**
+ * 결제 게이트웨이 클라이언트
+ * - 호출은 DB 트랜잭션 밖에서 수행 (원격 호출 동안 커넥션을 잡지 않도록)
+ * - 실패는 PaymentGatewayException (회로 차단/동시 호출 초과는 EXTERNAL_SERVICE_UNAVAILABLE)
+ */
+public interface PaymentGateway {
+
+    /**
+     * 결제 승인
+     */
+    TossPaymentResponse confirm(PaymentConfirmRequest request);
+
+    /**
+     * 결제 취소 (부분 취소 시 cancelAmount 지정, 전액이면 null)
+     */
+    TossPaymentResponse cancel(String paymentKey, String cancelReason, Long cancelAmount);
+
+    /**
+     * 주문 ID로 결제 조회 (결과 불명/중단된 결제 확정용)
+     */
+    TossPaymentResponse getPaymentByOrderId(String orderId);
+}
@@ -0,0 +1,67 @@
+package com.prepaid.payment.gateway;
+
+import com.prepaid.common.exception.specific.PaymentGatewayException;
+import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.dto.TossPaymentResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬/테스트용 결제 게이트웨이 (toss.stub.enabled=true)
+ * - 승인 요청은 항상 DONE으로 처리하고 주문 ID별로 메모리에 보관 (조회/취소에 사용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toss.stub.enabled", havingValue = "true")
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final Map<String, TossPaymentResponse> paymentsByOrderId = new ConcurrentHashMap<>();
+
+    public StubPaymentGateway() {
+        log.warn("Stub 결제 게이트웨이 사용 중 (실제 Toss 호출 없음)");
+    }
+
+    @Override
+    public TossPaymentResponse confirm(PaymentConfirmRequest request) {
+        return paymentsByOrderId.computeIfAbsent(request.getOrderId(), orderId -> {
+            TossPaymentResponse response = new TossPaymentResponse();
+            response.setPaymentKey(request.getPaymentKey());
+            response.setOrderId(orderId);
+            response.setStatus("DONE");
+            response.setTotalAmount(request.getAmount());
+            response.setBalanceAmount(request.getAmount());
+            response.setApprovedAt(OffsetDateTime.now().toString());
+            return response;
+        });
+    }
+
+    @Override
+    public TossPaymentResponse cancel(String paymentKey, String cancelReason, Long cancelAmount) {
+        TossPaymentResponse payment = paymentsByOrderId.values().stream()
+                .filter(candidate -> paymentKey.equals(candidate.getPaymentKey()))
+                .findFirst()
+                .orElseThrow(StubPaymentGateway::notFound);
+        long remaining = payment.getBalanceAmount() - (cancelAmount != null ? cancelAmount : payment.getBalanceAmount());
+        payment.setBalanceAmount(remaining);
+        payment.setStatus(remaining == 0 ? "CANCELED" : "PARTIAL_CANCELED");
+        return payment;
+    }
+
+    @Override
+    public TossPaymentResponse getPaymentByOrderId(String orderId) {
+        TossPaymentResponse payment = paymentsByOrderId.get(orderId);
+        if (payment == null) {
+            throw notFound();
+        }
+        return payment;
+    }
+
+    private static PaymentGatewayException notFound() {
+        return new PaymentGatewayException("NOT_FOUND_PAYMENT 존재하지 않는 결제 정보 입니다.", 404);
+    }
+}
@@ -0,0 +1,247 @@
+package com.prepaid.payment.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepaid.common.exception.ErrorCode;
+import com.prepaid.common.exception.specific.PaymentGatewayException;
+import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.dto.TossPaymentResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toss Payments 게이트웨이 클라이언트
+ * - JDK HttpClient (HTTP/2 우선, 커넥션 재사용), 연결/응답 타임아웃
+ * - Bulkhead: 동시 호출 수 제한 (Toss 지연 시 요청 스레드가 무한정 쌓이지 않도록)
+ * - CircuitBreaker: 5xx/타임아웃/느린 호출 비율이 높으면 일정 시간 즉시 실패 (4xx는 집계하지 않음)
+ * - 엔드포인트별 지연 히스토그램: payment.gateway.request (endpoint, outcome 태그)
+ */
+@Slf4j
+public class TossPaymentGateway implements PaymentGateway {
+
+    private static final String NAME = "toss";
+    private static final List<String> ENDPOINTS = List.of("confirm", "cancel", "get");
+    private static final List<String> OUTCOMES =
+            List.of("success", "rejected", "circuit_open", "client_error", "server_error", "unknown");
+
+    /**
+     * 게이트웨이 설정
+     */
+    public record Settings(String baseUrl,
+                           String secretKey,
+                           Duration connectTimeout,
+                           Duration readTimeout,
+                           int maxConcurrentCalls,
+                           Duration maxWait,
+                           float failureRateThreshold,
+                           Duration slowCallThreshold,
+                           int slidingWindowSize,
+                           Duration waitInOpenState) {
+    }
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration readTimeout;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, Map<String, Timer>> requestTimers;
+
+    public TossPaymentGateway(Settings settings, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = settings.baseUrl();
+        this.readTimeout = settings.readTimeout();
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((settings.secretKey() + ":").getBytes(StandardCharsets.UTF_8));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.connectTimeout())
+                .build();
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.maxConcurrentCalls())
+                .maxWaitDuration(settings.maxWait())
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.slidingWindowSize())
+                .minimumNumberOfCalls(Math.min(settings.slidingWindowSize(), 10))
+                .failureRateThreshold(settings.failureRateThreshold())
+                .slowCallDurationThreshold(settings.slowCallThreshold())
+                .slowCallRateThreshold(settings.failureRateThreshold())
+                .waitDurationInOpenState(settings.waitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreException(e -> e instanceof PaymentGatewayException gatewayException
+                        && gatewayException.isClientError())
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        // 엔드포인트 x 결과 조합의 타이머를 미리 등록 (호출마다 빌더/레지스트리 조회를 하지 않도록)
+        Map<String, Map<String, Timer>> timers = new HashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            Map<String, Timer> byOutcome = new HashMap<>();
+            for (String outcome : OUTCOMES) {
+                byOutcome.put(outcome, Timer.builder("payment.gateway.request")
+                        .description("결제 게이트웨이 호출 시간")
+                        .tag("gateway", NAME)
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            timers.put(endpoint, Map.copyOf(byOutcome));
+        }
+        this.requestTimers = Map.copyOf(timers);
+    }
+
+    @Override
+    public TossPaymentResponse confirm(PaymentConfirmRequest request) {
+        return call("confirm", "/confirm", request);
+    }
+
+    @Override
+    public TossPaymentResponse cancel(String paymentKey, String cancelReason, Long cancelAmount) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cancelReason", cancelReason);
+        if (cancelAmount != null) {
+            body.put("cancelAmount", cancelAmount);
+        }
+        return call("cancel", "/" + encode(paymentKey) + "/cancel", body);
+    }
+
+    @Override
+    public TossPaymentResponse getPaymentByOrderId(String orderId) {
+        return call("get", "/orders/" + encode(orderId), null);
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 게이트웨이 호출 (body가 null이면 GET, 아니면 JSON POST)
+     */
+    private TossPaymentResponse call(String endpoint, String path, Object body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return bulkhead.executeSupplier(() -> circuitBreaker.executeSupplier(() -> send(path, body)));
+        } catch (BulkheadFullException e) {
+            outcome = "rejected";
+            log.warn("Toss 동시 호출 한도 초과: endpoint={}", endpoint);
+            throw new PaymentGatewayException(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE,
+                    "결제 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", false);
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            log.warn("Toss 회로 차단 상태, 즉시 실패: endpoint={}", endpoint);
+            throw new PaymentGatewayException(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE,
+                    "결제 시스템이 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.", false);
+        } catch (PaymentGatewayException e) {
+            outcome = e.isClientError() ? "client_error" : e.isOutcomeUnknown() ? "unknown" : "server_error";
+            throw e;
+        } finally {
+            sample.stop(requestTimers.get(endpoint).get(outcome));
+        }
+    }
+
+    private TossPaymentResponse send(String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(readTimeout)
+                .header("Authorization", authorization);
+        if (body == null) {
+            builder.GET();
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        }
+        HttpRequest request = builder.build();
+
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (HttpConnectTimeoutException e) {
+            // 연결 전 실패 - 요청이 전달되지 않음
+            throw new PaymentGatewayException(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE, "결제 시스템 연결 시간 초과", false);
+        } catch (HttpTimeoutException e) {
+            throw new PaymentGatewayException(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE, "결제 시스템 응답 시간 초과", true);
+        } catch (IOException e) {
+            throw new PaymentGatewayException(ErrorCode.PAYMENT_GATEWAY_ERROR, "결제 시스템 통신 오류: " + e.getMessage(), true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException(ErrorCode.PAYMENT_GATEWAY_ERROR, "결제 시스템 호출 중단", true);
+        }
+
+        if (response.statusCode() >= 400) {
+            throw new PaymentGatewayException(errorMessage(response), response.statusCode());
+        }
+
+        try {
+            return objectMapper.readValue(response.body(), TossPaymentResponse.class);
+        } catch (IOException e) {
+            throw new PaymentGatewayException(ErrorCode.PAYMENT_GATEWAY_ERROR, "결제 시스템 응답 해석 실패", true);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("결제 요청 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * Toss 에러 응답 {"code": ..., "message": ...}에서 메시지 추출
+     */
+    private String errorMessage(HttpResponse<byte[]> response) {
+        try {
+            JsonNode error = objectMapper.readTree(response.body());
+            if (error != null && error.hasNonNull("message")) {
+                return error.path("code").asText("") + " " + error.get("message").asText();
+            }
+        } catch (IOException ignored) {
+            // 에러 본문이 JSON이 아니면 상태 코드만 사용
+        }
+        return "Toss 결제 요청 실패 (HTTP " + response.statusCode() + ")";
+    }
+}
@@ -2,8 +2,14 @@ package com.prepaid.payment.repository;
 
 import com.prepaid.payment.domain.Payment;
 import com.prepaid.payment.domain.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +32,25 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * 결제 키로 조회
      */
     Optional<Payment> findByPaymentKey(String paymentKey);
+
+    /**
+     * 결제 잠금 조회 (승인 완료 처리와 복구 스위퍼의 동시 처리 방지)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 복구 대상 결제 ID 조회 (기준 시각 이전에 생성되어 아직 PENDING인 결제, id keyset)
+     */
+    @Query("""
+            SELECT p.id FROM Payment p
+            WHERE p.status = com.prepaid.payment.domain.PaymentStatus.PENDING
+              AND p.createdAt < :before
+              AND p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<Long> findStalePendingIds(@Param("before") LocalDateTime before,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
 }
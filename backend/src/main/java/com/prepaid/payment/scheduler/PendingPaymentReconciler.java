@@ -0,0 +1,136 @@
+package com.prepaid.payment.scheduler;
+
+import com.prepaid.common.exception.specific.PaymentGatewayException;
+import com.prepaid.payment.domain.Payment;
+import com.prepaid.payment.domain.PaymentStatus;
+import com.prepaid.payment.dto.TossPaymentResponse;
+import com.prepaid.payment.gateway.PaymentGateway;
+import com.prepaid.payment.repository.PaymentRepository;
+import com.prepaid.payment.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PENDING 결제 복구 스위퍼
+ * - Toss 호출 중 타임아웃/프로세스 중단 등으로 PENDING에 남은 결제를 게이트웨이 조회로 확정
+ * - DONE: 원장 기록 + CONFIRMED, 중단/만료/취소/미존재: FAILED, 그 외(진행 중)는 다음 주기에 다시 확인
+ * - 한 노드만 실행 (분산 락), 결제 단위 처리는 PaymentService의 행 잠금으로 요청 스레드와 직렬화
+ * - FAILED로 확정하면 결제에 저장된 일일 한도 예약도 반환 (PaymentService.failPending, 요청 스레드 실패와 동일)
+ */
+@Slf4j
+@Service
+public class PendingPaymentReconciler {
+
+    private static final String LOCK_KEY = "LOCK:payment:reconcile";
+    private static final Set<String> FAILED_STATUSES = Set.of("ABORTED", "EXPIRED", "CANCELED");
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final PaymentGateway paymentGateway;
+    private final RedissonClient redissonClient;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    public PendingPaymentReconciler(PaymentRepository paymentRepository,
+                                    PaymentService paymentService,
+                                    PaymentGateway paymentGateway,
+                                    RedissonClient redissonClient,
+                                    @Value("${payment.reconcile.grace-period:2m}") Duration gracePeriod,
+                                    @Value("${payment.reconcile.batch-size:100}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.paymentGateway = paymentGateway;
+        this.redissonClient = redissonClient;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.reconcile.interval-ms:60000}")
+    public void reconcile() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            int reconciled = reconcileBefore(LocalDateTime.now().minus(gracePeriod));
+            if (reconciled > 0) {
+                log.info("PENDING 결제 복구 완료: {}건", reconciled);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기준 시각 이전에 생성된 PENDING 결제 확정
+     *
+     * @return 확정(CONFIRMED/FAILED)한 결제 수
+     */
+    public int reconcileBefore(LocalDateTime before) {
+        int reconciled = 0;
+        long lastId = 0L;
+
+        while (true) {
+            List<Long> ids = paymentRepository.findStalePendingIds(before, lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            for (Long paymentId : ids) {
+                try {
+                    if (reconcileOne(paymentId)) {
+                        reconciled++;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("PENDING 결제 복구 실패 (다음 주기에 재시도): paymentId={}", paymentId, e);
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        return reconciled;
+    }
+
+    private boolean reconcileOne(Long paymentId) {
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+            return false;
+        }
+
+        TossPaymentResponse response;
+        try {
+            response = paymentGateway.getPaymentByOrderId(payment.getOrderId());
+        } catch (PaymentGatewayException e) {
+            if (e.getStatusCode() == 404) {
+                // 승인 요청이 게이트웨이에 도달하지 않음
+                log.warn("게이트웨이에 없는 결제 실패 처리: orderId={}", payment.getOrderId());
+                return paymentService.failPending(paymentId, "게이트웨이에 결제 정보 없음 (복구)");
+            }
+            log.warn("PENDING 결제 조회 실패 (다음 주기에 재시도): orderId={}, reason={}",
+                    payment.getOrderId(), e.getMessage());
+            return false;
+        }
+
+        if ("DONE".equals(response.getStatus())) {
+            log.info("PENDING 결제 승인 확정: orderId={}, paymentKey={}", payment.getOrderId(), response.getPaymentKey());
+            return paymentService.completeCharge(paymentId, response);
+        }
+        if (FAILED_STATUSES.contains(response.getStatus())) {
+            log.info("PENDING 결제 실패 확정: orderId={}, status={}", payment.getOrderId(), response.getStatus());
+            return paymentService.failPending(paymentId, "게이트웨이 상태 " + response.getStatus() + " (복구)");
+        }
+
+        log.debug("PENDING 결제 진행 중: orderId={}, status={}", payment.getOrderId(), response.getStatus());
+        return false;
+    }
+}
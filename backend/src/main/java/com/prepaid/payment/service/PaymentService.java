@@ -1,32 +1,41 @@
 package com.prepaid.payment.service;
 
+import com.prepaid.common.exception.specific.PaymentGatewayException;
+import com.prepaid.common.limit.LimitReservation;
 import com.prepaid.domain.User;
 import com.prepaid.ledger.service.LedgerService;
 import com.prepaid.payment.domain.Payment;
+import com.prepaid.payment.domain.PaymentStatus;
 import com.prepaid.payment.dto.PaymentConfirmRequest;
 import com.prepaid.payment.dto.TossPaymentResponse;
+import com.prepaid.payment.gateway.PaymentGateway;
 import com.prepaid.payment.repository.PaymentRepository;
 import com.prepaid.payment.validation.PaymentValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClient;
-import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static com.prepaid.common.logging.LoggingUtils.*;
 
+/**
+ * 결제 승인 서비스 (단계별 짧은 트랜잭션)
+ * 1. PENDING 저장 후 즉시 커밋
+ * 2. Toss 승인 - 트랜잭션 없이 호출 (게이트웨이 지연이 커넥션 풀 고갈로 번지지 않도록)
+ * 3. 원장 기록 + CONFIRMED 변경을 하나의 짧은 트랜잭션으로 처리
+ * - 2~3 사이에 중단되어 남은 PENDING 결제는 PendingPaymentReconciler가 게이트웨이 조회로 확정
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
-    private final RestClient tossRestClient;
+    private final PaymentGateway paymentGateway;
     private final LedgerService ledgerService;
     private final PaymentValidator paymentValidator;
     private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public void confirmPayment(User user, PaymentConfirmRequest request) {
         // MDC 컨텍스트 설정
         setUserContext(user.getId());
@@ -34,53 +43,118 @@ public class PaymentService {
         setOrderContext(request.getOrderId());
         
         try {
-            // 1. 금액 검증 (최소/최대/일일 한도)
+            // 1. 금액 검증 (최소/최대) + 일일 한도 예약 (Toss 호출 전에 원자적으로 예약)
             Long amount = request.getAmount();
-            paymentValidator.validateChargeAmount(user.getId(), amount);
-            
-            // 2. Payment 생성 (PENDING 상태)
-            Payment payment = Payment.builder()
-                    .orderId(request.getOrderId())
-                    .user(user)
-                    .amount(amount)
-                    .build();
-            paymentRepository.save(payment);
-            
-            log.info("결제 생성: orderId={}, status=PENDING", request.getOrderId());
+            LimitReservation limitReservation = paymentValidator.validateChargeAmount(user.getId(), amount);
             
+            Long paymentId = null;
+            TossPaymentResponse response;
             try {
-                // 3. Call Toss API (Blocking call, efficient on Virtual Threads)
-                TossPaymentResponse response = tossRestClient.post()
-                        .uri("/confirm")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(request)
-                        .retrieve()
-                        .body(TossPaymentResponse.class);
+                // 2. Payment 생성 (PENDING 상태, paymentKey 포함 - 별도 트랜잭션으로 즉시 커밋)
+                Payment payment = Payment.builder()
+                        .orderId(request.getOrderId())
+                        .user(user)
+                        .amount(amount)
+                        .paymentKey(request.getPaymentKey())
+                        .limitReservationKey(limitReservation.key())
+                        .limitReservationMember(limitReservation.member())
+                        .build();
+                paymentId = transactionTemplate.execute(status -> paymentRepository.save(payment).getId());
+                
+                log.info("결제 생성: orderId={}, status=PENDING", request.getOrderId());
+                
+                // 3. Toss 승인 (트랜잭션 밖, 타임아웃/동시 호출 제한/회로 차단 적용)
+                response = paymentGateway.confirm(request);
 
                 if (response == null || !"DONE".equals(response.getStatus())) {
                     throw new RuntimeException("Toss Payment Failed or Not Done");
                 }
+            } catch (PaymentGatewayException e) {
+                if (e.isOutcomeUnknown()) {
+                    // Toss 측 승인 여부를 알 수 없음 - PENDING 유지, 한도 예약도 유지
+                    // (복구 스위퍼가 조회로 확정, FAILED면 결제에 저장된 예약을 반환)
+                    log.warn("결제 결과 불명 (PENDING 유지): orderId={}, reason={}", request.getOrderId(), e.getMessage());
+                    throw e;
+                }
+                failPayment(paymentId, limitReservation, request, e);
+                throw e;
+            } catch (RuntimeException e) {
+                failPayment(paymentId, limitReservation, request, e);
+                throw e;
+            }
 
-                log.info("Toss Payment Confirmed: {}, Amount: {}", response.getPaymentKey(), response.getTotalAmount());
+            log.info("Toss Payment Confirmed: {}, Amount: {}", response.getPaymentKey(), response.getTotalAmount());
 
-                // 4. Record Ledger (Transactional)
-                ledgerService.recordCharge(user, response.getTotalAmount(), response.getPaymentKey(), response.getOrderId());
-                
-                // 5. Payment 상태 업데이트 (CONFIRMED)
-                payment.confirm(response.getPaymentKey());
-                log.info("결제 승인 완료: orderId={}, paymentKey={}", request.getOrderId(), response.getPaymentKey());
-                
-                // 6. 일일 한도 업데이트
-                paymentValidator.updateDailyLimit(user.getId(), response.getTotalAmount());
-                
-            } catch (Exception e) {
-                // 7. 실패 시 Payment 상태 업데이트 (FAILED)
-                payment.fail(e.getMessage());
-                log.error("결제 실패: orderId={}, reason={}", request.getOrderId(), e.getMessage());
+            // 4. 원장 기록 + CONFIRMED (한 트랜잭션)
+            // Toss 승인은 이미 끝났으므로 실패해도 FAILED로 바꾸지 않음 (PENDING 유지, 복구 스위퍼가 재처리)
+            try {
+                completeCharge(paymentId, response);
+            } catch (RuntimeException e) {
+                log.error("Toss 승인 후 원장 기록 실패 (PENDING 유지): orderId={}, paymentKey={}",
+                        request.getOrderId(), response.getPaymentKey(), e);
                 throw e;
             }
+            log.info("결제 승인 완료: orderId={}, paymentKey={}", request.getOrderId(), response.getPaymentKey());
         } finally {
             clearContext();
         }
     }
+
+    /**
+     * Toss 승인 완료된 결제의 원장 기록 + CONFIRMED 변경 (한 트랜잭션)
+     * - 결제 행을 잠그고 PENDING인 경우에만 처리 (요청 스레드와 복구 스위퍼의 중복 포스팅 방지)
+     *
+     * @return 이번 호출에서 처리했으면 true, 이미 다른 곳에서 처리되었으면 false
+     */
+    public boolean completeCharge(Long paymentId, TossPaymentResponse response) {
+        Boolean completed = transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                    .orElseThrow(() -> new IllegalStateException("결제를 찾을 수 없습니다: id=" + paymentId));
+            if (payment.getStatus() != PaymentStatus.PENDING) {
+                log.info("이미 처리된 결제 건너뜀: orderId={}, status={}", payment.getOrderId(), payment.getStatus());
+                return false;
+            }
+
+            ledgerService.recordCharge(payment.getUser(), response.getTotalAmount(),
+                    response.getPaymentKey(), response.getOrderId());
+            payment.confirm(response.getPaymentKey());
+            return true;
+        });
+        return Boolean.TRUE.equals(completed);
+    }
+
+    /**
+     * PENDING 결제를 FAILED로 변경 + 결제에 저장된 일일 한도 예약 반환 (이미 처리된 결제는 그대로 둠)
+     * - 요청 스레드의 실패 처리와 복구 스위퍼가 같은 경로를 사용 (FAILED로 바꾼 쪽만 반환하므로 중복 반환 없음)
+     *
+     * @return 이번 호출에서 변경했으면 true
+     */
+    public boolean failPending(Long paymentId, String reason) {
+        LimitReservation reservation = transactionTemplate.execute(status -> paymentRepository.findByIdForUpdate(paymentId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.PENDING)
+                .map(payment -> {
+                    payment.fail(reason);
+                    return payment.limitReservation();
+                })
+                .orElse(null));
+        if (reservation == null) {
+            return false;
+        }
+        paymentValidator.releaseLimit(reservation);
+        return true;
+    }
+
+    /**
+     * 실패 시 Payment 상태 업데이트 (FAILED) + 한도 예약 반환
+     * - 결제 저장 전 실패면 예약만 반환
+     */
+    private void failPayment(Long paymentId, LimitReservation limitReservation,
+                             PaymentConfirmRequest request, Exception cause) {
+        if (paymentId != null) {
+            failPending(paymentId, cause.getMessage());
+        } else {
+            paymentValidator.releaseLimit(limitReservation);
+        }
+        log.error("결제 실패: orderId={}, reason={}", request.getOrderId(), cause.getMessage());
+    }
 }
@@ -2,27 +2,43 @@ package com.prepaid.payment.validation;
 
 import com.prepaid.common.exception.ErrorCode;
 import com.prepaid.common.exception.specific.InvalidAmountException;
+import com.prepaid.common.limit.LimitReservation;
+import com.prepaid.common.limit.VelocityLimit;
+import com.prepaid.common.limit.VelocityLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.time.LocalDate;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 금액 검증 서비스
  * - 최소/최대 금액 검증
- * - 일일 한도 확인
+ * - 일일 한도 예약 (VelocityLimiter, 확인과 예약을 한 번에 처리하고 실패 시 반환)
+ * - 등급별 한도: payment.{charge|use}.tier-daily-limit.{등급} (없으면 기본 daily-limit)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentValidator {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private static final String DEFAULT_TIER = "USER";
+    private static final Duration DAILY = Duration.ofDays(1);
+
+    private final VelocityLimiter velocityLimiter;
+    private final Environment environment;
+
+    /**
+     * 등급별 한도 정의 캐시 (키: charge:등급, use:등급)
+     */
+    private final Map<String, VelocityLimit> limits = new ConcurrentHashMap<>();
 
     @Value("${payment.charge.min-amount}")
     private Long minChargeAmount;
@@ -33,16 +49,27 @@ public class PaymentValidator {
     @Value("${payment.charge.daily-limit}")
     private Long dailyChargeLimit;
 
+    @Value("${payment.charge.limit-window:fixed}")
+    private String chargeLimitWindow;
+
     @Value("${payment.use.min-amount}")
     private Long minUseAmount;
 
     @Value("${payment.use.max-amount}")
     private Long maxUseAmount;
 
+    @Value("${payment.use.daily-limit:0}")
+    private Long dailyUseLimit;
+
+    @Value("${payment.use.limit-window:sliding}")
+    private String useLimitWindow;
+
     /**
-     * 충전 금액 검증
+     * 충전 금액 검증 + 일일 충전 한도 예약
+     *
+     * @return 한도 예약 (충전 실패 시 releaseLimit으로 반환)
      */
-    public void validateChargeAmount(Long userId, Long amount) {
+    public LimitReservation validateChargeAmount(Long userId, Long amount) {
         // 1. 음수 및 0 체크
         if (amount == null || amount <= 0) {
             throw new InvalidAmountException(ErrorCode.INVALID_AMOUNT, "충전 금액은 0보다 커야 합니다.");
@@ -60,8 +87,18 @@ public class PaymentValidator {
                     String.format("최대 충전 금액은 %,d원입니다.", maxChargeAmount));
         }
 
-        // 4. 일일 한도 체크
-        checkDailyLimit(userId, amount);
+        // 4. 일일 한도 예약
+        VelocityLimit limit = chargeLimit(currentTier());
+        LimitReservation reservation = velocityLimiter.tryReserve(limit, String.valueOf(userId), amount);
+        if (!reservation.allowed()) {
+            throw new InvalidAmountException(ErrorCode.EXCEEDS_DAILY_LIMIT,
+                    String.format("일일 충전 한도(%,d원)를 초과합니다. 현재 충전액: %,d원",
+                            limit.limit(), reservation.used()));
+        }
+
+        log.info("일일 충전 한도 예약: userId={}, 누적={}원, 요청 금액={}원, 한도={}원",
+                userId, reservation.used(), amount, limit.limit());
+        return reservation;
     }
 
     /**
@@ -87,63 +124,57 @@ public class PaymentValidator {
     }
 
     /**
-     * 일일 충전 한도 확인
-     * Redis를 사용하여 오늘 충전한 총 금액 추적
+     * 사용 금액 검증 + 일일 사용 한도 예약
+     *
+     * @return 한도 예약 (사용 실패 시 releaseLimit으로 반환)
      */
-    private void checkDailyLimit(Long userId, Long amount) {
-        String key = getDailyLimitKey(userId);
-        
-        // 오늘 충전한 총 금액 조회
-        String currentTotalStr = redisTemplate.opsForValue().get(key);
-        Long currentTotal = currentTotalStr != null ? Long.parseLong(currentTotalStr) : 0L;
-        
-        // 이번 충전 포함 총액
-        Long newTotal = currentTotal + amount;
-        
-        if (newTotal > dailyChargeLimit) {
-            throw new InvalidAmountException(ErrorCode.EXCEEDS_DAILY_LIMIT,
-                    String.format("일일 충전 한도(%,d원)를 초과합니다. 현재 충전액: %,d원",
-                            dailyChargeLimit, currentTotal));
+    public LimitReservation validateUseAmount(Long userId, Long amount) {
+        validateUseAmount(amount);
+
+        VelocityLimit limit = useLimit(currentTier());
+        LimitReservation reservation = velocityLimiter.tryReserve(limit, String.valueOf(userId), amount);
+        if (!reservation.allowed()) {
+            throw new InvalidAmountException(ErrorCode.EXCEEDS_DAILY_USE_LIMIT,
+                    String.format("일일 사용 한도(%,d원)를 초과합니다. 현재 사용액: %,d원",
+                            limit.limit(), reservation.used()));
         }
-        
-        log.info("일일 한도 체크: userId={}, 현재 총액={}원, 요청 금액={}원, 한도={}원",
-                userId, currentTotal, amount, dailyChargeLimit);
+        return reservation;
     }
 
     /**
-     * 충전 성공 시 일일 한도 업데이트
+     * 처리 실패 시 한도 예약 반환
      */
-    public void updateDailyLimit(Long userId, Long amount) {
-        String key = getDailyLimitKey(userId);
-        
-        // 현재 총액 조회
-        String currentTotalStr = redisTemplate.opsForValue().get(key);
-        Long currentTotal = currentTotalStr != null ? Long.parseLong(currentTotalStr) : 0L;
-        
-        // 새로운 총액 저장 (자정까지 유효)
-        Long newTotal = currentTotal + amount;
-        redisTemplate.opsForValue().set(key, newTotal.toString(), getDurationUntilMidnight());
-        
-        log.info("일일 한도 업데이트: userId={}, 새로운 총액={}원", userId, newTotal);
+    public void releaseLimit(LimitReservation reservation) {
+        velocityLimiter.release(reservation);
     }
 
-    /**
-     * 일일 한도 키 생성
-     */
-    private String getDailyLimitKey(Long userId) {
-        String today = LocalDate.now().toString();
-        return String.format("daily:charge:%s:%d", today, userId);
+    private VelocityLimit chargeLimit(String tier) {
+        return limits.computeIfAbsent("charge:" + tier, key -> new VelocityLimit("charge-daily",
+                environment.getProperty("payment.charge.tier-daily-limit." + tier, Long.class, dailyChargeLimit),
+                DAILY, VelocityLimit.WindowType.from(chargeLimitWindow)));
+    }
+
+    private VelocityLimit useLimit(String tier) {
+        long defaultLimit = dailyUseLimit != null ? dailyUseLimit : 0L;
+        return limits.computeIfAbsent("use:" + tier, key -> new VelocityLimit("use-daily",
+                environment.getProperty("payment.use.tier-daily-limit." + tier, Long.class, defaultLimit),
+                DAILY, VelocityLimit.WindowType.from(useLimitWindow)));
     }
 
     /**
-     * 자정까지 남은 시간 계산
+     * 현재 요청 사용자의 등급 (JWT 권한에서 ROLE_ 접두어 제거, 인증 정보가 없으면 USER)
      */
-    private Duration getDurationUntilMidnight() {
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        long secondsUntilMidnight = Duration.between(
-                java.time.LocalDateTime.now(),
-                tomorrow.atStartOfDay()
-        ).getSeconds();
-        return Duration.ofSeconds(secondsUntilMidnight);
+    private String currentTier() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return DEFAULT_TIER;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String role = authority.getAuthority();
+            if (role != null && !role.isBlank()) {
+                return role.startsWith("ROLE_") ? role.substring("ROLE_".length()) : role;
+            }
+        }
+        return DEFAULT_TIER;
     }
 }
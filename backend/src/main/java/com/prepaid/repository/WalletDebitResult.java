@@ -0,0 +1,18 @@
+package com.prepaid.repository;
+
+/**
+ * 조건부 차감 결과 (UPDATE ... RETURNING 프로젝션)
+ */
+public interface WalletDebitResult {
+    Long getWalletId();
+
+    Long getBalancePaid();
+
+    Long getBalanceFree();
+
+    Long getVersion();
+
+    default Long getBalance() {
+        return getBalancePaid() + getBalanceFree();
+    }
+}
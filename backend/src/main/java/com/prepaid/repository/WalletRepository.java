@@ -1,9 +1,59 @@
 package com.prepaid.repository;
 
 import com.prepaid.domain.Wallet;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
     Optional<Wallet> findByUserId(Long userId);
+
+    /**
+     * 지갑 잠금 조회 (id 순으로 잠가 교착 방지)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id IN :ids ORDER BY w.id")
+    List<Wallet> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 조건부 차감 (잔액이 충분할 때만 한 문장으로 차감)
+     * - 무료(FREE) 잔액을 먼저, 부족분은 유료(PAID) 잔액에서 차감
+     * - 행 잠금은 UPDATE 문이 커밋까지 보유하므로 같은 지갑의 Lot 차감도 직렬화됨
+     * - 잔액 부족 또는 지갑 없음이면 빈 결과
+     * - RETURNING 결과가 필요해 @Modifying 없이 조회로 실행 (영속성 컨텍스트의 Wallet은 호출자가 갱신)
+     * - 호출자 트랜잭션 안에서만 실행 (행 잠금을 원장 기록 커밋까지 유지)
+     */
+    @Query(value = """
+            UPDATE wallets
+               SET balance_free = balance_free - LEAST(balance_free, :amount),
+                   balance_paid = balance_paid - (:amount - LEAST(balance_free, :amount)),
+                   version = version + 1,
+                   updated_at = :updatedAt
+             WHERE user_id = :userId
+               AND balance_free + balance_paid >= :amount
+            RETURNING id AS "walletId",
+                      balance_paid AS "balancePaid",
+                      balance_free AS "balanceFree",
+                      version AS "version"
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    Optional<WalletDebitResult> debitIfSufficient(@Param("userId") Long userId, @Param("amount") Long amount,
+                                                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 현재 트랜잭션의 행 잠금 대기 상한 설정 (SET LOCAL lock_timeout과 동일, 커밋/롤백 시 해제)
+     * - 초과 시 PostgreSQL 55P03 → CannotAcquireLockException (ConcurrencyFailureException)
+     */
+    @Query(value = "SELECT set_config('lock_timeout', :timeout, true)", nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    String setLocalLockTimeout(@Param("timeout") String timeout);
 }
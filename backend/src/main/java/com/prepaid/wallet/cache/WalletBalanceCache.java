@@ -0,0 +1,132 @@
+package com.prepaid.wallet.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지갑 잔액 2단 캐시 (로컬 Caffeine + Redis)
+ * - 로컬 캐시는 다른 노드의 갱신을 알 수 없으므로 짧은 TTL로 유지
+ * - Redis 쓰기는 Lua로 버전을 비교해 더 새로운 스냅샷만 저장 (오래된 쓰기가 이기지 않도록)
+ * - Redis 장애 시 캐시 미스로 처리하여 DB 조회로 대체
+ */
+@Slf4j
+@Component
+public class WalletBalanceCache {
+
+    private static final String KEY_PREFIX = "wallet:balance:";
+
+    /**
+     * 값 형식: version|paid|free|updatedAt
+     * 기존 값의 버전이 같거나 높으면 쓰지 않음
+     */
+    private static final DefaultRedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+              local currentVersion = tonumber(string.match(current, '^(%d+)|'))
+              if currentVersion and currentVersion >= tonumber(ARGV[1]) then
+                return 0
+              end
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<Long, WalletBalanceSnapshot> localCache;
+    private final Duration redisTtl;
+
+    public WalletBalanceCache(RedisTemplate<String, String> redisTemplate,
+                              @Value("${wallet.balance-cache.local-ttl:2s}") Duration localTtl,
+                              @Value("${wallet.balance-cache.local-size:100000}") long localSize,
+                              @Value("${wallet.balance-cache.redis-ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    /**
+     * 캐시된 잔액 조회 (로컬 -> Redis 순)
+     *
+     * @return 캐시 미스면 null
+     */
+    public WalletBalanceSnapshot get(Long userId) {
+        WalletBalanceSnapshot local = localCache.getIfPresent(userId);
+        if (local != null) {
+            return local;
+        }
+
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            if (value == null) {
+                return null;
+            }
+            WalletBalanceSnapshot snapshot = decode(userId, value);
+            putLocal(snapshot);
+            return snapshot;
+        } catch (Exception e) {
+            log.warn("잔액 캐시 조회 실패 (DB 조회로 대체): userId={}", userId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 스냅샷 저장 (두 캐시 모두 더 새로운 버전일 때만 반영)
+     */
+    public void put(WalletBalanceSnapshot snapshot) {
+        if (snapshot == null || snapshot.userId() == null || snapshot.version() == null) {
+            return;
+        }
+
+        putLocal(snapshot);
+
+        try {
+            redisTemplate.execute(PUT_IF_NEWER, List.of(KEY_PREFIX + snapshot.userId()),
+                    String.valueOf(snapshot.version()), encode(snapshot), String.valueOf(redisTtl.toMillis()));
+        } catch (Exception e) {
+            // Redis에 반영하지 못하면 다른 노드가 오래된 값을 보지 않도록 제거
+            log.warn("잔액 캐시 저장 실패: userId={}", snapshot.userId(), e);
+            evict(snapshot.userId());
+        }
+    }
+
+    /**
+     * 캐시 제거 (스냅샷 없이 잔액이 바뀐 경우)
+     */
+    public void evict(Long userId) {
+        localCache.invalidate(userId);
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("잔액 캐시 제거 실패: userId={}", userId, e);
+        }
+    }
+
+    private void putLocal(WalletBalanceSnapshot snapshot) {
+        localCache.asMap().merge(snapshot.userId(), snapshot,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+
+    static String encode(WalletBalanceSnapshot snapshot) {
+        return snapshot.version() + "|" + snapshot.balancePaid() + "|" + snapshot.balanceFree() + "|"
+                + (snapshot.updatedAt() != null ? snapshot.updatedAt() : "");
+    }
+
+    static WalletBalanceSnapshot decode(Long userId, String value) {
+        String[] parts = value.split("\\|", -1);
+        LocalDateTime updatedAt = parts[3].isEmpty() ? null : LocalDateTime.parse(parts[3]);
+        return new WalletBalanceSnapshot(userId, Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                Long.parseLong(parts[0]), updatedAt);
+    }
+}
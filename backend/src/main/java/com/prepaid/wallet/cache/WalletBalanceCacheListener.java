@@ -0,0 +1,25 @@
+package com.prepaid.wallet.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 잔액 캐시 갱신 리스너
+ * - 커밋된 잔액만 캐시에 반영 (롤백된 차감이 캐시에 남지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletBalanceCacheListener {
+
+    private final WalletBalanceCache walletBalanceCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleBalanceChanged(WalletBalanceChangedEvent event) {
+        log.debug("잔액 캐시 갱신: userId={}, version={}", event.snapshot().userId(), event.snapshot().version());
+        walletBalanceCache.put(event.snapshot());
+    }
+}
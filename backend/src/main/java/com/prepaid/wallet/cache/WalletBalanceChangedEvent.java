@@ -0,0 +1,9 @@
+package com.prepaid.wallet.cache;
+
+/**
+ * 지갑 잔액 변경 내부 이벤트 (Kafka로 발행하지 않음)
+ * - 원장 트랜잭션 커밋 후 잔액 캐시를 갱신하기 위해 사용
+ * - ChargeCompletedEvent/SpendCompletedEvent는 총 잔액만 담고 있어 버킷별 잔액과 버전을 별도로 전달
+ */
+public record WalletBalanceChangedEvent(WalletBalanceSnapshot snapshot) {
+}
@@ -0,0 +1,32 @@
+package com.prepaid.wallet.cache;
+
+import com.prepaid.domain.Wallet;
+import com.prepaid.wallet.dto.WalletBalanceDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * 버전이 붙은 지갑 잔액 스냅샷
+ * - version은 Wallet.version (낮은 버전은 높은 버전을 덮어쓸 수 없음)
+ */
+public record WalletBalanceSnapshot(
+        Long userId,
+        Long balancePaid,
+        Long balanceFree,
+        Long version,
+        LocalDateTime updatedAt
+) {
+
+    public static WalletBalanceSnapshot of(Long userId, Wallet wallet) {
+        return new WalletBalanceSnapshot(userId, wallet.getBalancePaid(), wallet.getBalanceFree(),
+                wallet.getVersion(), wallet.getUpdatedAt());
+    }
+
+    public boolean isNewerThan(WalletBalanceSnapshot other) {
+        return other == null || version > other.version;
+    }
+
+    public WalletBalanceDTO toDto() {
+        return new WalletBalanceDTO(balancePaid + balanceFree, balancePaid, balanceFree, updatedAt);
+    }
+}
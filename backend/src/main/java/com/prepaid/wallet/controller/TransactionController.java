@@ -5,6 +5,7 @@ import com.prepaid.domain.User;
 import com.prepaid.ledger.domain.TxType;
 import com.prepaid.wallet.dto.TransactionDTO;
 import com.prepaid.wallet.dto.TransactionDetailDTO;
+import com.prepaid.wallet.dto.TransactionSliceDTO;
 import com.prepaid.wallet.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -59,6 +60,38 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * 거래 내역 조회 (커서 기반)
+     */
+    @Operation(summary = "거래 내역 조회 (커서)",
+            description = "최신순 거래 내역을 커서로 이어서 조회합니다. 전체 건수를 세지 않아 깊은 페이지도 첫 페이지와 같은 속도로 응답합니다")
+    @GetMapping("/scroll")
+    public ResponseEntity<TransactionSliceDTO> scrollTransactions(
+        @CurrentUser User user,
+        
+        @Parameter(description = "거래 유형 (CHARGE, USE, REFUND, etc)")
+        @RequestParam(required = false) TxType type,
+        
+        @Parameter(description = "시작 날짜 (YYYY-MM-DD)")
+        @RequestParam(required = false) 
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        
+        @Parameter(description = "종료 날짜 (YYYY-MM-DD)")
+        @RequestParam(required = false) 
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+        @RequestParam(required = false) String cursor,
+        
+        @Parameter(description = "페이지 크기 (최대 100)")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        TransactionSliceDTO transactions = transactionService.getTransactionsByCursor(
+            user, type, startDate, endDate, cursor, size
+        );
+        return ResponseEntity.ok(transactions);
+    }
+    
     /**
      * 거래 상세 조회
      */
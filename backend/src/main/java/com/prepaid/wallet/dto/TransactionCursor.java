@@ -0,0 +1,38 @@
+package com.prepaid.wallet.dto;
+
+import com.prepaid.common.exception.specific.InvalidCursorException;
+import com.prepaid.ledger.repository.TransactionRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 거래 내역 커서 (마지막으로 본 거래의 createdAt, id)
+ * - 클라이언트에는 Base64 URL 문자열로만 노출 (형식은 바뀔 수 있음)
+ */
+public record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TransactionCursor of(TransactionRow row) {
+        return new TransactionCursor(row.getCreatedAt(), row.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
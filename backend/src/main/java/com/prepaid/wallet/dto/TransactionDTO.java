@@ -1,6 +1,7 @@
 package com.prepaid.wallet.dto;
 
 import com.prepaid.ledger.domain.LedgerEntry;
+import com.prepaid.ledger.repository.TransactionRow;
 
 import java.time.LocalDateTime;
 
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 public record TransactionDTO(
     Long id,
     String txType,          // CHARGE, USE, REFUND, etc
-    Long amount,            // 거래 금액 (향후 서비스 레이어에서 계산)
+    Long amount,            // 지갑 기준 부호 있는 금액 (충전 +, 사용/만료/인출 -)
     String referenceId,     // 주문 ID 등
     String memo,
     LocalDateTime createdAt
@@ -25,4 +26,15 @@ public record TransactionDTO(
             entry.getCreatedAt()
         );
     }
+
+    public static TransactionDTO from(TransactionRow row) {
+        return new TransactionDTO(
+            row.getId(),
+            row.getTxType().name(),
+            row.getAmount(),
+            row.getReferenceId(),
+            row.getMemo(),
+            row.getCreatedAt()
+        );
+    }
 }
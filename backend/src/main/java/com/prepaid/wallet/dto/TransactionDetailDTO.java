@@ -1,6 +1,6 @@
 package com.prepaid.wallet.dto;
 
-import com.prepaid.ledger.domain.LedgerEntry;
+import com.prepaid.ledger.repository.TransactionRow;
 
 import java.time.LocalDateTime;
 
@@ -16,15 +16,15 @@ public record TransactionDetailDTO(
     String status,
     LocalDateTime createdAt
 ) {
-    public static TransactionDetailDTO from(LedgerEntry entry, Long amount) {
+    public static TransactionDetailDTO from(TransactionRow row) {
         return new TransactionDetailDTO(
-            entry.getId(),
-            entry.getTxType().name(),
-            amount,
-            entry.getReferenceId(),
-            entry.getMemo(),
-            entry.getStatus().name(),
-            entry.getCreatedAt()
+            row.getId(),
+            row.getTxType().name(),
+            row.getAmount(),
+            row.getReferenceId(),
+            row.getMemo(),
+            row.getStatus().name(),
+            row.getCreatedAt()
         );
     }
 }
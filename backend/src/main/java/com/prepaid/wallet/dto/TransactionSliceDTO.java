@@ -0,0 +1,13 @@
+package com.prepaid.wallet.dto;
+
+import java.util.List;
+
+/**
+ * 거래 내역 커서 페이지 DTO (전체 건수 없음)
+ */
+public record TransactionSliceDTO(
+    List<TransactionDTO> content,
+    String nextCursor,      // 다음 페이지 요청 시 전달 (마지막 페이지면 null)
+    boolean hasNext
+) {
+}
@@ -6,13 +6,19 @@ import com.prepaid.domain.User;
 import com.prepaid.domain.Wallet;
 import com.prepaid.ledger.domain.LedgerEntry;
 import com.prepaid.ledger.domain.TxType;
+import com.prepaid.ledger.repository.EntryAmount;
 import com.prepaid.ledger.repository.LedgerEntryRepository;
+import com.prepaid.ledger.repository.LedgerLineRepository;
+import com.prepaid.ledger.repository.TransactionRow;
 import com.prepaid.repository.WalletRepository;
+import com.prepaid.wallet.dto.TransactionCursor;
 import com.prepaid.wallet.dto.TransactionDTO;
 import com.prepaid.wallet.dto.TransactionDetailDTO;
+import com.prepaid.wallet.dto.TransactionSliceDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +26,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.prepaid.common.logging.LoggingUtils.*;
 
@@ -30,9 +40,14 @@ import static com.prepaid.common.logging.LoggingUtils.*;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+
+    private static final int MAX_SLICE_SIZE = 100;
+    // 기간 필터가 없을 때의 하한 (모든 거래 포함)
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
     
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerLineRepository ledgerLineRepository;
     
     /**
      * 거래 내역 조회 (페이징)
@@ -70,12 +85,63 @@ public class TransactionService {
             entries = ledgerEntryRepository.findByWalletId(wallet.getId(), pageable);
         }
         
-        // DTO 변환 (금액은 txType에 따라 임시로 1000L로 설정, 추후 개선 필요)
-        return entries.map(entry -> {
-            // TODO: 실제 금액 계산 로직 구현 필요 (LedgerLine 조회)
-            Long amount = 1000L;  // 임시 값
-            return TransactionDTO.from(entry, amount);
-        });
+        // 페이지 엔트리들의 지갑 현금 금액을 한 번에 조회 (엔트리별 조회 N+1 방지)
+        Map<Long, Long> amounts = entries.isEmpty() ? Map.of()
+            : ledgerLineRepository.findWalletCashAmounts(entries.map(LedgerEntry::getId).getContent()).stream()
+                .collect(Collectors.toMap(EntryAmount::getEntryId, EntryAmount::getAmount));
+        
+        return entries.map(entry -> TransactionDTO.from(entry, amounts.get(entry.getId())));
+        } finally {
+            clearContext();
+        }
+    }
+    
+    /**
+     * 거래 내역 조회 (커서 기반, COUNT 쿼리 없음)
+     * - size + 1건을 읽어 다음 페이지 존재 여부 판단
+     * - 커서 이후 행만 인덱스 순서대로 읽으므로 페이지 깊이와 무관하게 일정한 비용
+     * - 금액까지 한 번의 쿼리로 조회 (WALLET_CASH 라인 조인)
+     */
+    @Transactional(readOnly = true)
+    public TransactionSliceDTO getTransactionsByCursor(
+        User user,
+        TxType type,
+        LocalDate startDate,
+        LocalDate endDate,
+        String cursor,
+        int size
+    ) {
+        setUserContext(user.getId());
+        
+        try {
+        Wallet wallet = walletRepository.findByUserId(user.getId())
+            .orElseThrow(() -> new WalletNotFoundException());
+        
+        int limit = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : EARLIEST;
+        
+        // 첫 페이지(또는 종료일 이후를 가리키는 커서)는 종료일 다음 날 0시 직전부터 읽음
+        LocalDateTime upper = endDate != null ? endDate.plusDays(1).atStartOfDay() : LocalDateTime.now().plusDays(1);
+        TransactionCursor after = cursor != null && !cursor.isBlank() ? TransactionCursor.decode(cursor) : null;
+        if (after == null || after.createdAt().isAfter(upper)) {
+            after = new TransactionCursor(upper, Long.MAX_VALUE);
+        }
+        
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<TransactionRow> rows = type != null
+            ? ledgerEntryRepository.findPageByTxTypeAndCursor(
+                wallet.getId(), type, from, after.createdAt(), after.id(), page)
+            : ledgerEntryRepository.findPageByCursor(
+                wallet.getId(), from, after.createdAt(), after.id(), page);
+        
+        boolean hasNext = rows.size() > limit;
+        List<TransactionRow> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? TransactionCursor.of(content.get(limit - 1)).encode() : null;
+        
+        List<TransactionDTO> transactions = content.stream()
+            .map(TransactionDTO::from)
+            .toList();
+        return new TransactionSliceDTO(transactions, nextCursor, hasNext);
         } finally {
             clearContext();
         }
@@ -89,17 +155,17 @@ public class TransactionService {
         setUserContext(user.getId());
         
         try {
-        LedgerEntry entry = ledgerEntryRepository.findById(entryId)
-            .orElseThrow(() -> new IllegalArgumentException("거래 내역을 찾을 수 없습니다"));
+        // 소유자 조건을 쿼리에 포함 (지갑/사용자 엔티티를 로딩하지 않음)
+        Optional<TransactionRow> row = ledgerEntryRepository.findTransactionRow(entryId, user.getId());
+        if (row.isPresent()) {
+            return TransactionDetailDTO.from(row.get());
+        }
         
-        // 권한 확인 (본인 거래만 조회 가능)
-        if (!entry.getWallet().getUser().getId().equals(user.getId())) {
+        // 권한 확인 (본인 거래만 조회 가능) - 조회 실패 시에만 존재 여부 확인
+        if (ledgerEntryRepository.existsById(entryId)) {
             throw new UnauthorizedException();
         }
-        
-        // TODO: 실제 금액 계산
-        Long amount = 1000L;  // 임시 값
-        return TransactionDetailDTO.from(entry, amount);
+        throw new IllegalArgumentException("거래 내역을 찾을 수 없습니다");
         } finally {
             clearContext();
         }
@@ -4,11 +4,12 @@ import com.prepaid.common.exception.specific.WalletNotFoundException;
 import com.prepaid.domain.User;
 import com.prepaid.domain.Wallet;
 import com.prepaid.repository.WalletRepository;
+import com.prepaid.wallet.cache.WalletBalanceCache;
+import com.prepaid.wallet.cache.WalletBalanceSnapshot;
 import com.prepaid.wallet.dto.WalletBalanceDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import static com.prepaid.common.logging.LoggingUtils.*;
 
@@ -23,24 +24,28 @@ import static com.prepaid.common.logging.LoggingUtils.*;
 public class WalletService {
     
     private final WalletRepository walletRepository;
+    private final WalletBalanceCache walletBalanceCache;
     
     /**
      * 사용자 잔액 조회
+     * - 잔액 캐시에서 먼저 조회 (캐시 히트 시 DB 커넥션을 사용하지 않도록 트랜잭션 없음)
+     * - 캐시 미스 시 DB에서 읽어 캐시에 채움
      */
-    @Transactional(readOnly = true)
     public WalletBalanceDTO getBalance(User user) {
         setUserContext(user.getId());
         
         try {
+            WalletBalanceSnapshot cached = walletBalanceCache.get(user.getId());
+            if (cached != null) {
+                return cached.toDto();
+            }
+
             Wallet wallet = walletRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new WalletNotFoundException());
-            
-            return new WalletBalanceDTO(
-                wallet.getBalance(),
-                wallet.getBalancePaid(),
-                wallet.getBalanceFree(),
-                wallet.getUpdatedAt()
-            );
+
+            WalletBalanceSnapshot snapshot = WalletBalanceSnapshot.of(user.getId(), wallet);
+            walletBalanceCache.put(snapshot);
+            return snapshot.toDto();
         } finally {
             clearContext();
         }
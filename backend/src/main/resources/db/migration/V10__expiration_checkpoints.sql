@@ -0,0 +1,16 @@
+-- 포인트 만료 청크 처리 체크포인트 (실행일 + wallet_id 파티션별 마지막 처리 Lot ID)
+CREATE TABLE IF NOT EXISTS expiration_checkpoints (
+    run_date DATE NOT NULL,
+    partition_no INT NOT NULL,
+    partition_count INT NOT NULL,
+    last_lot_id BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (run_date, partition_no)
+);
+
+-- 만료 대상 keyset 스캔용 부분 인덱스 (잔여 금액이 있는 Lot만 id 순으로)
+CREATE INDEX IF NOT EXISTS idx_lots_expiry_open
+    ON charge_lots (id)
+    INCLUDE (wallet_id, created_at)
+    WHERE amount_remaining > 0;
@@ -0,0 +1,214 @@
+-- 원장/감사 테이블을 월 단위 RANGE 파티션 테이블로 전환
+-- - ledger_entries, ledger_lines, spend_allocations: created_at 기준
+-- - audit_logs: timestamp 기준
+-- - 파티션 테이블의 PK/UNIQUE에는 파티션 키가 포함되어야 하므로 PK는 (id, 파티션 키)
+-- - ledger_entries.idempotency_key 유일성은 별도 테이블(ledger_idempotency_keys)과 트리거로 보장
+-- - ledger_entries를 참조하던 FK(ledger_lines.entry_id, spend_allocations.spend_entry_id)는 제거
+
+-- ============================================================
+-- 1. 파티션 관리 함수
+-- ============================================================
+
+-- 월 파티션 생성 (이미 있으면 무시): <parent>_pYYYYMM
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := parent || '_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent,
+                       date_trunc('month', month_start)::date,
+                       (date_trunc('month', month_start) + INTERVAL '1 month')::date);
+    END IF;
+END;
+$$;
+
+-- from_month부터 (현재 월 + months_ahead)까지 월 파티션 생성
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, from_month DATE, months_ahead INT)
+RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+    m DATE := date_trunc('month', COALESCE(from_month, now()::date))::date;
+    last_month DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+BEGIN
+    WHILE m <= last_month LOOP
+        PERFORM create_monthly_partition(parent, m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+-- cutoff 이전에 끝나는 월 파티션을 DETACH 후 DROP (행 단위 DELETE 대신)
+CREATE OR REPLACE FUNCTION drop_partitions_before(parent TEXT, cutoff DATE)
+RETURNS INT LANGUAGE plpgsql AS $$
+DECLARE
+    r RECORD;
+    dropped INT := 0;
+BEGIN
+    FOR r IN
+        SELECT c.relname
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+          JOIN pg_class p ON p.oid = i.inhparent
+         WHERE p.relname = parent
+           AND c.relname ~ ('^' || parent || '_p[0-9]{6}$')
+    LOOP
+        IF (to_date(right(r.relname, 6), 'YYYYMM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, r.relname);
+            EXECUTE format('DROP TABLE %I', r.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+-- ============================================================
+-- 2. 원장 테이블 (ledger_entries, ledger_lines, spend_allocations)
+-- ============================================================
+
+ALTER TABLE spend_allocations RENAME TO spend_allocations_legacy;
+ALTER TABLE ledger_lines RENAME TO ledger_lines_legacy;
+ALTER TABLE ledger_entries RENAME TO ledger_entries_legacy;
+
+UPDATE ledger_entries_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+UPDATE ledger_lines_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+UPDATE spend_allocations_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+-- LIKE로 컬럼/기본값/CHECK 제약을 그대로 복사 (PK/UNIQUE/FK/인덱스는 아래에서 다시 생성)
+CREATE TABLE ledger_entries (LIKE ledger_entries_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+CREATE TABLE ledger_lines (LIKE ledger_lines_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+CREATE TABLE spend_allocations (LIKE spend_allocations_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+
+ALTER TABLE ledger_entries ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE ledger_lines ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE spend_allocations ALTER COLUMN created_at SET NOT NULL;
+
+-- 범위 밖 데이터용 기본 파티션 (정상 운영 시 비어 있어야 함)
+CREATE TABLE ledger_entries_default PARTITION OF ledger_entries DEFAULT;
+CREATE TABLE ledger_lines_default PARTITION OF ledger_lines DEFAULT;
+CREATE TABLE spend_allocations_default PARTITION OF spend_allocations DEFAULT;
+
+SELECT ensure_monthly_partitions('ledger_entries', (SELECT MIN(created_at)::date FROM ledger_entries_legacy), 3);
+SELECT ensure_monthly_partitions('ledger_lines', (SELECT MIN(created_at)::date FROM ledger_lines_legacy), 3);
+SELECT ensure_monthly_partitions('spend_allocations', (SELECT MIN(created_at)::date FROM spend_allocations_legacy), 3);
+
+-- 멱등성 키 유일성 보장 테이블 (파티션 키를 포함하지 않는 전역 UNIQUE 대체)
+CREATE TABLE IF NOT EXISTS ledger_idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    entry_id BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION ledger_entries_claim_idempotency_key()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    -- 중복 키면 PK 위반(unique_violation)으로 INSERT 전체가 실패
+    INSERT INTO ledger_idempotency_keys (idempotency_key, entry_id, created_at)
+    VALUES (NEW.idempotency_key, NEW.id, NEW.created_at);
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION ledger_entries_release_idempotency_key()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM ledger_idempotency_keys WHERE idempotency_key = OLD.idempotency_key;
+    RETURN OLD;
+END;
+$$;
+
+CREATE TRIGGER trg_ledger_entries_claim_idempotency_key
+    BEFORE INSERT ON ledger_entries
+    FOR EACH ROW EXECUTE FUNCTION ledger_entries_claim_idempotency_key();
+
+CREATE TRIGGER trg_ledger_entries_release_idempotency_key
+    AFTER DELETE ON ledger_entries
+    FOR EACH ROW EXECUTE FUNCTION ledger_entries_release_idempotency_key();
+
+-- 기존 데이터 이관 (LIKE로 만들었으므로 컬럼 순서 동일)
+INSERT INTO ledger_entries SELECT * FROM ledger_entries_legacy;
+INSERT INTO ledger_lines SELECT * FROM ledger_lines_legacy;
+INSERT INTO spend_allocations SELECT * FROM spend_allocations_legacy;
+
+DROP TABLE spend_allocations_legacy;
+DROP TABLE ledger_lines_legacy;
+DROP TABLE ledger_entries_legacy;
+
+-- PK (파티션 키 포함, id 단건 조회도 PK 인덱스 선두 컬럼으로 처리) 및 인덱스 (부모에 만들면 모든 파티션에 전파)
+ALTER TABLE ledger_entries ADD PRIMARY KEY (id, created_at);
+ALTER TABLE ledger_lines ADD PRIMARY KEY (id, created_at);
+ALTER TABLE spend_allocations ADD PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_ledger_wallet_created ON ledger_entries (wallet_id, created_at);
+CREATE INDEX idx_ledger_reference ON ledger_entries (reference_id);
+CREATE INDEX idx_lines_entry ON ledger_lines (entry_id);
+CREATE INDEX idx_alloc_spend ON spend_allocations (spend_entry_id);
+CREATE INDEX idx_alloc_lot ON spend_allocations (charge_lot_id);
+
+-- 파티션되지 않은 테이블을 참조하는 FK는 유지
+ALTER TABLE ledger_entries ADD CONSTRAINT fk_ledger_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id);
+ALTER TABLE spend_allocations ADD CONSTRAINT fk_alloc_lot FOREIGN KEY (charge_lot_id) REFERENCES charge_lots (id);
+
+-- ============================================================
+-- 3. 감사 로그 (audit_logs, Hibernate가 생성했을 수도 있고 아직 없을 수도 있음)
+-- ============================================================
+
+DO $$
+BEGIN
+    IF to_regclass('audit_logs') IS NOT NULL THEN
+        ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+        -- Hibernate가 만든 인덱스 이름이 새 테이블과 충돌하지 않도록 제거
+        DROP INDEX IF EXISTS idx_user_timestamp;
+        DROP INDEX IF EXISTS idx_action;
+        DROP INDEX IF EXISTS idx_timestamp;
+    END IF;
+END;
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS audit_logs_seq;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_seq'),
+    user_id BIGINT NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    amount BIGINT NOT NULL,
+    ip_address VARCHAR(50),
+    user_agent VARCHAR(500),
+    result VARCHAR(10) NOT NULL,
+    error_message VARCHAR(1000),
+    reference_id VARCHAR(100),
+    "timestamp" TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_audit_logs PRIMARY KEY (id, "timestamp")
+) PARTITION BY RANGE ("timestamp");
+
+ALTER SEQUENCE audit_logs_seq OWNED BY audit_logs.id;
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+DO $$
+BEGIN
+    IF to_regclass('audit_logs_legacy') IS NOT NULL THEN
+        PERFORM ensure_monthly_partitions('audit_logs', (SELECT MIN("timestamp")::date FROM audit_logs_legacy), 3);
+
+        INSERT INTO audit_logs (id, user_id, action, amount, ip_address, user_agent, result,
+                                error_message, reference_id, "timestamp")
+        SELECT id, user_id, action, amount, ip_address, user_agent, result,
+               error_message, reference_id, "timestamp"
+          FROM audit_logs_legacy;
+
+        PERFORM setval('audit_logs_seq', COALESCE((SELECT MAX(id) FROM audit_logs_legacy), 0) + 1, false);
+
+        DROP TABLE audit_logs_legacy;
+    ELSE
+        PERFORM ensure_monthly_partitions('audit_logs', now()::date, 3);
+    END IF;
+END;
+$$;
+
+CREATE INDEX idx_user_timestamp ON audit_logs (user_id, "timestamp");
+CREATE INDEX idx_action ON audit_logs (action);
+CREATE INDEX idx_timestamp ON audit_logs ("timestamp");
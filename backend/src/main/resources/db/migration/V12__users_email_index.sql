@@ -0,0 +1,3 @@
+-- uid 클레임이 없는 토큰의 사용자 조회(findByEmail)용 인덱스
+-- 기존 UNIQUE (provider, email)은 provider가 선두 컬럼이라 email 단독 조회에 쓰이지 않음
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
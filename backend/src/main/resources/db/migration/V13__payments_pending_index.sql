@@ -0,0 +1,5 @@
+-- 복구 스위퍼용 PENDING 결제 부분 인덱스
+-- 대부분의 결제는 CONFIRMED/FAILED로 끝나므로 PENDING 행만 인덱싱하여 크기를 작게 유지
+CREATE INDEX IF NOT EXISTS idx_payments_pending
+    ON payments (id, created_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,11 @@
+-- 거래 내역 커서(keyset) 페이지네이션용 인덱스
+-- (created_at, id) 행 값 비교 + ORDER BY created_at DESC, id DESC를 인덱스 순서 그대로 읽도록 id까지 포함
+-- 파티션 테이블 부모에 생성하면 모든 월 파티션(이후 생성분 포함)에 전파됨
+CREATE INDEX IF NOT EXISTS idx_ledger_wallet_type_created_id
+    ON ledger_entries (wallet_id, tx_type_code, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_ledger_wallet_created_id
+    ON ledger_entries (wallet_id, created_at DESC, id DESC);
+
+-- (wallet_id, created_at)는 위 인덱스가 대체
+DROP INDEX IF EXISTS idx_ledger_wallet_created;
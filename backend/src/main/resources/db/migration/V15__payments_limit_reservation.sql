@@ -0,0 +1,4 @@
+-- 결제별 일일 한도 예약 정보
+-- 결과 불명으로 남은 PENDING 결제를 복구 스위퍼가 FAILED로 확정할 때 같은 예약을 반환하기 위해 저장
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS limit_reservation_key VARCHAR(255);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS limit_reservation_member VARCHAR(255);
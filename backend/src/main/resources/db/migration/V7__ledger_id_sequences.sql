@@ -0,0 +1,21 @@
+-- 원장 테이블 ID를 IDENTITY -> SEQUENCE(pooled, increment 50)로 전환
+-- Hibernate가 INSERT 전에 ID를 미리 할당할 수 있어야 JDBC 배치가 동작함
+-- pooled 옵티마이저는 nextval 값을 구간의 상한으로 사용하므로 (max(id) + 50)부터 시작
+
+CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq INCREMENT BY 50;
+SELECT setval('ledger_entries_seq', COALESCE((SELECT MAX(id) FROM ledger_entries), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS ledger_lines_seq INCREMENT BY 50;
+SELECT setval('ledger_lines_seq', COALESCE((SELECT MAX(id) FROM ledger_lines), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS charge_lots_seq INCREMENT BY 50;
+SELECT setval('charge_lots_seq', COALESCE((SELECT MAX(id) FROM charge_lots), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS spend_allocations_seq INCREMENT BY 50;
+SELECT setval('spend_allocations_seq', COALESCE((SELECT MAX(id) FROM spend_allocations), 0) + 50, false);
+
+-- BIGSERIAL 기본값이 남아 있으면 애플리케이션 외부 INSERT가 pooled 구간과 충돌할 수 있으므로 제거
+ALTER TABLE ledger_entries ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE ledger_lines ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE charge_lots ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE spend_allocations ALTER COLUMN id DROP DEFAULT;
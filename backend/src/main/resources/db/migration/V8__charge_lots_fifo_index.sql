@@ -0,0 +1,6 @@
+-- FIFO 차감용 부분 커버링 인덱스
+-- 잔여 금액이 있는 Lot만 인덱싱하여 (wallet_id, bucket_type) 범위를 created_at, id 순으로 바로 스캔
+CREATE INDEX IF NOT EXISTS idx_lots_fifo_open
+    ON charge_lots (wallet_id, bucket_type, created_at, id)
+    INCLUDE (amount_remaining)
+    WHERE amount_remaining > 0;
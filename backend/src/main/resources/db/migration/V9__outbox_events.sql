@@ -0,0 +1,14 @@
+-- 트랜잭셔널 아웃박스: 원장 포스팅과 같은 트랜잭션에서 이벤트를 기록하고 릴레이가 Kafka로 전송
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY,
+    event_id VARCHAR(64) NOT NULL,
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 릴레이는 id 순으로 읽고 전송 후 삭제하므로 PK 외 인덱스 불필요
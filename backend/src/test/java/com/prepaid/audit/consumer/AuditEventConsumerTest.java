@@ -0,0 +1,136 @@
+package com.prepaid.audit.consumer;
+
+import com.prepaid.audit.event.AuditEvent;
+import com.prepaid.audit.repository.AuditLogJdbcRepository;
+import com.prepaid.config.KafkaConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuditEventConsumer 단위 테스트 (역직렬화 실패 레코드 DLQ 전송)
+ */
+@DisplayName("AuditEventConsumer 테스트")
+class AuditEventConsumerTest {
+
+    private static final String TOPIC = "audit-events";
+    private static final byte[] BAD_PAYLOAD = "{not-json".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private AuditLogJdbcRepository auditLogJdbcRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> dlqKafkaTemplate;
+
+    @Mock
+    private Consumer<String, AuditEvent> kafkaConsumer;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private AuditEventConsumer auditEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        auditEventConsumer = new AuditEventConsumer(auditLogJdbcRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("역직렬화 실패 레코드 앞까지만 저장하고 해당 인덱스로 실패 통보")
+    void consume_DeserializationFailure_SavesPrecedingAndThrowsWithIndex() {
+        // given
+        AuditEvent first = event(1L);
+        List<ConsumerRecord<String, AuditEvent>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 0L, "1", first),
+                badRecord(1L),
+                new ConsumerRecord<>(TOPIC, 0, 2L, "3", event(3L)));
+
+        // when
+        Throwable thrown = catchThrowable(() -> auditEventConsumer.consume(records));
+
+        // then
+        assertThat(thrown).isInstanceOf(BatchListenerFailedException.class);
+        assertThat(((BatchListenerFailedException) thrown).getIndex()).isEqualTo(1);
+        assertThat(thrown.getCause()).isInstanceOf(DeserializationException.class);
+        verify(auditLogJdbcRepository).insertAll(List.of(first));
+    }
+
+    @Test
+    @DisplayName("역직렬화 실패 레코드는 재시도 없이 원본 바이트 그대로 DLT로 전송")
+    void errorHandler_DeserializationFailure_PublishedToDlt() {
+        // given
+        doReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .when(dlqKafkaTemplate).send(any(ProducerRecord.class));
+        when(kafkaConsumer.partitionsFor(anyString(), any(Duration.class)))
+                .thenReturn(List.of(new PartitionInfo(TOPIC + ".DLT", 0, null, null, null)));
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        CommonErrorHandler errorHandler = new KafkaConfig().errorHandler(dlqKafkaTemplate);
+
+        List<ConsumerRecord<String, AuditEvent>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 0L, "1", event(1L)),
+                badRecord(1L),
+                new ConsumerRecord<>(TOPIC, 0, 2L, "3", event(3L)));
+        Throwable thrown = catchThrowable(() -> auditEventConsumer.consume(records));
+
+        // when
+        errorHandler.handleBatch(new ListenerExecutionFailedException("listener failed", thrown),
+                new ConsumerRecords<>(Map.of(new TopicPartition(TOPIC, 0), records)),
+                kafkaConsumer, container, () -> { });
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(dlqKafkaTemplate, times(1)).send(captor.capture());
+        assertThat(captor.getValue().topic()).isEqualTo(TOPIC + ".DLT");
+        assertThat(captor.getValue().value()).isEqualTo(BAD_PAYLOAD);
+    }
+
+    private static ConsumerRecord<String, AuditEvent> badRecord(long offset) {
+        // 실제 컨슈머와 같은 경로로 역직렬화 실패 헤더를 만듦
+        RecordHeaders headers = new RecordHeaders();
+        try (ErrorHandlingDeserializer<AuditEvent> deserializer =
+                     new ErrorHandlingDeserializer<>(new JsonDeserializer<>(AuditEvent.class))) {
+            assertThat(deserializer.deserialize(TOPIC, headers, BAD_PAYLOAD)).isNull();
+        }
+        ConsumerRecord<String, AuditEvent> record = new ConsumerRecord<>(TOPIC, 0, offset, "2", null);
+        headers.forEach(header -> record.headers().add(header));
+        return record;
+    }
+
+    private static AuditEvent event(Long userId) {
+        return AuditEvent.success(userId, "PAYMENT", 1000L, "ref-" + userId, "127.0.0.1", "test");
+    }
+}
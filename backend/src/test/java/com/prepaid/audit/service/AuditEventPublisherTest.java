@@ -0,0 +1,93 @@
+package com.prepaid.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepaid.audit.event.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuditEventPublisher 단위 테스트 (Kafka 전송 실패분 저널 보관/재발행)
+ */
+@DisplayName("AuditEventPublisher 테스트")
+class AuditEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, AuditEvent> kafkaTemplate;
+
+    @TempDir
+    Path spillDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Kafka 전송이 실패하면 overflow-policy가 drop이어도 이벤트를 저널에 보관")
+    void publish_SendFailure_SpilledToJournal() throws Exception {
+        // given
+        doReturn(CompletableFuture.failedFuture(new KafkaException("broker down")))
+                .when(kafkaTemplate).send(any(Message.class));
+        AuditEventPublisher publisher = publisher("drop", Duration.ofHours(1));
+        publisher.start();
+
+        // when
+        publisher.publish(event(1L));
+        verify(kafkaTemplate, timeout(3_000)).send(any(Message.class));
+        publisher.stop();
+
+        // then - retry-backoff 동안은 재발행하지 않고 저널에 남아 있음
+        List<String> lines = Files.readAllLines(spillDir.resolve("audit-spill.jsonl"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("ref-1");
+        verify(kafkaTemplate, times(1)).send(any(Message.class));
+    }
+
+    @Test
+    @DisplayName("저널에 보관한 전송 실패분은 retry-backoff 후 다시 발행")
+    void publish_SendFailure_ReplayedAfterBackoff() throws Exception {
+        // given
+        doReturn(CompletableFuture.failedFuture(new KafkaException("broker down")))
+                .doReturn(new CompletableFuture<>())
+                .when(kafkaTemplate).send(any(Message.class));
+        AuditEventPublisher publisher = publisher("spill", Duration.ofMillis(100));
+        publisher.start();
+
+        // when
+        publisher.publish(event(1L));
+
+        // then
+        verify(kafkaTemplate, timeout(3_000).times(2)).send(any(Message.class));
+        publisher.stop();
+        assertThat(spillDir.resolve("audit-spill.replay.jsonl")).doesNotExist();
+    }
+
+    private AuditEventPublisher publisher(String overflowPolicy, Duration retryBackoff) {
+        return new AuditEventPublisher(kafkaTemplate, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 16, 10, overflowPolicy, Duration.ofMillis(20), retryBackoff,
+                spillDir.toString());
+    }
+
+    private static AuditEvent event(Long userId) {
+        return AuditEvent.success(userId, "PAYMENT", 1000L, "ref-" + userId, "127.0.0.1", "test");
+    }
+}
@@ -0,0 +1,110 @@
+package com.prepaid.auth.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JwtProvider 검증 캐시 단위 테스트
+ */
+@DisplayName("JwtProvider 테스트")
+class JwtProviderTest {
+
+    // HS512용 64바이트 키
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "jwt-provider-test-secret-jwt-provider-test-secret-jwt-provider-".getBytes(StandardCharsets.US_ASCII));
+
+    private static final Authentication AUTHENTICATION = new UsernamePasswordAuthenticationToken(
+            "user@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Test
+    @DisplayName("검증한 토큰은 캐시에서 재사용되고 uid 클레임이 details로 전달")
+    void getAuthentication_ValidToken_CachedWithUserId() {
+        // given
+        JwtProvider jwtProvider = new JwtProvider(SECRET, 1_800_000L, 604_800_000L, 100L, Duration.ofMinutes(5));
+        String token = jwtProvider.createAccessToken(AUTHENTICATION, 7L);
+
+        // when
+        Authentication first = jwtProvider.getAuthentication(token);
+        Authentication second = jwtProvider.getAuthentication(token);
+
+        // then
+        assertThat(jwtProvider.isCached(token)).isTrue();
+        assertThat(JwtProvider.getUserId(first)).isEqualTo(7L);
+        assertThat(second.getName()).isEqualTo("user@example.com");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 캐시에 남아 있던 검증 결과로 통과시키지 않음")
+    void getAuthentication_ExpiredToken_NotServedFromCache() throws InterruptedException {
+        // given - exp는 초 단위로 잘리므로 최소 1초 이상 남도록 2초로 발급
+        JwtProvider jwtProvider = new JwtProvider(SECRET, 2_000L, 604_800_000L, 100L, Duration.ofMinutes(5));
+        String token = jwtProvider.createAccessToken(AUTHENTICATION, 7L);
+        jwtProvider.getAuthentication(token);
+        assertThat(jwtProvider.isCached(token)).isTrue();
+
+        // when
+        Thread.sleep(2_100L);
+
+        // then
+        assertThat(jwtProvider.isCached(token)).isFalse();
+        assertThatThrownBy(() -> jwtProvider.getAuthentication(token))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtProvider.resolveAuthentication(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("캐시 만료 = min(토큰 남은 유효 시간, max-ttl)")
+    void tokenExpiry_MinOfRemainingAndMaxTtl() {
+        // given
+        long maxTtlNanos = Duration.ofMinutes(5).toNanos();
+        JwtProvider.TokenExpiry expiry = new JwtProvider.TokenExpiry(maxTtlNanos);
+        long now = System.currentTimeMillis();
+
+        // when
+        long shortLived = expiry.expireAfterCreate("a", verifiedToken(now + 60_000L), 0L);
+        long longLived = expiry.expireAfterCreate("b", verifiedToken(now + 3_600_000L), 0L);
+        long expired = expiry.expireAfterCreate("c", verifiedToken(now - 1L), 0L);
+
+        // then
+        assertThat(shortLived).isLessThanOrEqualTo(Duration.ofMinutes(1).toNanos())
+                .isGreaterThan(Duration.ofSeconds(50).toNanos());
+        assertThat(longLived).isEqualTo(maxTtlNanos);
+        assertThat(expired).isZero();
+    }
+
+    @Test
+    @DisplayName("evict는 이 노드의 검증 캐시에서 토큰을 제거")
+    void evict_RemovesCachedToken() {
+        // given
+        JwtProvider jwtProvider = new JwtProvider(SECRET, 1_800_000L, 604_800_000L, 100L, Duration.ofMinutes(5));
+        String token = jwtProvider.createAccessToken(AUTHENTICATION, 7L);
+        String other = jwtProvider.createAccessToken(AUTHENTICATION, 8L);
+        jwtProvider.getAuthentication(token);
+        jwtProvider.getAuthentication(other);
+
+        // when
+        jwtProvider.evict(token);
+
+        // then
+        assertThat(jwtProvider.isCached(token)).isFalse();
+        assertThat(jwtProvider.isCached(other)).isTrue();
+    }
+
+    private static JwtProvider.VerifiedToken verifiedToken(long expiresAtMillis) {
+        return new JwtProvider.VerifiedToken("user@example.com", 7L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), expiresAtMillis);
+    }
+}
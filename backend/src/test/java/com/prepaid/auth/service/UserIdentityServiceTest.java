@@ -0,0 +1,116 @@
+package com.prepaid.auth.service;
+
+import com.prepaid.common.exception.specific.UnauthorizedException;
+import com.prepaid.domain.User;
+import com.prepaid.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserIdentityService 단위 테스트
+ */
+@DisplayName("UserIdentityService 테스트")
+class UserIdentityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityService userIdentityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userIdentityService = new UserIdentityService(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("uid 클레임이 있는 토큰은 ID 스냅샷을 한 번만 조회하고 참조 반환")
+    void getUser_WithUid_LooksUpOnceAndReturnsReference() {
+        // given
+        User user = user(1L, false);
+        User reference = user(1L, false);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+
+        // when
+        User first = userIdentityService.getUser(authentication(1L));
+        User second = userIdentityService.getUser(authentication(1L));
+
+        // then
+        assertThat(first).isSameAs(reference);
+        assertThat(second).isSameAs(reference);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("uid 클레임이 있어도 잠긴 계정은 거부")
+    void getUser_LockedAccountWithUid_Rejected() {
+        // given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, true)));
+
+        // when & then
+        assertThatThrownBy(() -> userIdentityService.getUser(authentication(1L)))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    @DisplayName("uid가 없는 이전 토큰도 잠긴 계정은 거부")
+    void getUser_LockedAccountWithoutUid_Rejected() {
+        // given
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user(1L, true)));
+
+        // when & then
+        assertThatThrownBy(() -> userIdentityService.getUser(authentication(null)))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("잠금 후 evict하면 다음 요청부터 거부")
+    void evict_AfterLock_NextRequestRejected() {
+        // given
+        User user = user(1L, false);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userIdentityService.getUser(authentication(1L));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            user.incrementFailedAttempts();
+        }
+        userIdentityService.evict(user);
+
+        // then
+        assertThatThrownBy(() -> userIdentityService.getUser(authentication(1L)))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private static Authentication authentication(Long userId) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of());
+        authentication.setDetails(userId);
+        return authentication;
+    }
+
+    private static User user(Long id, boolean locked) {
+        return User.builder()
+                .id(id)
+                .provider("local")
+                .email("user@example.com")
+                .accountLocked(locked)
+                .build();
+    }
+}
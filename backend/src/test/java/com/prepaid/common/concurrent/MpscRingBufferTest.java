@@ -0,0 +1,90 @@
+package com.prepaid.common.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MpscRingBuffer 단위 테스트
+ */
+@DisplayName("MpscRingBuffer 테스트")
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("용량은 2의 거듭제곱으로 올림")
+    void capacity_RoundedUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("가득 차면 offer 실패, 꺼낸 만큼 다시 추가 가능 (FIFO)")
+    void offer_FullBuffer_RejectsUntilPolled() {
+        // given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // when & then
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 유실/중복 없이 한 소비자가 모두 꺼냄")
+    void offer_ConcurrentProducers_NoLossOrDuplicates() throws Exception {
+        // given
+        int producers = 8;
+        int perProducer = 20_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        Set<Integer> consumed = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            while (consumed.size() < producers * perProducer) {
+                Integer value = buffer.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertThat(consumed.add(value)).isTrue();
+            }
+        }
+
+        // then
+        assertThat(consumed).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
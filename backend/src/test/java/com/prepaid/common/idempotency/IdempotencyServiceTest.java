@@ -2,6 +2,8 @@ package com.prepaid.common.idempotency;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prepaid.common.exception.specific.DuplicateRequestException;
+import com.prepaid.common.exception.specific.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,11 +11,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.AdditionalMatchers.and;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,68 +35,187 @@ class IdempotencyServiceTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    private static final String SCOPE = "payment-use";
+    private static final Long USER_ID = 1L;
+    private static final Map<String, Object> REQUEST = Map.of("amount", 1000, "merchantUid", "m-1");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private IdempotencyService idempotencyService;
-    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        objectMapper = new ObjectMapper();
-        idempotencyService = new IdempotencyService(redisTemplate, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        IdempotencyNearCache nearCache = new IdempotencyNearCache(
+                1000, 0.01, Duration.ofHours(1), 100, Duration.ofMinutes(10), meterRegistry);
+        idempotencyService = new IdempotencyService(redisTemplate, nearCache, objectMapper);
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
+    @SuppressWarnings("unchecked")
+    private void givenClaimScriptReturns(String existing) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(existing);
+    }
+
+    /**
+     * 주어진 요청 본문의 해시로 저장된 값
+     */
+    private String storedValue(char status, Object request, String body) {
+        return IdempotencyService.encode(status, idempotencyService.hash(request), body);
+    }
+
     @Test
-    @DisplayName("처음 요청은 정상 처리")
-    void startProcessing_FirstRequest_Success() {
+    @DisplayName("처음 보는 키는 SET NX 한 번으로 선점 (엔드포인트/사용자 범위 키)")
+    @SuppressWarnings("unchecked")
+    void tryClaim_FirstRequest_ClaimedWithSetNx() {
         // given
-        String idempotencyKey = "test-key-1";
-        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(true);
 
-        // when & then
-        assertDoesNotThrow(() -> idempotencyService.startProcessing(idempotencyKey));
-        verify(valueOperations).set(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        // when
+        IdempotencyClaim claim = idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-1", REQUEST);
+
+        // then
+        assertThat(claim.isReplay()).isFalse();
+        verify(valueOperations).setIfAbsent(eq("idempotency:payment-use:1:test-key-1"),
+                endsWith("|" + claim.requestHash()), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString());
+        assertThat(meterRegistry.counter("idempotency.near-cache", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("다른 사용자가 같은 키를 쓰면 서로 다른 Redis 키로 선점")
+    void tryClaim_SameKeyOtherUser_SeparateRedisKey() {
+        // given
+        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(true);
+
+        // when
+        idempotencyService.tryClaim(SCOPE, 1L, "shared-key", REQUEST);
+        idempotencyService.tryClaim(SCOPE, 2L, "shared-key", REQUEST);
+        idempotencyService.tryClaim("refund", 1L, "shared-key", REQUEST);
+
+        // then
+        verify(valueOperations).setIfAbsent(eq("idempotency:payment-use:1:shared-key"), anyString(), anyLong(), any());
+        verify(valueOperations).setIfAbsent(eq("idempotency:payment-use:2:shared-key"), anyString(), anyLong(), any());
+        verify(valueOperations).setIfAbsent(eq("idempotency:refund:1:shared-key"), anyString(), anyLong(), any());
     }
 
     @Test
     @DisplayName("처리 중인 요청 중복 차단")
-    void startProcessing_ProcessingRequest_ThrowsDuplicate() throws Exception {
+    void tryClaim_ProcessingRequest_ThrowsDuplicate() {
         // given
-        String idempotencyKey = "test-key-2";
-        IdempotentRequest processing = IdempotentRequest.processing(idempotencyKey);
-        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(processing));
+        givenClaimScriptReturns(storedValue(IdempotencyService.PROCESSING, REQUEST, null));
 
         // when & then
-        assertThatThrownBy(() -> idempotencyService.startProcessing(idempotencyKey))
+        assertThatThrownBy(() -> idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-2", REQUEST))
                 .isInstanceOf(DuplicateRequestException.class)
                 .hasMessageContaining("처리 중");
     }
 
     @Test
-    @DisplayName("완료된 요청 중복 차단")
-    void startProcessing_CompletedRequest_ThrowsDuplicate() throws Exception {
+    @DisplayName("완료된 요청은 저장된 응답 재전송")
+    void tryClaim_CompletedRequest_ReplaysResponse() {
         // given
-        String idempotencyKey = "test-key-3";
-        IdempotentRequest completed = IdempotentRequest.completed(idempotencyKey, "SUCCESS");
-        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(completed));
+        givenClaimScriptReturns(storedValue(IdempotencyService.COMPLETED, REQUEST, "{\"result\":\"a|b\"}"));
 
-        // when & then
-        assertThatThrownBy(() -> idempotencyService.startProcessing(idempotencyKey))
-                .isInstanceOf(DuplicateRequestException.class)
-                .hasMessageContaining("처리된 요청");
+        // when
+        IdempotencyClaim claim = idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-3", REQUEST);
+
+        // then
+        assertThat(claim.isReplay()).isTrue();
+        assertThat(claim.responseBody()).isEqualTo("{\"result\":\"a|b\"}");
+        assertThat(idempotencyService.readResponse(claim, Map.class)).containsEntry("result", "a|b");
+    }
+
+    @Test
+    @DisplayName("같은 키로 내용이 다른 요청은 완료/처리 중/실패 상태 모두 거부")
+    void tryClaim_DifferentRequestSameKey_Rejected() {
+        Map<String, Object> otherRequest = Map.of("amount", 2000, "merchantUid", "m-1");
+        for (char status : new char[]{IdempotencyService.COMPLETED, IdempotencyService.PROCESSING, IdempotencyService.FAILED}) {
+            // given
+            givenClaimScriptReturns(storedValue(status, REQUEST, status == IdempotencyService.COMPLETED ? "{}" : null));
+
+            // when & then
+            assertThatThrownBy(() -> idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-7", otherRequest))
+                    .isInstanceOf(IdempotencyKeyReusedException.class);
+        }
     }
 
     @Test
-    @DisplayName("처리 완료 표시")
+    @DisplayName("같은 요청의 실패 상태는 재시도 허용")
+    void tryClaim_FailedSameRequest_Claimed() {
+        // given
+        givenClaimScriptReturns(storedValue(IdempotencyService.FAILED, REQUEST, null));
+
+        // when
+        IdempotencyClaim claim = idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-8", REQUEST);
+
+        // then
+        assertThat(claim.isReplay()).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 노드에서 완료된 요청은 Redis 없이 응답 재전송")
+    void tryClaim_LocallyCompleted_ReplaysWithoutRedis() {
+        // given
+        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(true);
+        IdempotencyClaim first = idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-6", REQUEST);
+        idempotencyService.markCompleted(first, Map.of("message", "SUCCESS"));
+        clearInvocations(redisTemplate, valueOperations);
+
+        // when
+        IdempotencyClaim claim = idempotencyService.tryClaim(SCOPE, USER_ID, "test-key-6", REQUEST);
+
+        // then
+        assertThat(claim.isReplay()).isTrue();
+        assertThat(claim.responseBody()).isEqualTo("{\"message\":\"SUCCESS\"}");
+        verifyNoInteractions(redisTemplate, valueOperations);
+        assertThat(meterRegistry.counter("idempotency.near-cache", "result", "hit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("처리 완료 표시 (요청 해시와 응답 본문 저장)")
     void markCompleted_Success() {
         // given
-        String idempotencyKey = "test-key-4";
+        IdempotencyClaim claim = IdempotencyClaim.claimed("payment-use:1:test-key-4", "hash");
 
         // when
-        idempotencyService.markCompleted(idempotencyKey, "SUCCESS");
+        idempotencyService.markCompleted(claim, Map.of("message", "SUCCESS"));
+
+        // then
+        verify(valueOperations).set(eq("idempotency:payment-use:1:test-key-4"),
+                and(startsWith("C|"), endsWith("|hash|{\"message\":\"SUCCESS\"}")),
+                anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("실패 표시 후 재시도 가능하도록 짧은 TTL로 저장")
+    void markFailed_ShortTtl() {
+        // given
+        IdempotencyClaim claim = IdempotencyClaim.claimed("payment-use:1:test-key-5", "hash");
+
+        // when
+        idempotencyService.markFailed(claim, "error");
+
+        // then
+        verify(valueOperations).set(eq("idempotency:payment-use:1:test-key-5"), startsWith("F|"),
+                eq(TimeUnit.MINUTES.toMillis(10)), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("값 인코딩/디코딩 (본문에 구분자가 있어도 보존)")
+    void encodeDecode_RoundTrip() {
+        // when
+        String value = IdempotencyService.encode(IdempotencyService.COMPLETED, "hash", "a|b|c");
 
         // then
-        verify(valueOperations).set(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        assertThat(IdempotencyService.decodeHash(value)).isEqualTo("hash");
+        assertThat(IdempotencyService.decodeBody(value)).isEqualTo("a|b|c");
+        assertThat(IdempotencyService.decodeBody(IdempotencyService.encode(IdempotencyService.FAILED, "hash", null))).isNull();
     }
 }
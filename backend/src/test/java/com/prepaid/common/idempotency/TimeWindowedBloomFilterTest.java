@@ -0,0 +1,70 @@
+package com.prepaid.common.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimeWindowedBloomFilter 단위 테스트
+ */
+@DisplayName("TimeWindowedBloomFilter 테스트")
+class TimeWindowedBloomFilterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private TimeWindowedBloomFilter filter(long expectedInsertions) {
+        return new TimeWindowedBloomFilter(expectedInsertions, 0.01, Duration.ofMinutes(1), now::get);
+    }
+
+    @Test
+    @DisplayName("추가한 키는 항상 포함 (미탐 없음)")
+    void put_ThenMightContain() {
+        TimeWindowedBloomFilter filter = filter(10_000);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("key-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("오탐률이 목표치 근처로 유지")
+    void falsePositiveRate_WithinBound() {
+        TimeWindowedBloomFilter filter = filter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // 목표 1%, 여유를 두고 3% 이하
+        assertThat((double) falsePositives / probes).isLessThan(0.03);
+    }
+
+    @Test
+    @DisplayName("다음 윈도우까지는 기억하고 두 윈도우가 지나면 잊음")
+    void rotation_ForgetsAfterTwoWindows() {
+        TimeWindowedBloomFilter filter = filter(1_000);
+        filter.put("idem-key");
+
+        now.addAndGet(Duration.ofSeconds(90).toMillis());
+        assertThat(filter.mightContain("idem-key")).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(60).toMillis());
+        assertThat(filter.mightContain("idem-key")).isFalse();
+    }
+}
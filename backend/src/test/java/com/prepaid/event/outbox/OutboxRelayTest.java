@@ -0,0 +1,186 @@
+package com.prepaid.event.outbox;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * OutboxRelay 단위 테스트 (전송 확인된 행만 삭제, 키별 순서 유지)
+ */
+@DisplayName("OutboxRelay 테스트")
+class OutboxRelayTest {
+
+    private static final CompletableFuture<SendResult<String, String>> SENT =
+            CompletableFuture.completedFuture(null);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // payload(eventId)별 전송 결과 (RuntimeException이면 send 호출 자체가 실패)
+    private final Map<String, Object> sendResults = new HashMap<>();
+    private final List<String> sentPayloads = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(outboxKafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            String payload = ((ProducerRecord<String, String>) invocation.getArgument(0)).value();
+            sentPayloads.add(payload);
+            Object result = sendResults.getOrDefault(payload, SENT);
+            if (result instanceof RuntimeException e) {
+                throw e;
+            }
+            return result;
+        });
+    }
+
+    @Test
+    @DisplayName("전송 확인된 행만 삭제")
+    void relayBatch_OnlyAcknowledgedRowsDeleted() {
+        // given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(
+                event(1L, "user-1"), event(2L, "user-2"), event(3L, "user-3")));
+        sendResults.put("evt-2", CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        // when
+        OutboxRelay.BatchResult result = relay(10, 1_000L).relayBatch();
+
+        // then
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        assertThat(result.fetched()).isEqualTo(3);
+        assertThat(result.failed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("send 호출이 실패한 키의 이후 이벤트는 보내지도 삭제하지도 않음")
+    void relayBatch_SendThrows_LaterEventsOfSameKeyNotSent() {
+        // given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(
+                event(1L, "user-1"), event(2L, "user-1"), event(3L, "user-2")));
+        sendResults.put("evt-1", new KafkaException("max.block.ms 초과"));
+
+        // when
+        relay(10, 1_000L).relayBatch();
+
+        // then
+        assertThat(sentPayloads).containsExactly("evt-1", "evt-3");
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("비동기 전송이 실패한 키의 이후 이벤트는 이미 보냈어도 삭제하지 않음")
+    void relayBatch_AsyncFailure_LaterEventsOfSameKeyKept() {
+        // given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(
+                event(1L, "user-1"), event(2L, "user-1"), event(3L, "user-2")));
+        sendResults.put("evt-1", CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        // when
+        relay(10, 1_000L).relayBatch();
+
+        // then
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("send-timeout-ms 안에 끝나지 않은 전송은 실패로 보고 삭제하지 않음")
+    void relayBatch_TimedOutFuture_CountedAsFailure() {
+        // given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(
+                event(1L, "user-1"), event(2L, "user-2")));
+        sendResults.put("evt-1", new CompletableFuture<SendResult<String, String>>());
+
+        // when
+        OutboxRelay.BatchResult result = relay(10, 50L).relayBatch();
+
+        // then
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(result.failed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("모두 실패하면 삭제하지 않음")
+    void relayBatch_AllFailed_NothingDeleted() {
+        // given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(event(1L, "user-1")));
+        sendResults.put("evt-1", CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        // when
+        relay(10, 1_000L).relayBatch();
+
+        // then
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyIterable());
+    }
+
+    @Test
+    @DisplayName("가득 찬 배치라도 실패가 있으면 이번 주기를 끝냄")
+    void relay_FullBatchWithFailure_StopsRun() {
+        // given
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of(event(1L, "user-1"), event(2L, "user-2")));
+        sendResults.put("evt-1", CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        // when
+        relay(2, 1_000L).relay();
+
+        // then
+        verify(outboxEventRepository, times(1)).lockNextBatch(2);
+    }
+
+    @Test
+    @DisplayName("가득 찬 배치가 모두 성공하면 다음 배치를 이어서 처리")
+    void relay_FullBatchSucceeded_ContinuesUntilPartialBatch() {
+        // given
+        when(outboxEventRepository.lockNextBatch(2))
+                .thenReturn(List.of(event(1L, "user-1"), event(2L, "user-2")))
+                .thenReturn(List.of(event(3L, "user-3")));
+
+        // when
+        relay(2, 1_000L).relay();
+
+        // then
+        verify(outboxEventRepository, times(2)).lockNextBatch(2);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    private OutboxRelay relay(int batchSize, long sendTimeoutMs) {
+        return new OutboxRelay(outboxEventRepository, outboxKafkaTemplate,
+                new TransactionTemplate(transactionManager), batchSize, 20, sendTimeoutMs);
+    }
+
+    private static OutboxEvent event(Long id, String messageKey) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId("evt-" + id)
+                .topic("balance-events")
+                .messageKey(messageKey)
+                .payloadType("com.prepaid.event.BalanceChangedEvent")
+                .payload("evt-" + id)
+                .build();
+    }
+}
@@ -1,11 +1,13 @@
 package com.prepaid.integration;
 
+import com.prepaid.common.exception.specific.InsufficientBalanceException;
 import com.prepaid.domain.User;
 import com.prepaid.domain.Wallet;
 import com.prepaid.ledger.domain.BucketType;
 import com.prepaid.ledger.domain.ChargeLot;
 import com.prepaid.ledger.domain.LedgerEntry;
 import com.prepaid.ledger.domain.SpendAllocation;
+import com.prepaid.ledger.domain.TxType;
 import com.prepaid.ledger.repository.ChargeLotRepository;
 import com.prepaid.ledger.repository.LedgerEntryRepository;
 import com.prepaid.ledger.repository.SpendAllocationRepository;
@@ -22,8 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @ActiveProfiles("local")
@@ -158,6 +163,95 @@ class FifoTest {
         assertThat(alloc2.getAmountConsumed()).isEqualTo(500L);
     }
 
+    @Test
+    @DisplayName("다른 노드에서 과거 Lot이 다시 열리면 이 노드의 FIFO 커서를 건너뛰지 않고 과거 Lot부터 차감해야 한다")
+    void useBalance_should_not_skip_lot_reopened_behind_cursor() {
+        // 준비 (Given)
+        ChargeLot lot1 = createChargeLot(wallet, BucketType.PAID, 500L, LocalDateTime.now().minusDays(2));
+        ChargeLot lot2 = createChargeLot(wallet, BucketType.PAID, 1000L, LocalDateTime.now().minusDays(1));
+        wallet.addBalance(1500L, BucketType.PAID);
+        walletRepository.save(wallet);
+
+        // Lot 1 소진 -> 이 노드의 커서는 Lot 2를 가리킴
+        ledgerService.useBalance(testUser, 500L, "merchant_3");
+
+        // 다른 노드의 사용 취소를 흉내: 커서 무효화 없이 Lot 1 잔액만 복구
+        ChargeLot reopened = chargeLotRepository.findById(lot1.getId()).orElseThrow();
+        reopened.increaseRemaining(300L);
+        chargeLotRepository.save(reopened);
+        Wallet current = walletRepository.findByUserId(testUser.getId()).orElseThrow();
+        current.addBalance(300L, BucketType.PAID);
+        walletRepository.save(current);
+
+        // 실행 (When)
+        ledgerService.useBalance(testUser, 300L, "merchant_4");
+
+        // 검증 (Then) - 다시 열린 Lot 1에서 차감, Lot 2는 그대로
+        assertThat(chargeLotRepository.findById(lot1.getId()).orElseThrow().getAmountRemaining()).isZero();
+        assertThat(chargeLotRepository.findById(lot2.getId()).orElseThrow().getAmountRemaining()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("무료+유료 잔액보다 큰 금액을 사용하면 잔액 부족 예외가 발생하고 아무것도 변경되지 않아야 한다")
+    void useBalance_exceeding_free_plus_paid_should_fail_without_changes() {
+        // 준비 (Given)
+        ChargeLot freeLot = createChargeLot(wallet, BucketType.FREE, 300L);
+        ChargeLot paidLot = createChargeLot(wallet, BucketType.PAID, 500L);
+        wallet.addBalance(300L, BucketType.FREE);
+        wallet.addBalance(500L, BucketType.PAID);
+        walletRepository.save(wallet);
+        Long versionBefore = walletRepository.findByUserId(testUser.getId()).orElseThrow().getVersion();
+
+        // 실행 & 검증 (When & Then)
+        assertThatThrownBy(() -> ledgerService.useBalance(testUser, 801L, "merchant_5"))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        Wallet unchanged = walletRepository.findByUserId(testUser.getId()).orElseThrow();
+        assertThat(unchanged.getBalanceFree()).isEqualTo(300L);
+        assertThat(unchanged.getBalancePaid()).isEqualTo(500L);
+        assertThat(unchanged.getVersion()).isEqualTo(versionBefore);
+        assertThat(chargeLotRepository.findById(freeLot.getId()).orElseThrow().getAmountRemaining()).isEqualTo(300L);
+        assertThat(chargeLotRepository.findById(paidLot.getId()).orElseThrow().getAmountRemaining()).isEqualTo(500L);
+        assertThat(ledgerEntryRepository.findAll()).noneMatch(entry -> entry.getTxType() == TxType.USE);
+        assertThat(spendAllocationRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("조건부 차감은 무료(FREE) 다음 유료(PAID) 순서로 나누어 차감하고 Lot 할당과 일치해야 한다")
+    void useBalance_split_debit_should_match_lot_allocations() {
+        // 준비 (Given)
+        ChargeLot freeLot = createChargeLot(wallet, BucketType.FREE, 300L);
+        ChargeLot paidLot1 = createChargeLot(wallet, BucketType.PAID, 400L);
+        ChargeLot paidLot2 = createChargeLot(wallet, BucketType.PAID, 600L);
+        wallet.addBalance(300L, BucketType.FREE);
+        wallet.addBalance(1000L, BucketType.PAID);
+        walletRepository.save(wallet);
+        Long versionBefore = walletRepository.findByUserId(testUser.getId()).orElseThrow().getVersion();
+
+        // 실행 (When)
+        // 900 사용 (무료 300 + 유료 600: Lot 1 전부 400, Lot 2 일부 200)
+        ledgerService.useBalance(testUser, 900L, "merchant_6");
+
+        // 검증 (Then)
+        // 1. 지갑 버킷별 차감 (한 번의 조건부 UPDATE)
+        Wallet updatedWallet = walletRepository.findByUserId(testUser.getId()).orElseThrow();
+        assertThat(updatedWallet.getBalanceFree()).isZero();
+        assertThat(updatedWallet.getBalancePaid()).isEqualTo(400L);
+        assertThat(updatedWallet.getVersion()).isEqualTo(versionBefore + 1);
+
+        // 2. 버킷별 할당 합계가 지갑 차감액과 일치
+        List<SpendAllocation> allocations = spendAllocationRepository.findAllWithChargeLot();
+        Map<BucketType, Long> consumedByBucket = allocations.stream()
+                .collect(Collectors.groupingBy(a -> a.getChargeLot().getBucketType(),
+                        Collectors.summingLong(SpendAllocation::getAmountConsumed)));
+        assertThat(consumedByBucket).containsEntry(BucketType.FREE, 300L).containsEntry(BucketType.PAID, 600L);
+
+        // 3. Lot 잔액
+        assertThat(chargeLotRepository.findById(freeLot.getId()).orElseThrow().getAmountRemaining()).isZero();
+        assertThat(chargeLotRepository.findById(paidLot1.getId()).orElseThrow().getAmountRemaining()).isZero();
+        assertThat(chargeLotRepository.findById(paidLot2.getId()).orElseThrow().getAmountRemaining()).isEqualTo(400L);
+    }
+
     private ChargeLot createChargeLot(Wallet wallet, BucketType bucketType, Long amount) {
         return createChargeLot(wallet, bucketType, amount, LocalDateTime.now());
     }
@@ -0,0 +1,179 @@
+package com.prepaid.integration;
+
+import com.prepaid.audit.repository.AuditLogRepository;
+import com.prepaid.domain.User;
+import com.prepaid.domain.Wallet;
+import com.prepaid.ledger.domain.LedgerEntry;
+import com.prepaid.ledger.domain.TxType;
+import com.prepaid.ledger.repository.ChargeLotRepository;
+import com.prepaid.ledger.repository.LedgerEntryRepository;
+import com.prepaid.ledger.repository.LedgerLineRepository;
+import com.prepaid.ledger.repository.SpendAllocationRepository;
+import com.prepaid.repository.UserRepository;
+import com.prepaid.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 월 파티션 전환(V11) 검증
+ * - ledger_entries 전역 UNIQUE(idempotency_key)를 대체한 ledger_idempotency_keys + 트리거
+ * - 감사 로그 월 파티션 DROP
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@org.springframework.test.context.TestPropertySource(properties = {
+        "TOSS_CLIENT_KEY=test_toss_client_key",
+        "TOSS_SECRET_KEY=test_toss_secret_key",
+        "NAVER_CLIENT_ID=test_naver_client_id",
+        "NAVER_CLIENT_SECRET=test_naver_client_secret"
+})
+class LedgerPartitionTest {
+
+    private static final String KEY = "partition-test-key";
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerLineRepository ledgerLineRepository;
+
+    @Autowired
+    private SpendAllocationRepository spendAllocationRepository;
+
+    @Autowired
+    private ChargeLotRepository chargeLotRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        tearDown(); // Ensure clean state
+        User user = userRepository.save(User.builder()
+                .email("partition@example.com")
+                .provider("NAVER")
+                .role("ROLE_USER")
+                .build());
+        wallet = walletRepository.save(Wallet.builder().user(user).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerLineRepository.deleteAll();
+        spendAllocationRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        chargeLotRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 멱등성 키의 원장 엔트리는 다른 월 파티션이어도 저장 실패")
+    void save_duplicate_idempotency_key_should_fail_across_partitions() {
+        // 준비 (Given)
+        ledgerEntryRepository.saveAndFlush(entry(KEY, LocalDateTime.now()));
+
+        // 실행 & 검증 (When & Then)
+        assertThatThrownBy(() -> ledgerEntryRepository.saveAndFlush(entry(KEY, LocalDateTime.now())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> ledgerEntryRepository.saveAndFlush(entry(KEY, LocalDateTime.now().minusMonths(1))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(ledgerEntryRepository.count()).isEqualTo(1);
+        assertThat(keyCount(KEY)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("원장 엔트리를 삭제하면 멱등성 키가 해제되어 다시 사용 가능")
+    void delete_entry_should_release_idempotency_key() {
+        // 준비 (Given)
+        LedgerEntry first = ledgerEntryRepository.saveAndFlush(entry(KEY, LocalDateTime.now()));
+
+        // 실행 (When)
+        ledgerEntryRepository.delete(first);
+        LedgerEntry second = ledgerEntryRepository.saveAndFlush(entry(KEY, LocalDateTime.now()));
+
+        // 검증 (Then)
+        assertThat(keyCount(KEY)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT entry_id FROM ledger_idempotency_keys WHERE idempotency_key = ?", Long.class, KEY))
+                .isEqualTo(second.getId());
+    }
+
+    @Test
+    @DisplayName("감사 로그는 cutoff 이전에 끝나는 audit_logs_pYYYYMM 파티션만 삭제")
+    void dropPartitionsBefore_should_drop_only_old_audit_partitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // 준비 (Given) - DDL도 트랜잭션에 포함되므로 마지막에 롤백
+            jdbcTemplate.execute("SELECT create_monthly_partition('audit_logs', DATE '2001-01-01')");
+            jdbcTemplate.execute("SELECT create_monthly_partition('audit_logs', DATE '2001-02-01')");
+            jdbcTemplate.execute("SELECT create_monthly_partition('audit_logs', DATE '2001-03-01')");
+            jdbcTemplate.execute("SELECT create_monthly_partition('ledger_entries', DATE '2001-01-01')");
+            // 이름 규칙이 다른 파티션은 기간이 지나도 대상 아님
+            jdbcTemplate.execute("CREATE TABLE audit_logs_archive PARTITION OF audit_logs "
+                    + "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+
+            // 실행 (When)
+            int dropped = auditLogRepository.dropPartitionsBefore(LocalDate.of(2001, 3, 1));
+
+            // 검증 (Then)
+            assertThat(dropped).isEqualTo(2);
+            assertThat(exists("audit_logs_p200101")).isFalse();
+            assertThat(exists("audit_logs_p200102")).isFalse();
+            assertThat(exists("audit_logs_p200103")).isTrue();
+            assertThat(exists("audit_logs_archive")).isTrue();
+            assertThat(exists("audit_logs_default")).isTrue();
+            assertThat(exists("ledger_entries_p200101")).isTrue();
+
+            status.setRollbackOnly();
+        });
+    }
+
+    private LedgerEntry entry(String idempotencyKey, LocalDateTime createdAt) {
+        return LedgerEntry.builder()
+                .wallet(wallet)
+                .txType(TxType.CHARGE)
+                .referenceId("partition_test")
+                .idempotencyKey(idempotencyKey)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private int keyCount(String idempotencyKey) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM ledger_idempotency_keys WHERE idempotency_key = ?", Integer.class, idempotencyKey);
+        return count != null ? count : 0;
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
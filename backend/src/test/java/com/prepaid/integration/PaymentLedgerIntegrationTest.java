@@ -1,36 +1,39 @@
 package com.prepaid.integration;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepaid.common.limit.LimitReservation;
 import com.prepaid.domain.User;
 import com.prepaid.domain.Wallet;
 import com.prepaid.ledger.domain.LedgerEntry;
 import com.prepaid.ledger.repository.*;
+import com.prepaid.payment.domain.Payment;
+import com.prepaid.payment.domain.PaymentStatus;
 import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.gateway.PaymentGateway;
+import com.prepaid.payment.repository.PaymentRepository;
+import com.prepaid.payment.scheduler.PendingPaymentReconciler;
 import com.prepaid.payment.service.PaymentService;
+import com.prepaid.payment.validation.PaymentValidator;
 import com.prepaid.repository.UserRepository;
 import com.prepaid.repository.WalletRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureMockRestServiceServer;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
-import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @SpringBootTest
-@AutoConfigureMockRestServiceServer
 @ActiveProfiles("local")
 @Transactional
 @org.springframework.test.context.TestPropertySource(properties = {
         "TOSS_CLIENT_KEY=test_toss_client_key",
         "TOSS_SECRET_KEY=test_toss_secret_key",
+        "toss.stub.enabled=true",
         "NAVER_CLIENT_ID=test_naver_client_id",
         "NAVER_CLIENT_SECRET=test_naver_client_secret"
 })
@@ -40,7 +43,16 @@ class PaymentLedgerIntegrationTest {
     private PaymentService paymentService;
 
     @Autowired
-    private MockRestServiceServer mockServer;
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PendingPaymentReconciler pendingPaymentReconciler;
+
+    @Autowired
+    private PaymentValidator paymentValidator;
 
     @Autowired
     private UserRepository userRepository;
@@ -57,9 +69,6 @@ class PaymentLedgerIntegrationTest {
     @Autowired
     private ChargeLotRepository chargeLotRepository;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
     private User testUser;
 
     @BeforeEach
@@ -85,18 +94,7 @@ class PaymentLedgerIntegrationTest {
         request.setOrderId(orderId);
         request.setAmount(amount);
 
-        // Toss API Mock Response
-        String tossResponseJson = """
-                    {
-                        "paymentKey": "%s",
-                        "orderId": "%s",
-                        "status": "DONE",
-                        "totalAmount": %d
-                    }
-                """.formatted(paymentKey, orderId, amount);
-
-        mockServer.expect(requestTo("https://api.tosspayments.com/v1/payments/confirm"))
-                .andRespond(withSuccess(tossResponseJson, MediaType.APPLICATION_JSON));
+        // Toss 승인은 StubPaymentGateway가 DONE으로 응답 (toss.stub.enabled=true)
 
         // 실행 (When)
         paymentService.confirmPayment(testUser, request);
@@ -119,4 +117,66 @@ class PaymentLedgerIntegrationTest {
         assertThat(chargeLotRepository.count()).isEqualTo(1);
         assertThat(chargeLotRepository.findAll().get(0).getAmountRemaining()).isEqualTo(amount);
     }
+
+    @Test
+    @DisplayName("Toss 승인 후 원장 기록 전에 중단된 PENDING 결제를 복구 스위퍼가 확정")
+    void reconcile_should_confirm_pending_payment_approved_by_gateway() {
+        // 준비 (Given) - Toss 승인은 끝났지만 원장 기록 전에 중단된 상태
+        Long amount = 20000L;
+        PaymentConfirmRequest request = new PaymentConfirmRequest();
+        request.setPaymentKey("stale_payment_key");
+        request.setOrderId("stale_order_id");
+        request.setAmount(amount);
+
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(request.getOrderId())
+                .user(testUser)
+                .amount(amount)
+                .paymentKey(request.getPaymentKey())
+                .build());
+        paymentGateway.confirm(request);
+
+        // 실행 (When)
+        int reconciled = pendingPaymentReconciler.reconcileBefore(LocalDateTime.now().plusMinutes(1));
+
+        // 검증 (Then)
+        assertThat(reconciled).isEqualTo(1);
+        assertThat(paymentRepository.findById(payment.getId()).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.CONFIRMED);
+        Wallet wallet = walletRepository.findByUserId(testUser.getId()).orElseThrow();
+        assertThat(wallet.getBalancePaid()).isEqualTo(amount);
+
+        // 다시 실행해도 중복 포스팅 없음
+        assertThat(pendingPaymentReconciler.reconcileBefore(LocalDateTime.now().plusMinutes(1))).isZero();
+        assertThat(chargeLotRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게이트웨이에 없는 PENDING 결제를 FAILED로 확정하면 일일 한도 예약도 반환")
+    void reconcile_should_release_limit_reservation_of_failed_payment() {
+        // 준비 (Given) - 한도 예약 후 Toss 호출 결과 불명으로 남은 결제 (게이트웨이에는 도달하지 않음)
+        Long amount = 30000L;
+        LimitReservation reservation = paymentValidator.validateChargeAmount(testUser.getId(), amount);
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId("unknown_order_id")
+                .user(testUser)
+                .amount(amount)
+                .paymentKey("unknown_payment_key")
+                .limitReservationKey(reservation.key())
+                .limitReservationMember(reservation.member())
+                .build());
+
+        // 실행 (When)
+        int reconciled = pendingPaymentReconciler.reconcileBefore(LocalDateTime.now().plusMinutes(1));
+
+        // 검증 (Then)
+        assertThat(reconciled).isEqualTo(1);
+        assertThat(paymentRepository.findById(payment.getId()).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.FAILED);
+
+        // 반환되었으면 같은 금액을 다시 예약해도 누적 금액이 처음과 같음
+        LimitReservation again = paymentValidator.validateChargeAmount(testUser.getId(), amount);
+        assertThat(again.used()).isEqualTo(reservation.used());
+        paymentValidator.releaseLimit(again);
+    }
 }
@@ -0,0 +1,250 @@
+package com.prepaid.integration;
+
+import com.prepaid.domain.User;
+import com.prepaid.domain.Wallet;
+import com.prepaid.ledger.domain.AccountCode;
+import com.prepaid.ledger.domain.BucketType;
+import com.prepaid.ledger.domain.ChargeLot;
+import com.prepaid.ledger.domain.LedgerEntry;
+import com.prepaid.ledger.domain.LedgerLine;
+import com.prepaid.ledger.domain.TxType;
+import com.prepaid.ledger.repository.ChargeLotRepository;
+import com.prepaid.ledger.repository.ExpirationCheckpointRepository;
+import com.prepaid.ledger.repository.LedgerEntryRepository;
+import com.prepaid.ledger.repository.LedgerLineRepository;
+import com.prepaid.ledger.repository.SpendAllocationRepository;
+import com.prepaid.ledger.service.PointExpirationService;
+import com.prepaid.repository.UserRepository;
+import com.prepaid.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@org.springframework.test.context.TestPropertySource(properties = {
+        "TOSS_CLIENT_KEY=test_toss_client_key",
+        "TOSS_SECRET_KEY=test_toss_secret_key",
+        "NAVER_CLIENT_ID=test_naver_client_id",
+        "NAVER_CLIENT_SECRET=test_naver_client_secret"
+})
+class PointExpirationTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 10, 18);
+    private static final LocalDateTime EXPIRY_DATE = LocalDateTime.now().minusDays(365);
+    private static final LocalDateTime EXPIRED_AT = LocalDateTime.now().minusDays(400);
+
+    @Autowired
+    private ChargeLotRepository chargeLotRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerLineRepository ledgerLineRepository;
+
+    @Autowired
+    private SpendAllocationRepository spendAllocationRepository;
+
+    @Autowired
+    private ExpirationCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Wallet walletA;
+    private Wallet walletB;
+
+    @BeforeEach
+    void setUp() {
+        tearDown(); // Ensure clean state
+        walletA = createWallet("expire-a@example.com");
+        walletB = createWallet("expire-b@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM expiration_checkpoints");
+        ledgerLineRepository.deleteAll();
+        spendAllocationRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        chargeLotRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("만료 Lot은 0이 되고 지갑 버킷별 잔액이 만료 금액만큼 감소, 청크마다 지갑별 EXPIRE 엔트리 하나")
+    void expirePartition_should_zero_lots_and_post_one_entry_per_wallet_per_chunk() {
+        // 준비 (Given) - 청크 크기 2: [A 유료, A 무료], [A 유료, B 유료]
+        ChargeLot a1 = createLot(walletA, BucketType.PAID, 1000L, EXPIRED_AT);
+        ChargeLot a2 = createLot(walletA, BucketType.FREE, 300L, EXPIRED_AT);
+        ChargeLot a3 = createLot(walletA, BucketType.PAID, 200L, EXPIRED_AT);
+        ChargeLot b1 = createLot(walletB, BucketType.PAID, 700L, EXPIRED_AT);
+        ChargeLot recent = createLot(walletA, BucketType.PAID, 500L, LocalDateTime.now());
+
+        // 실행 (When)
+        long expired = service(chargeLotRepository, 2).expirePartition(RUN_DATE, EXPIRY_DATE, 0, 1);
+
+        // 검증 (Then)
+        // 1. Lot 소멸 (만료 기준 이후 Lot은 유지)
+        assertThat(expired).isEqualTo(2200L);
+        for (ChargeLot lot : List.of(a1, a2, a3, b1)) {
+            assertThat(chargeLotRepository.findById(lot.getId()).orElseThrow().getAmountRemaining()).isZero();
+        }
+        assertThat(chargeLotRepository.findById(recent.getId()).orElseThrow().getAmountRemaining()).isEqualTo(500L);
+
+        // 2. 지갑 버킷별 잔액
+        Wallet updatedA = walletRepository.findById(walletA.getId()).orElseThrow();
+        assertThat(updatedA.getBalancePaid()).isEqualTo(500L);
+        assertThat(updatedA.getBalanceFree()).isZero();
+        Wallet updatedB = walletRepository.findById(walletB.getId()).orElseThrow();
+        assertThat(updatedB.getBalancePaid()).isZero();
+
+        // 3. 청크별/지갑별 EXPIRE 엔트리와 합이 0인 라인
+        List<LedgerEntry> entries = ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getTxType() == TxType.EXPIRE)
+                .toList();
+        assertThat(entries).hasSize(3);
+        assertThat(entries).extracting(entry -> entry.getWallet().getId())
+                .containsExactlyInAnyOrder(walletA.getId(), walletA.getId(), walletB.getId());
+        assertThat(entries).extracting(LedgerEntry::getIdempotencyKey).doesNotHaveDuplicates();
+
+        Map<Long, List<LedgerLine>> linesByEntry = ledgerLineRepository.findAll().stream()
+                .collect(Collectors.groupingBy(line -> line.getEntry().getId()));
+        for (LedgerEntry entry : entries) {
+            List<LedgerLine> lines = linesByEntry.get(entry.getId());
+            assertThat(lines).extracting(LedgerLine::getAccountCode)
+                    .containsExactlyInAnyOrder(AccountCode.WALLET_CASH, AccountCode.BREAKAGE_INCOME);
+            assertThat(lines.stream().mapToLong(LedgerLine::getAmountSigned).sum()).isZero();
+        }
+        assertThat(entries.stream()
+                .map(entry -> walletCash(linesByEntry.get(entry.getId())))
+                .toList())
+                .containsExactlyInAnyOrder(-1300L, -200L, -700L);
+    }
+
+    @Test
+    @DisplayName("keyset 조회와 Lot 잠금 사이에 사용된 Lot은 만료하지 않음")
+    void expirePartition_should_skip_lot_spent_after_scan() {
+        // 준비 (Given)
+        ChargeLot a1 = createLot(walletA, BucketType.PAID, 1000L, EXPIRED_AT);
+        ChargeLot b1 = createLot(walletB, BucketType.PAID, 700L, EXPIRED_AT);
+
+        // 조회 직후 B의 Lot이 전부 사용된 상황을 흉내 (잠금 조회 전에 반영)
+        ChargeLotRepository spentAfterScan = (ChargeLotRepository) Proxy.newProxyInstance(
+                ChargeLotRepository.class.getClassLoader(),
+                new Class<?>[]{ChargeLotRepository.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(chargeLotRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findExpirableLots")) {
+                        jdbcTemplate.update("UPDATE charge_lots SET amount_remaining = 0 WHERE id = ?", b1.getId());
+                        jdbcTemplate.update("UPDATE wallets SET balance_paid = 0 WHERE id = ?", walletB.getId());
+                    }
+                    return result;
+                });
+
+        // 실행 (When)
+        long expired = service(spentAfterScan, 500).expirePartition(RUN_DATE, EXPIRY_DATE, 0, 1);
+
+        // 검증 (Then)
+        assertThat(expired).isEqualTo(1000L);
+        assertThat(chargeLotRepository.findById(a1.getId()).orElseThrow().getAmountRemaining()).isZero();
+        assertThat(walletRepository.findById(walletB.getId()).orElseThrow().getBalancePaid()).isZero();
+        assertThat(ledgerEntryRepository.findAll()).extracting(entry -> entry.getWallet().getId())
+                .containsExactly(walletA.getId());
+    }
+
+    @Test
+    @DisplayName("같은 실행일의 파티션이 완료되었으면 다시 실행해도 아무것도 하지 않음")
+    void expirePartition_should_do_nothing_after_completed_checkpoint() {
+        // 준비 (Given)
+        createLot(walletA, BucketType.PAID, 1000L, EXPIRED_AT);
+        PointExpirationService service = service(chargeLotRepository, 500);
+        assertThat(service.expirePartition(RUN_DATE, EXPIRY_DATE, 0, 1)).isEqualTo(1000L);
+
+        ChargeLot late = createLot(walletB, BucketType.PAID, 700L, EXPIRED_AT);
+        long entriesBefore = ledgerEntryRepository.count();
+
+        // 실행 (When)
+        long expired = service.expirePartition(RUN_DATE, EXPIRY_DATE, 0, 1);
+
+        // 검증 (Then)
+        assertThat(expired).isZero();
+        assertThat(chargeLotRepository.findById(late.getId()).orElseThrow().getAmountRemaining()).isEqualTo(700L);
+        assertThat(walletRepository.findById(walletB.getId()).orElseThrow().getBalancePaid()).isEqualTo(700L);
+        assertThat(ledgerEntryRepository.count()).isEqualTo(entriesBefore);
+    }
+
+    private PointExpirationService service(ChargeLotRepository lots, int chunkSize) {
+        return new PointExpirationService(lots, walletRepository, ledgerEntryRepository, ledgerLineRepository,
+                checkpointRepository, applicationEventPublisher, transactionTemplate, chunkSize);
+    }
+
+    private Wallet createWallet(String email) {
+        User user = userRepository.save(User.builder()
+                .email(email)
+                .provider("NAVER")
+                .role("ROLE_USER")
+                .build());
+        return walletRepository.save(Wallet.builder().user(user).build());
+    }
+
+    private ChargeLot createLot(Wallet wallet, BucketType bucketType, Long amount, LocalDateTime createdAt) {
+        ChargeLot lot = chargeLotRepository.save(ChargeLot.builder()
+                .wallet(wallet)
+                .bucketType(bucketType)
+                .amountTotal(amount)
+                .amountRemaining(amount)
+                .originalEntryId(System.nanoTime())
+                .createdAt(createdAt)
+                .build());
+
+        // Lot 생성은 충전 경로를 우회하므로 지갑 잔액을 직접 맞춤
+        Wallet current = walletRepository.findById(wallet.getId()).orElseThrow();
+        current.addBalance(amount, bucketType);
+        walletRepository.save(current);
+        return lot;
+    }
+
+    private static long walletCash(List<LedgerLine> lines) {
+        return lines.stream()
+                .filter(line -> line.getAccountCode() == AccountCode.WALLET_CASH)
+                .mapToLong(LedgerLine::getAmountSigned)
+                .sum();
+    }
+}
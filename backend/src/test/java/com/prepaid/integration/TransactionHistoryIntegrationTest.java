@@ -0,0 +1,324 @@
+package com.prepaid.integration;
+
+import com.prepaid.common.dto.ErrorResponse;
+import com.prepaid.common.exception.ErrorCode;
+import com.prepaid.common.exception.GlobalExceptionHandler;
+import com.prepaid.common.exception.specific.InvalidCursorException;
+import com.prepaid.common.exception.specific.UnauthorizedException;
+import com.prepaid.domain.User;
+import com.prepaid.domain.Wallet;
+import com.prepaid.ledger.domain.AccountCode;
+import com.prepaid.ledger.domain.LedgerEntry;
+import com.prepaid.ledger.domain.LedgerLine;
+import com.prepaid.ledger.domain.TxType;
+import com.prepaid.ledger.repository.LedgerEntryRepository;
+import com.prepaid.ledger.repository.LedgerLineRepository;
+import com.prepaid.repository.UserRepository;
+import com.prepaid.repository.WalletRepository;
+import com.prepaid.wallet.dto.TransactionCursor;
+import com.prepaid.wallet.dto.TransactionDTO;
+import com.prepaid.wallet.dto.TransactionDetailDTO;
+import com.prepaid.wallet.dto.TransactionSliceDTO;
+import com.prepaid.wallet.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@Transactional
+@org.springframework.test.context.TestPropertySource(properties = {
+        "TOSS_CLIENT_KEY=test_toss_client_key",
+        "TOSS_SECRET_KEY=test_toss_secret_key",
+        "toss.stub.enabled=true",
+        "NAVER_CLIENT_ID=test_naver_client_id",
+        "NAVER_CLIENT_SECRET=test_naver_client_secret"
+})
+class TransactionHistoryIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerLineRepository ledgerLineRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email("history@example.com")
+                .provider("NAVER")
+                .role("ROLE_USER")
+                .build());
+        wallet = walletRepository.save(Wallet.builder().user(testUser).build());
+    }
+
+    @Test
+    @DisplayName("createdAt이 같은 거래가 페이지 경계에 걸쳐도 누락/중복 없이 최신순으로 이어서 조회")
+    void scroll_should_page_across_equal_created_at() {
+        // 준비 (Given) - 같은 시각 5건 + 이전 시각 2건
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(saveEntry(TxType.CHARGE, now));
+        }
+        entries.add(saveEntry(TxType.USE, now.minusSeconds(1)));
+        entries.add(saveEntry(TxType.CHARGE, now.minusSeconds(2)));
+        List<Long> expected = entries.stream()
+                .sorted(Comparator.comparing(LedgerEntry::getCreatedAt).thenComparing(LedgerEntry::getId).reversed())
+                .map(LedgerEntry::getId)
+                .toList();
+
+        // 실행 (When) - 2건씩 끝까지 스크롤
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        TransactionSliceDTO slice;
+        int pages = 0;
+        do {
+            slice = transactionService.getTransactionsByCursor(testUser, null, null, null, cursor, 2);
+            slice.content().forEach(tx -> scrolled.add(tx.id()));
+            cursor = slice.nextCursor();
+            pages++;
+        } while (slice.hasNext());
+
+        // 검증 (Then)
+        assertThat(scrolled).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(4);
+        assertThat(slice.content()).hasSize(1);
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("거래 유형 필터도 같은 시각 거래를 커서로 이어서 조회")
+    void scroll_with_type_should_page_across_equal_created_at() {
+        // 준비 (Given)
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Long> charges = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            charges.add(saveEntry(TxType.CHARGE, now).getId());
+            saveEntry(TxType.USE, now);
+        }
+
+        // 실행 (When)
+        TransactionSliceDTO first = transactionService.getTransactionsByCursor(
+                testUser, TxType.CHARGE, null, null, null, 2);
+        TransactionSliceDTO second = transactionService.getTransactionsByCursor(
+                testUser, TxType.CHARGE, null, null, first.nextCursor(), 2);
+
+        // 검증 (Then)
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+        assertThat(first.content()).extracting(TransactionDTO::txType).containsOnly("CHARGE");
+        assertThat(concatIds(first, second))
+                .containsExactlyElementsOf(charges.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    @DisplayName("결과가 페이지 크기와 정확히 같으면 hasNext=false, nextCursor 없음")
+    void scroll_last_page_exactly_full_should_report_no_next() {
+        // 준비 (Given)
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveEntry(TxType.CHARGE, now);
+        saveEntry(TxType.CHARGE, now);
+
+        // 실행 (When)
+        TransactionSliceDTO slice = transactionService.getTransactionsByCursor(testUser, null, null, null, null, 2);
+
+        // 검증 (Then)
+        assertThat(slice.content()).hasSize(2);
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("커서는 (createdAt, id)를 그대로 왕복")
+    void cursor_should_round_trip() {
+        // 준비 (Given)
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000), 42L);
+
+        // 실행 (When)
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        // 검증 (Then)
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 400 INVALID_CURSOR")
+    void scroll_with_malformed_cursor_should_return_400() {
+        // 준비 (Given)
+        saveEntry(TxType.CHARGE, LocalDateTime.now().withNano(0));
+
+        // 실행 & 검증 (When & Then)
+        String withoutId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-10-18T09:30|abc".getBytes(StandardCharsets.UTF_8));
+        for (String malformed : List.of("not-a-cursor!", "bm90LWEtY3Vyc29y", withoutId)) {
+            assertThatThrownBy(() -> transactionService.getTransactionsByCursor(
+                    testUser, null, null, null, malformed, 20))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+
+        InvalidCursorException exception = new InvalidCursorException();
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleBusinessException(
+                exception, new MockHttpServletRequest("GET", "/api/transactions/scroll"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getErrorCode()).isEqualTo(ErrorCode.INVALID_CURSOR.name());
+    }
+
+    @Test
+    @DisplayName("V14 이후에도 기존 페이지 조회(목록 + COUNT)는 인덱스를 사용")
+    void page_query_should_still_use_index_after_v14() {
+        // 준비 (Given)
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 3; i++) {
+            saveEntry(TxType.CHARGE, now.minusSeconds(i));
+        }
+
+        // 실행 (When)
+        Page<TransactionDTO> page = transactionService.getTransactions(
+                testUser, null, null, null, PageRequest.of(0, 2));
+        // 순차 스캔을 막았을 때 인덱스가 없으면 플랜에 Seq Scan이 그대로 남음
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        String listPlan = explain("SELECT * FROM ledger_entries WHERE wallet_id = " + wallet.getId()
+                + " ORDER BY created_at DESC OFFSET 20 LIMIT 20");
+        String countPlan = explain("SELECT count(*) FROM ledger_entries WHERE wallet_id = " + wallet.getId());
+
+        // 검증 (Then)
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(TransactionDTO::createdAt)
+                .containsExactly(now, now.minusSeconds(1));
+        assertThat(listPlan).contains("Index").doesNotContain("Seq Scan");
+        assertThat(countPlan).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("WALLET_CASH 라인 조인은 엔트리당 한 행, 지갑 기준 부호 있는 금액 반환")
+    void history_should_return_one_row_per_entry_with_wallet_cash_amount() {
+        // 준비 (Given) - 엔트리마다 상대 계정 라인이 함께 있음
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LedgerEntry charge = saveEntry(TxType.CHARGE, now.minusSeconds(2));
+        saveLine(charge, AccountCode.EXTERNAL_CASH_IN, 10000L);
+        saveLine(charge, AccountCode.WALLET_CASH, 10000L);
+        LedgerEntry use = saveEntry(TxType.USE, now.minusSeconds(1));
+        saveLine(use, AccountCode.WALLET_CASH, -3000L);
+        saveLine(use, AccountCode.EXTERNAL_CASH_IN, -3000L);
+        LedgerEntry expire = saveEntry(TxType.EXPIRE, now);
+        saveLine(expire, AccountCode.WALLET_CASH, -500L);
+        saveLine(expire, AccountCode.BREAKAGE_INCOME, 500L);
+        entityManager.clear();
+
+        // 실행 (When)
+        TransactionSliceDTO slice = transactionService.getTransactionsByCursor(testUser, null, null, null, null, 20);
+        Page<TransactionDTO> page = transactionService.getTransactions(
+                testUser, null, null, null, PageRequest.of(0, 20));
+        TransactionDetailDTO detail = transactionService.getTransactionDetail(use.getId(), testUser);
+
+        // 검증 (Then)
+        assertThat(slice.content()).extracting(TransactionDTO::id)
+                .containsExactly(expire.getId(), use.getId(), charge.getId());
+        assertThat(slice.content()).extracting(TransactionDTO::amount)
+                .containsExactly(-500L, -3000L, 10000L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(TransactionDTO::amount)
+                .containsExactly(-500L, -3000L, 10000L);
+        assertThat(detail.amount()).isEqualTo(-3000L);
+        assertThat(detail.status()).isEqualTo("POSTED");
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 거래 상세는 거부, 없는 거래는 찾을 수 없음")
+    void detail_of_other_users_or_missing_entry_should_be_rejected() {
+        // 준비 (Given)
+        User other = userRepository.save(User.builder()
+                .email("history-other@example.com")
+                .provider("NAVER")
+                .role("ROLE_USER")
+                .build());
+        Wallet otherWallet = walletRepository.save(Wallet.builder().user(other).build());
+        LedgerEntry othersEntry = ledgerEntryRepository.saveAndFlush(LedgerEntry.builder()
+                .wallet(otherWallet)
+                .txType(TxType.CHARGE)
+                .referenceId("history_other")
+                .idempotencyKey("history_" + UUID.randomUUID())
+                .build());
+        saveLine(othersEntry, AccountCode.WALLET_CASH, 10000L);
+        entityManager.clear();
+
+        // 실행 & 검증 (When & Then)
+        assertThatThrownBy(() -> transactionService.getTransactionDetail(othersEntry.getId(), testUser))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> transactionService.getTransactionDetail(Long.MAX_VALUE, testUser))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("거래 내역을 찾을 수 없습니다");
+        assertThat(transactionService.getTransactionDetail(othersEntry.getId(), other).amount()).isEqualTo(10000L);
+    }
+
+    private void saveLine(LedgerEntry entry, AccountCode accountCode, Long amountSigned) {
+        ledgerLineRepository.saveAndFlush(LedgerLine.builder()
+                .entry(entry)
+                .accountCode(accountCode)
+                .amountSigned(amountSigned)
+                .build());
+    }
+
+    private LedgerEntry saveEntry(TxType txType, LocalDateTime createdAt) {
+        return ledgerEntryRepository.saveAndFlush(LedgerEntry.builder()
+                .wallet(wallet)
+                .txType(txType)
+                .referenceId("history_" + txType)
+                .idempotencyKey("history_" + UUID.randomUUID())
+                .createdAt(createdAt)
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String explain(String sql) {
+        List<String> lines = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", lines);
+    }
+
+    private static List<Long> concatIds(TransactionSliceDTO... slices) {
+        List<Long> ids = new ArrayList<>();
+        for (TransactionSliceDTO slice : slices) {
+            slice.content().forEach(tx -> ids.add(tx.id()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,179 @@
+package com.prepaid.ledger.service;
+
+import com.prepaid.common.exception.specific.InsufficientBalanceException;
+import com.prepaid.common.limit.LimitReservation;
+import com.prepaid.common.lock.DistributedLockExecutor;
+import com.prepaid.domain.User;
+import com.prepaid.event.service.EventPublisher;
+import com.prepaid.ledger.repository.ChargeLotRepository;
+import com.prepaid.ledger.repository.LedgerEntryRepository;
+import com.prepaid.ledger.repository.LedgerLineRepository;
+import com.prepaid.ledger.repository.SpendAllocationRepository;
+import com.prepaid.payment.validation.PaymentValidator;
+import com.prepaid.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LedgerService 잔액 사용 재시도/분산 락 전환 단위 테스트 (direct 모드)
+ */
+@DisplayName("LedgerService 테스트")
+class LedgerServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long AMOUNT = 1000L;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private LedgerLineRepository ledgerLineRepository;
+
+    @Mock
+    private ChargeLotRepository chargeLotRepository;
+
+    @Mock
+    private SpendAllocationRepository spendAllocationRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PaymentValidator paymentValidator;
+
+    @Mock
+    private ChargeLotFifoIndex chargeLotFifoIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DistributedLockExecutor distributedLockExecutor;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private WalletCommandExecutor walletCommandExecutor;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private LedgerService ledgerService;
+    private User user;
+    private LimitReservation reservation;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ledgerService = new LedgerService(walletRepository, ledgerEntryRepository, ledgerLineRepository,
+                chargeLotRepository, spendAllocationRepository, eventPublisher, paymentValidator,
+                chargeLotFifoIndex, transactionTemplate, distributedLockExecutor, applicationEventPublisher,
+                walletCommandExecutor, entityManager);
+
+        // 설정값 주입
+        ReflectionTestUtils.setField(ledgerService, "debitMaxAttempts", 3);
+        ReflectionTestUtils.setField(ledgerService, "debitLockTimeout", Duration.ofMillis(200));
+
+        user = User.builder().id(USER_ID).email("ledger@example.com").provider("NAVER").role("ROLE_USER").build();
+        reservation = LimitReservation.restore("limit:use-daily:1", "member", AMOUNT);
+        when(paymentValidator.validateUseAmount(USER_ID, AMOUNT)).thenReturn(reservation);
+        when(walletCommandExecutor.isWalletAffinity()).thenReturn(false);
+
+        // 분산 락은 작업을 바로 실행
+        when(distributedLockExecutor.execute(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 동시성 충돌이 max-attempts만큼 반복되면 분산 락으로 처리")
+    @SuppressWarnings("unchecked")
+    void useBalance_FallsBackToDistributedLock_AfterMaxAttempts() {
+        // given
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .doThrow(new CannotAcquireLockException("lock timeout"))
+                .doThrow(new CannotAcquireLockException("lock timeout"))
+                .doNothing()
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        ledgerService.useBalance(user, AMOUNT, "merchant_1");
+
+        // then
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+        verify(distributedLockExecutor).execute(eq("wallet:" + USER_ID), any(Supplier.class));
+        verify(paymentValidator, never()).releaseLimit(any());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 재시도 중 성공하면 분산 락을 사용하지 않음")
+    @SuppressWarnings("unchecked")
+    void useBalance_RetrySucceeds_WithoutDistributedLock() {
+        // given
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .doNothing()
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        ledgerService.useBalance(user, AMOUNT, "merchant_1");
+
+        // then
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(distributedLockExecutor, never()).execute(anyString(), any(Supplier.class));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 잔액 부족은 재시도하지 않고 한도 예약을 반환")
+    @SuppressWarnings("unchecked")
+    void useBalance_InsufficientBalance_NotRetried() {
+        // given
+        doThrow(new InsufficientBalanceException())
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // when & then
+        assertThatThrownBy(() -> ledgerService.useBalance(user, AMOUNT, "merchant_1"))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(distributedLockExecutor, never()).execute(anyString(), any(Supplier.class));
+        verify(paymentValidator).releaseLimit(reservation);
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 분산 락 경로도 실패하면 예외 전파 후 한도 예약 반환")
+    void useBalance_DistributedLockPathFails_ReleasesLimit() {
+        // given
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        // when & then
+        assertThatThrownBy(() -> ledgerService.useBalance(user, AMOUNT, "merchant_1"))
+                .isInstanceOf(CannotAcquireLockException.class);
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+        verify(paymentValidator).releaseLimit(reservation);
+    }
+}
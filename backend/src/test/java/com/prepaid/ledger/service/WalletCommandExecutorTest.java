@@ -0,0 +1,189 @@
+package com.prepaid.ledger.service;
+
+import com.prepaid.common.exception.specific.InsufficientBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.MDC;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * WalletCommandExecutor 단위 테스트 (wallet-affinity 모드)
+ */
+@DisplayName("WalletCommandExecutor 테스트")
+class WalletCommandExecutorTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WalletCommandExecutor executor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = new WalletCommandExecutor(new TransactionTemplate(transactionManager), "wallet-affinity", 32);
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 명령은 제출 순서대로 실행")
+    void execute_SameUser_RunsInSubmissionOrder() throws Exception {
+        // given - 메일박스를 막아 두고 명령을 하나씩 대기열에 넣음
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = callers.submit(() -> executor.execute(USER_ID, () -> await(release)));
+        awaitUntil(() -> executor.hasMailbox(USER_ID) && executor.queuedCommands(USER_ID) == 0);
+
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        List<Future<?>> submitted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int order = i;
+            submitted.add(callers.submit(() -> executor.execute(USER_ID, () -> executed.add(order))));
+            awaitUntil(() -> executor.queuedCommands(USER_ID) == order + 1);
+        }
+
+        // when
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        for (Future<?> future : submitted) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertThat(executed).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("묶음 중 하나가 실패하면 롤백 후 개별 실행, 실패한 호출자만 예외")
+    void executeSpend_CoalescedBatchWithFailure_RerunsIndividually() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = callers.submit(() -> executor.execute(USER_ID, () -> await(release)));
+        awaitUntil(() -> executor.hasMailbox(USER_ID) && executor.queuedCommands(USER_ID) == 0);
+
+        AtomicInteger okRuns = new AtomicInteger();
+        AtomicInteger failingRuns = new AtomicInteger();
+        Future<?> first = callers.submit(() -> executor.executeSpend(USER_ID, okRuns::incrementAndGet));
+        awaitUntil(() -> executor.queuedCommands(USER_ID) == 1);
+        Future<?> failing = callers.submit(() -> executor.executeSpend(USER_ID, () -> {
+            failingRuns.incrementAndGet();
+            throw new InsufficientBalanceException();
+        }));
+        awaitUntil(() -> executor.queuedCommands(USER_ID) == 2);
+        Future<?> third = callers.submit(() -> executor.executeSpend(USER_ID, okRuns::incrementAndGet));
+        awaitUntil(() -> executor.queuedCommands(USER_ID) == 3);
+
+        // when
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+
+        // then
+        first.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(InsufficientBalanceException.class);
+        // 묶음: 첫 번째 성공 후 두 번째에서 실패(세 번째는 실행 전) → 개별: 세 명령 모두 한 번씩
+        assertThat(failingRuns.get()).isEqualTo(2);
+        assertThat(okRuns.get()).isEqualTo(3);
+        // 트랜잭션: 블로커 1 + 묶음 1 + 개별 3, 롤백: 묶음 1 + 실패한 개별 1
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("대기열이 비면 메일박스를 제거하고, 다음 제출 시 새 메일박스 스레드 시작")
+    void execute_QueueDrained_MailboxRemovedAndRestarted() throws Exception {
+        // given
+        Thread firstThread = executor.execute(USER_ID, Thread::currentThread);
+        awaitUntil(() -> !executor.hasMailbox(USER_ID));
+
+        // when
+        Thread secondThread = executor.execute(USER_ID, Thread::currentThread);
+
+        // then
+        assertThat(firstThread.getName()).isEqualTo("wallet-mailbox-" + USER_ID);
+        assertThat(secondThread.getName()).isEqualTo("wallet-mailbox-" + USER_ID);
+        assertThat(secondThread).isNotSameAs(firstThread);
+        awaitUntil(() -> !executor.hasMailbox(USER_ID));
+    }
+
+    @Test
+    @DisplayName("메일박스 안에서 보낸 명령은 같은 스레드에서 바로 실행 (교착 없음)")
+    void execute_FromInsideMailbox_RunsInline() {
+        // when
+        Thread[] threads = executor.execute(USER_ID, () -> new Thread[]{
+                Thread.currentThread(),
+                executor.execute(USER_ID, Thread::currentThread)
+        });
+
+        // then
+        assertThat(threads[1]).isSameAs(threads[0]);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("메일박스 스레드에서 제출 시점의 MDC를 복원하고 명령 후 비움")
+    void execute_RestoresCallerMdc() throws Exception {
+        // given
+        MDC.put("traceId", "trace-1");
+
+        // when
+        String traceId = executor.execute(USER_ID, () -> MDC.get("traceId"));
+        MDC.clear();
+        String afterClear = callers.submit(() -> executor.execute(USER_ID, () -> MDC.get("traceId")))
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(traceId).isEqualTo("trace-1");
+        assertThat(afterClear).isNull();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("조건 대기 시간 초과");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
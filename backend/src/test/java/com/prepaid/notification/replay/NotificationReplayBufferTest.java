@@ -0,0 +1,109 @@
+package com.prepaid.notification.replay;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * NotificationReplayBuffer 단위 테스트
+ */
+@DisplayName("NotificationReplayBuffer 테스트")
+class NotificationReplayBufferTest {
+
+    private static final String KEY = "sse:replay:1";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private NotificationReplayBuffer replayBuffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        replayBuffer = new NotificationReplayBuffer(redisTemplate, 16, 50, Duration.ofHours(1), 1000);
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+    }
+
+    private static MapRecord<String, Object, Object> record(String streamId, String eventId) {
+        return MapRecord.<String, Object, Object>create(KEY, Map.of("eventId", eventId, "data", "{}"))
+                .withId(RecordId.of(streamId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenAppended(String eventId, String streamId) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(streamId);
+        replayBuffer.append(1L, eventId, "{}");
+    }
+
+    @Test
+    @DisplayName("메모리 링에 있는 Last-Event-ID는 그 스트림 위치부터만 읽어 놓친 알림만 반환")
+    @SuppressWarnings("unchecked")
+    void replaySince_KnownLocally_ReadsFromStreamPosition() {
+        // given
+        givenAppended("evt-1", "1-0");
+        givenAppended("evt-2", "2-0");
+        when(streamOperations.range(eq(KEY), any(Range.class)))
+                .thenReturn(List.of(record("2-0", "evt-2"), record("3-0", "evt-3")));
+
+        // when
+        NotificationReplay replay = replayBuffer.replaySince(1L, "evt-2");
+
+        // then
+        assertThat(replay.complete()).isTrue();
+        assertThat(replay.events()).extracting(ReplayEntry::eventId).containsExactly("evt-3");
+        verify(streamOperations).range(eq(KEY), argThat((Range<String> range) ->
+                range.getLowerBound().getValue().orElseThrow().equals("2-0")));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 기록된 알림은 스트림 전체에서 Last-Event-ID를 찾아 이후만 반환")
+    @SuppressWarnings("unchecked")
+    void replaySince_UnknownLocally_ScansStream() {
+        // given
+        when(streamOperations.range(eq(KEY), any(Range.class)))
+                .thenReturn(List.of(record("1-0", "evt-1"), record("2-0", "evt-2"), record("3-0", "evt-3")));
+
+        // when
+        NotificationReplay replay = replayBuffer.replaySince(1L, "evt-1");
+
+        // then
+        assertThat(replay.complete()).isTrue();
+        assertThat(replay.events()).extracting(ReplayEntry::eventId).containsExactly("evt-2", "evt-3");
+    }
+
+    @Test
+    @DisplayName("보관 범위를 벗어난 Last-Event-ID면 남은 알림 전체와 함께 불완전 표시")
+    @SuppressWarnings("unchecked")
+    void replaySince_Evicted_ReturnsIncomplete() {
+        // given
+        when(streamOperations.range(eq(KEY), any(Range.class)))
+                .thenReturn(List.of(record("5-0", "evt-5"), record("6-0", "evt-6")));
+
+        // when
+        NotificationReplay replay = replayBuffer.replaySince(1L, "evt-1");
+
+        // then
+        assertThat(replay.complete()).isFalse();
+        assertThat(replay.events()).extracting(ReplayEntry::eventId).containsExactly("evt-5", "evt-6");
+    }
+}
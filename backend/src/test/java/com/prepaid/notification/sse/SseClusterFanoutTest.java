@@ -0,0 +1,91 @@
+package com.prepaid.notification.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SseClusterFanout 단위 테스트
+ */
+@DisplayName("SseClusterFanout 테스트")
+class SseClusterFanoutTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private SsePresenceRegistry presenceRegistry;
+
+    private SseConnectionHub hub;
+    private SseClusterFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        hub = spy(new SseConnectionHub(new ObjectMapper(), new SimpleMeterRegistry(), 4, Duration.ofMinutes(1), 3, 4, Duration.ZERO));
+        fanout = new SseClusterFanout(hub, presenceRegistry, redisTemplate, new SimpleMeterRegistry());
+        when(presenceRegistry.getNodeId()).thenReturn("node-a");
+    }
+
+    @Test
+    @DisplayName("사용자가 연결된 다른 노드 채널로만 발행")
+    void send_RemoteNodes_PublishedOnlyToThoseNodes() {
+        // given
+        hub.connect(1L);
+        when(presenceRegistry.nodesOf(1L)).thenReturn(Set.of("node-a", "node-b"));
+
+        // when
+        int nodes = fanout.send(1L, "notification", "evt-1", Map.of("balance", 1000));
+
+        // then
+        assertThat(nodes).isEqualTo(2);
+        verify(redisTemplate).convertAndSend(eq("sse:node:node-b"), startsWith("1\nnotification\nevt-1\n"));
+        verify(redisTemplate, never()).convertAndSend(eq("sse:node:node-a"), anyString());
+    }
+
+    @Test
+    @DisplayName("어느 노드에도 연결이 없으면 발행하지 않음")
+    void send_NoPresence_NothingPublished() {
+        // given
+        when(presenceRegistry.nodesOf(1L)).thenReturn(Set.of());
+
+        // when
+        int nodes = fanout.send(1L, "notification", null, Map.of());
+
+        // then
+        assertThat(nodes).isZero();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 받은 메시지를 이 노드의 연결로 전달")
+    void onMessage_DeliversToLocalConnections() {
+        // given
+        hub.connect(1L);
+        String body = SseClusterFanout.encode(1L, hub.frame("notification", null, Map.of("memo", "a\nb")));
+
+        // when
+        fanout.onMessage(new DefaultMessage("sse:node:node-a".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(hub).send(eq(1L), argThat((SseFrame frame) -> frame.name().equals("notification")
+                && frame.id() == null
+                && new String(frame.data(), StandardCharsets.UTF_8).equals("{\"memo\":\"a\\nb\"}")));
+    }
+}
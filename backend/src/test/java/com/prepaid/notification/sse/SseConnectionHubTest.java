@@ -0,0 +1,120 @@
+package com.prepaid.notification.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SseConnectionHub 단위 테스트
+ */
+@DisplayName("SseConnectionHub 테스트")
+class SseConnectionHubTest {
+
+    private SseConnectionHub hub;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new SseConnectionHub(new ObjectMapper(), meterRegistry, 4, Duration.ofMinutes(1), 3, 4, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 여러 연결에 모두 전송 (두 번째 탭이 첫 번째를 대체하지 않음)")
+    void send_MultipleConnections_DeliveredToAll() {
+        // given
+        hub.connect(1L);
+        hub.connect(1L);
+        hub.connect(2L);
+
+        // when
+        int delivered = hub.send(1L, hub.frame("notification", "evt-1", Map.of("balance", 1000)));
+
+        // then
+        assertThat(delivered).isEqualTo(2);
+        assertThat(hub.getConnectionCount()).isEqualTo(3);
+        assertThat(hub.getConnectedUserCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("연결 종료 시 해당 연결만 제거, 마지막 연결이면 사용자도 제거")
+    void close_RemovesOnlyThatConnection() {
+        // given
+        SseConnection first = hub.connect(1L);
+        SseConnection second = hub.connect(1L);
+
+        // when
+        hub.close(first);
+
+        // then
+        assertThat(hub.send(1L, hub.frame("notification", null, Map.of()))).isEqualTo(1);
+        assertThat(hub.send(first, hub.frame("notification", null, Map.of()))).isFalse();
+
+        hub.close(second);
+        hub.close(second);
+        assertThat(hub.isConnected(1L)).isFalse();
+        assertThat(hub.getConnectionCount()).isZero();
+        assertThat(hub.getConnectedUserCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자당 최대 연결 수를 넘으면 가장 오래된 연결 종료")
+    void connect_OverLimit_EvictsOldest() {
+        // given
+        SseConnection oldest = hub.connect(1L);
+        hub.connect(1L);
+        hub.connect(1L);
+
+        // when
+        hub.connect(1L);
+
+        // then
+        assertThat(oldest.isClosed()).isTrue();
+        assertThat(hub.getConnectionCount()).isEqualTo(3);
+        assertThat(hub.send(1L, hub.frame("notification", null, Map.of()))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("쓰지 못한 잔액 업데이트는 최신 값 하나로 합침")
+    void send_PendingBalanceUpdates_Coalesced() {
+        // given - 쓰기 스레드가 소켓에 막혀 있는 상태
+        SseConnection connection = hub.connect(1L);
+        connection.writing.set(true);
+
+        // when
+        for (long balance = 1000; balance <= 3000; balance += 1000) {
+            assertThat(hub.send(connection, hub.frame("balance-update", null, Map.of("balance", balance)))).isTrue();
+        }
+
+        // then
+        assertThat(connection.getPendingCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sse.frames", "outcome", "coalesced").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("송신 큐가 계속 가득 찬 느린 클라이언트는 연결 종료 (호출 스레드는 막히지 않음)")
+    void send_QueueFull_EvictsSlowConsumer() {
+        // given - 쓰기 스레드가 소켓에 막혀 있는 상태
+        SseConnection connection = hub.connect(1L);
+        connection.writing.set(true);
+        for (int i = 0; i < 4; i++) {
+            assertThat(hub.send(connection, hub.frame("notification", "evt-" + i, Map.of()))).isTrue();
+        }
+
+        // when
+        boolean accepted = hub.send(connection, hub.frame("notification", "evt-4", Map.of()));
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(hub.isConnected(1L)).isFalse();
+        assertThat(meterRegistry.counter("sse.slow-consumer.evictions").count()).isEqualTo(1.0);
+    }
+}
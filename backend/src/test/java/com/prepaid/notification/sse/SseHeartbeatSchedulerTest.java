@@ -0,0 +1,75 @@
+package com.prepaid.notification.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SseHeartbeatScheduler 단위 테스트
+ */
+@DisplayName("SseHeartbeatScheduler 테스트")
+class SseHeartbeatSchedulerTest {
+
+    private SseConnectionHub hub;
+    private SseHeartbeatScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new SseConnectionHub(new ObjectMapper(), meterRegistry, 4, Duration.ofMinutes(1), 3, 4, Duration.ZERO);
+        scheduler = new SseHeartbeatScheduler(hub, meterRegistry, Duration.ofSeconds(15), Duration.ofSeconds(30));
+    }
+
+    private void sweepAll(long now) {
+        for (int i = 0; i < hub.shardCount(); i++) {
+            scheduler.sweep(i, now);
+        }
+    }
+
+    @Test
+    @DisplayName("한 바퀴 동안 모든 연결을 한 번씩 방문하고, 오래 쓰지 않은 연결에만 하트비트 전송")
+    void sweep_IdleConnections_HeartbeatQueued() {
+        // given - 쓰기 스레드가 돌지 않도록 막아 두고 송신 큐만 확인
+        SseConnection idle = hub.connect(1L);
+        SseConnection active = hub.connect(2L);
+        idle.writing.set(true);
+        active.writing.set(true);
+        long now = idle.getConnectedAt() + Duration.ofSeconds(20).toMillis();
+        active.lastWriteAt = now - 1000;
+
+        // when
+        sweepAll(now);
+
+        // then
+        assertThat(idle.getPendingCount()).isEqualTo(1);
+        assertThat(active.getPendingCount()).isZero();
+        assertThat(meterRegistry.counter("sse.heartbeats").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("소켓 쓰기가 stall-timeout 넘게 끝나지 않는 연결 정리")
+    void sweep_StalledWrite_Reaped() {
+        // given
+        SseConnection stalled = hub.connect(1L);
+        SseConnection healthy = hub.connect(2L);
+        long now = System.currentTimeMillis();
+        stalled.writeStartedAt = now - Duration.ofSeconds(31).toMillis();
+
+        // when
+        sweepAll(now);
+
+        // then
+        assertThat(stalled.isClosed()).isTrue();
+        assertThat(healthy.isClosed()).isFalse();
+        assertThat(hub.isConnected(1L)).isFalse();
+        assertThat(hub.getConnectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sse.connections.reaped", "reason", "stalled").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.prepaid.notification.sse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SsePresenceRegistry 단위 테스트 (해제/재연결 경합)
+ */
+@DisplayName("SsePresenceRegistry 테스트")
+class SsePresenceRegistryTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private SseConnectionHub connectionHub;
+
+    private SsePresenceRegistry presenceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        presenceRegistry = new SsePresenceRegistry(redisTemplate, connectionHub, "node-a", Duration.ofHours(2));
+    }
+
+    @Test
+    @DisplayName("연결이 없으면 presence에서 이 노드 제거")
+    void userDisconnected_NoConnection_Removed() {
+        // given
+        when(connectionHub.isConnected(1L)).thenReturn(false);
+
+        // when
+        presenceRegistry.userDisconnected(1L);
+
+        // then
+        verify(setOperations).remove("sse:presence:1", "node-a");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("확인과 SREM 사이에 재연결되면 SREM 뒤에 다시 등록")
+    void userDisconnected_ReconnectedDuringRemove_ReAdded() {
+        // given - 첫 확인 시에는 연결 없음, SREM 직후에는 재연결된 상태
+        when(connectionHub.isConnected(1L)).thenReturn(false, true);
+
+        // when
+        presenceRegistry.userDisconnected(1L);
+
+        // then
+        InOrder inOrder = inOrder(setOperations, redisTemplate);
+        inOrder.verify(setOperations).remove("sse:presence:1", "node-a");
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("sse:presence:1")),
+                eq("node-a"), eq(String.valueOf(Duration.ofHours(2).toMillis())));
+    }
+
+    @Test
+    @DisplayName("종료 알림 전에 이미 재연결되었으면 제거하지 않음")
+    void userDisconnected_AlreadyReconnected_Kept() {
+        // given
+        when(connectionHub.isConnected(1L)).thenReturn(true);
+
+        // when
+        presenceRegistry.userDisconnected(1L);
+
+        // then
+        verifyNoInteractions(setOperations);
+    }
+}
@@ -0,0 +1,175 @@
+package com.prepaid.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepaid.common.exception.ErrorCode;
+import com.prepaid.common.exception.specific.PaymentGatewayException;
+import com.prepaid.payment.dto.PaymentConfirmRequest;
+import com.prepaid.payment.dto.TossPaymentResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TossPaymentGateway 단위 테스트 (로컬 HTTP 스텁 서버 사용)
+ */
+@DisplayName("TossPaymentGateway 테스트")
+class TossPaymentGatewayTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private TossPaymentGateway gateway;
+
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final AtomicReference<String> responseBody = new AtomicReference<>();
+    private final AtomicReference<Duration> responseDelay = new AtomicReference<>(Duration.ZERO);
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> lastPath = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/payments", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new TossPaymentGateway(new TossPaymentGateway.Settings(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/payments",
+                "test_sk",
+                Duration.ofSeconds(1),
+                Duration.ofMillis(300),
+                10,
+                Duration.ofMillis(50),
+                50f,
+                Duration.ofSeconds(5),
+                4,
+                Duration.ofSeconds(30)),
+                new ObjectMapper(), meterRegistry);
+
+        responseBody.set("""
+                {"paymentKey":"pk_1","orderId":"order_1","status":"DONE","totalAmount":10000}
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+        lastPath.set(exchange.getRequestURI().getPath());
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(responseDelay.get().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = responseBody.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus.get(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private PaymentConfirmRequest confirmRequest() {
+        PaymentConfirmRequest request = new PaymentConfirmRequest();
+        request.setPaymentKey("pk_1");
+        request.setOrderId("order_1");
+        request.setAmount(10000L);
+        return request;
+    }
+
+    @Test
+    @DisplayName("승인 성공 시 응답 변환 + Basic 인증 헤더 전송")
+    void confirm_Success() {
+        // when
+        TossPaymentResponse response = gateway.confirm(confirmRequest());
+
+        // then
+        assertThat(response.getStatus()).isEqualTo("DONE");
+        assertThat(response.getTotalAmount()).isEqualTo(10000L);
+        assertThat(lastPath.get()).isEqualTo("/v1/payments/confirm");
+        assertThat(lastAuthorization.get()).isEqualTo("Basic dGVzdF9zazo=");
+        assertThat(meterRegistry.find("payment.gateway.request")
+                .tags("endpoint", "confirm", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("취소 요청은 paymentKey 경로로 전송")
+    void cancel_UsesPaymentKeyPath() {
+        // when
+        gateway.cancel("pk_1", "고객 요청", 5000L);
+
+        // then
+        assertThat(lastPath.get()).isEqualTo("/v1/payments/pk_1/cancel");
+    }
+
+    @Test
+    @DisplayName("4xx 거절은 회로 차단기 실패로 집계하지 않음")
+    void confirm_ClientError_DoesNotOpenCircuit() {
+        // given
+        responseStatus.set(400);
+        responseBody.set("{\"code\":\"INVALID_CARD\",\"message\":\"카드 정보가 올바르지 않습니다\"}");
+
+        // when & then
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> gateway.confirm(confirmRequest()))
+                    .isInstanceOf(PaymentGatewayException.class)
+                    .hasMessageContaining("INVALID_CARD");
+        }
+        assertThat(gateway.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("5xx가 반복되면 회로 차단 후 호출 없이 즉시 실패")
+    void confirm_ServerErrors_OpenCircuit() {
+        // given
+        responseStatus.set(500);
+        responseBody.set("{\"code\":\"FAILED_INTERNAL_SYSTEM_PROCESSING\",\"message\":\"내부 오류\"}");
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> gateway.confirm(confirmRequest()))
+                    .isInstanceOf(PaymentGatewayException.class);
+        }
+
+        // when & then
+        assertThat(gateway.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> gateway.confirm(confirmRequest()))
+                .isInstanceOfSatisfying(PaymentGatewayException.class, e -> {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE);
+                    assertThat(e.isOutcomeUnknown()).isFalse();
+                });
+    }
+
+    @Test
+    @DisplayName("응답 타임아웃은 결과 불명으로 처리")
+    void confirm_Timeout_OutcomeUnknown() {
+        // given
+        responseDelay.set(Duration.ofSeconds(1));
+
+        // when & then
+        assertThatThrownBy(() -> gateway.confirm(confirmRequest()))
+                .isInstanceOfSatisfying(PaymentGatewayException.class, e -> {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE);
+                    assertThat(e.isOutcomeUnknown()).isTrue();
+                });
+    }
+}
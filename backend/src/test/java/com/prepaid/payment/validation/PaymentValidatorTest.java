@@ -2,19 +2,33 @@ package com.prepaid.payment.validation;
 
 import com.prepaid.common.exception.ErrorCode;
 import com.prepaid.common.exception.specific.InvalidAmountException;
+import com.prepaid.common.limit.LimitReservation;
+import com.prepaid.common.limit.VelocityLimiter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -26,15 +40,14 @@ class PaymentValidatorTest {
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
-    @Mock
-    private ValueOperations<String, String> valueOperations;
-
     private PaymentValidator paymentValidator;
+    private MockEnvironment environment;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        paymentValidator = new PaymentValidator(redisTemplate);
+        environment = new MockEnvironment();
+        paymentValidator = new PaymentValidator(new VelocityLimiter(redisTemplate, Clock.systemDefaultZone()), environment);
         
         // 설정값 주입
         ReflectionTestUtils.setField(paymentValidator, "minChargeAmount", 1000L);
@@ -42,8 +55,23 @@ class PaymentValidatorTest {
         ReflectionTestUtils.setField(paymentValidator, "dailyChargeLimit", 5000000L);
         ReflectionTestUtils.setField(paymentValidator, "minUseAmount", 100L);
         ReflectionTestUtils.setField(paymentValidator, "maxUseAmount", 1000000L);
+        ReflectionTestUtils.setField(paymentValidator, "dailyUseLimit", 5000000L);
+        ReflectionTestUtils.setField(paymentValidator, "chargeLimitWindow", "fixed");
+        ReflectionTestUtils.setField(paymentValidator, "useLimitWindow", "sliding");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    /**
+     * 고정 윈도우 예약 스크립트 결과: {허용 여부, 누적 금액}
+     */
+    @SuppressWarnings("unchecked")
+    private void givenFixedReserveReturns(long allowed, long used) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(allowed, used));
     }
 
     @Test
@@ -52,10 +80,14 @@ class PaymentValidatorTest {
         // given
         Long userId = 1L;
         Long amount = 10000L;
-        when(valueOperations.get(anyString())).thenReturn(null);
+        givenFixedReserveReturns(1L, 10000L);
 
-        // when & then
-        assertDoesNotThrow(() -> paymentValidator.validateChargeAmount(userId, amount));
+        // when
+        LimitReservation reservation = paymentValidator.validateChargeAmount(userId, amount);
+
+        // then
+        assertThat(reservation.allowed()).isTrue();
+        assertThat(reservation.key()).startsWith("limit:charge-daily:1:");
     }
 
     @Test
@@ -90,7 +122,7 @@ class PaymentValidatorTest {
         // given
         Long userId = 1L;
         Long amount = 1000000L;
-        when(valueOperations.get(anyString())).thenReturn("4500000"); // 이미 450만원 충전됨
+        givenFixedReserveReturns(0L, 4500000L); // 이미 450만원 충전됨
 
         // when & then
         assertThatThrownBy(() -> paymentValidator.validateChargeAmount(userId, amount))
@@ -118,4 +150,36 @@ class PaymentValidatorTest {
         assertThatThrownBy(() -> paymentValidator.validateUseAmount(amount))
                 .isInstanceOf(InvalidAmountException.class);
     }
+
+    @Test
+    @DisplayName("충전 실패 시 예약한 한도 반환")
+    @SuppressWarnings("unchecked")
+    void releaseLimit_DecrementsReservedAmount() {
+        // given
+        givenFixedReserveReturns(1L, 10000L);
+        LimitReservation reservation = paymentValidator.validateChargeAmount(1L, 10000L);
+
+        // when
+        paymentValidator.releaseLimit(reservation);
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(reservation.key())), eq("10000"));
+    }
+
+    @Test
+    @DisplayName("등급별 일일 충전 한도 적용")
+    @SuppressWarnings("unchecked")
+    void validateChargeAmount_TierLimit() {
+        // given
+        environment.setProperty("payment.charge.tier-daily-limit.VIP", "20000000");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "vip@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_VIP"))));
+        givenFixedReserveReturns(1L, 10000L);
+
+        // when
+        paymentValidator.validateChargeAmount(1L, 10000L);
+
+        // then
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq("10000"), eq("20000000"), anyString());
+    }
 }
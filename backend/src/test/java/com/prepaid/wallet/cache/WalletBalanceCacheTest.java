@@ -0,0 +1,173 @@
+package com.prepaid.wallet.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WalletBalanceCache 단위 테스트
+ */
+@DisplayName("WalletBalanceCache 테스트")
+class WalletBalanceCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private WalletBalanceCache walletBalanceCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        walletBalanceCache = new WalletBalanceCache(redisTemplate, Duration.ofMinutes(1), 100L, Duration.ofMinutes(10));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    /**
+     * 버전 비교 스크립트 결과: 1 저장, 0 기존 값이 같거나 더 새로움
+     */
+    @SuppressWarnings("unchecked")
+    private void givenPutIfNewerReturns(long result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("encode/decode 왕복 시 스냅샷이 그대로 복원됨")
+    void encodeDecode_RoundTrip() {
+        // given
+        WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(
+                USER_ID, 10000L, 500L, 7L, LocalDateTime.of(2026, 10, 18, 12, 30, 15, 123000000));
+
+        // when
+        String encoded = WalletBalanceCache.encode(snapshot);
+        WalletBalanceSnapshot decoded = WalletBalanceCache.decode(USER_ID, encoded);
+
+        // then
+        assertThat(encoded).startsWith("7|10000|500|");
+        assertThat(decoded).isEqualTo(snapshot);
+    }
+
+    @Test
+    @DisplayName("encode/decode 왕복 - updatedAt이 없어도 복원됨")
+    void encodeDecode_RoundTrip_WithoutUpdatedAt() {
+        // given
+        WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(USER_ID, 0L, 0L, 0L, null);
+
+        // when
+        WalletBalanceSnapshot decoded = WalletBalanceCache.decode(USER_ID, WalletBalanceCache.encode(snapshot));
+
+        // then
+        assertThat(decoded).isEqualTo(snapshot);
+    }
+
+    @Test
+    @DisplayName("로컬 캐시는 더 높은 버전을 유지 (오래된 스냅샷이 나중에 와도 덮어쓰지 않음)")
+    void put_OlderVersionAfterNewer_KeepsNewerLocally() {
+        // given
+        givenPutIfNewerReturns(1L);
+        WalletBalanceSnapshot newer = new WalletBalanceSnapshot(USER_ID, 8000L, 0L, 5L, null);
+        WalletBalanceSnapshot older = new WalletBalanceSnapshot(USER_ID, 10000L, 0L, 3L, null);
+        walletBalanceCache.put(newer);
+
+        // when
+        walletBalanceCache.put(older);
+
+        // then
+        assertThat(walletBalanceCache.get(USER_ID)).isEqualTo(newer);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("로컬 캐시는 더 높은 버전이 오면 교체")
+    void put_NewerVersion_ReplacesLocal() {
+        // given
+        givenPutIfNewerReturns(1L);
+        WalletBalanceSnapshot older = new WalletBalanceSnapshot(USER_ID, 10000L, 0L, 3L, null);
+        WalletBalanceSnapshot newer = new WalletBalanceSnapshot(USER_ID, 8000L, 0L, 5L, null);
+        walletBalanceCache.put(older);
+
+        // when
+        walletBalanceCache.put(newer);
+
+        // then
+        assertThat(walletBalanceCache.get(USER_ID)).isEqualTo(newer);
+    }
+
+    @Test
+    @DisplayName("오래된 버전의 Redis 쓰기는 버전과 함께 스크립트로 전달되어 거절되고, 새 스냅샷은 유지")
+    @SuppressWarnings("unchecked")
+    void put_OlderVersion_RejectedByScript_KeepsNewerSnapshot() {
+        // given
+        givenPutIfNewerReturns(1L);
+        WalletBalanceSnapshot newer = new WalletBalanceSnapshot(USER_ID, 8000L, 0L, 5L, null);
+        walletBalanceCache.put(newer);
+        givenPutIfNewerReturns(0L); // Redis에 이미 버전 5가 있음
+        WalletBalanceSnapshot older = new WalletBalanceSnapshot(USER_ID, 10000L, 0L, 3L, null);
+
+        // when
+        walletBalanceCache.put(older);
+
+        // then
+        // 버전 비교는 Redis 스크립트에서 원자적으로 수행
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("wallet:balance:" + USER_ID)),
+                eq("3"), eq(WalletBalanceCache.encode(older)), eq(String.valueOf(Duration.ofMinutes(10).toMillis())));
+        // 거절되었으므로 캐시를 지우지 않고 새 스냅샷 유지
+        verify(redisTemplate, never()).delete(anyString());
+        assertThat(walletBalanceCache.get(USER_ID)).isEqualTo(newer);
+    }
+
+    @Test
+    @DisplayName("Redis 저장 실패 시 로컬/Redis 캐시 모두 제거")
+    @SuppressWarnings("unchecked")
+    void put_RedisFailure_Evicts() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(USER_ID, 8000L, 0L, 5L, null);
+
+        // when
+        walletBalanceCache.put(snapshot);
+
+        // then
+        verify(redisTemplate).delete("wallet:balance:" + USER_ID);
+        assertThat(walletBalanceCache.get(USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("로컬 미스 시 Redis 값을 decode하여 반환")
+    void get_LocalMiss_ReadsRedis() {
+        // given
+        WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(USER_ID, 8000L, 200L, 5L, null);
+        when(valueOperations.get("wallet:balance:" + USER_ID)).thenReturn(WalletBalanceCache.encode(snapshot));
+
+        // when
+        WalletBalanceSnapshot cached = walletBalanceCache.get(USER_ID);
+
+        // then
+        assertThat(cached).isEqualTo(snapshot);
+    }
+}